@@ -0,0 +1,63 @@
+package com.sportio.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for {@link RedisProfileCacheBackend}, for single-node setups
+ * and tests that run without Redis. Invalidations are delivered to subscribers in
+ * the same JVM only.
+ */
+@Component
+@ConditionalOnProperty(name = "profile.cache.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProfileCacheBackend implements ProfileCacheBackend {
+
+    private final Map<String, Entry> values = new ConcurrentHashMap<>();
+    private final Sinks.Many<String> invalidations = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<String> get(String key) {
+        return Mono.fromSupplier(() -> {
+            Entry entry = values.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtNanos() - System.nanoTime() <= 0) {
+                values.remove(key, entry);
+                return null;
+            }
+            return entry.value();
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String key, String value, Duration ttl) {
+        return Mono.fromRunnable(() -> values.put(key, new Entry(value, System.nanoTime() + ttl.toNanos())));
+    }
+
+    @Override
+    public Mono<Void> evict(String key) {
+        return Mono.fromRunnable(() -> values.remove(key));
+    }
+
+    @Override
+    public Mono<Void> publish(String message) {
+        // Sinks reject concurrent emission; retry until the competing emitter is done
+        return Mono.fromRunnable(() -> invalidations.emitNext(message, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))));
+    }
+
+    @Override
+    public Flux<String> invalidations() {
+        return invalidations.asFlux();
+    }
+
+    private record Entry(String value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.sportio.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportio.realtime.EventBus;
+import com.sportio.repository.NotificationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Unread notification counts, so the badge shown on every screen does not cost a
+ * query. A count is loaded from the user's counter row on a miss. Whoever changes
+ * counters passes the users to {@link #invalidate(Collection)}, which evicts them here
+ * and on every other node over the {@value #CHANNEL} {@link EventBus} channel.
+ * Evicting rather than pushing new values means a late message can never replace a
+ * newer count with an older one; the next read loads the committed value. An eviction
+ * missed while a node was not listening is corrected within
+ * {@code notifications.unread.cache-ttl}.
+ */
+@Component
+@Slf4j
+public class NotificationCounterCache {
+
+    public static final String CACHE_NAME = "notifications.unread";
+    public static final String CHANNEL = "notification-counts";
+    private static final TypeReference<List<Long>> USER_IDS_TYPE = new TypeReference<>() {
+    };
+
+    private final NotificationRepository notificationRepository;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private final AsyncCache<Long, Integer> counts;
+    private volatile Disposable listener;
+
+    public NotificationCounterCache(
+            NotificationRepository notificationRepository,
+            EventBus eventBus,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.unread.cache-ttl:60s}") Duration cacheTtl,
+            @Value("${notifications.unread.cache-max-size:100000}") long cacheMaxSize) {
+        this.notificationRepository = notificationRepository;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, CACHE_NAME);
+    }
+
+    /**
+     * Get a user's unread count, loading it on a miss.
+     *
+     * @param userId the user's ID
+     * @return Mono with the count
+     */
+    public Mono<Integer> get(Long userId) {
+        return Mono.fromFuture(() -> counts.get(userId, (id, executor) -> notificationRepository.findUnreadCount(id)
+                .defaultIfEmpty(0)
+                .toFuture()));
+    }
+
+    /**
+     * Evict users' counts on every node after their counters changed.
+     *
+     * @param userIds IDs of the users whose counters were written
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        counts.synchronous().invalidateAll(userIds);
+        try {
+            eventBus.publish(CHANNEL, objectMapper.writeValueAsString(userIds));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize unread count evictions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply evictions from any node until shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener = eventBus.subscribe(CHANNEL)
+                .subscribe(event -> apply(event.message()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = listener;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void apply(String message) {
+        try {
+            counts.synchronous().invalidateAll(objectMapper.readValue(message, USER_IDS_TYPE));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed unread count eviction '{}': {}", message, e.getMessage());
+        }
+    }
+}
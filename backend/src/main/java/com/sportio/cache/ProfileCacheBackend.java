@@ -0,0 +1,54 @@
+package com.sportio.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Shared second-tier store for {@link PublicProfileCache}, plus the channel that
+ * carries invalidations between nodes. Values are opaque serialized strings.
+ */
+public interface ProfileCacheBackend {
+
+    /**
+     * Read a cached value.
+     *
+     * @param key the cache key
+     * @return Mono with the value, or empty on a miss
+     */
+    Mono<String> get(String key);
+
+    /**
+     * Store a value with a time to live.
+     *
+     * @param key the cache key
+     * @param value the serialized value
+     * @param ttl how long the value may be served
+     * @return Mono completing once stored
+     */
+    Mono<Void> put(String key, String value, Duration ttl);
+
+    /**
+     * Remove a cached value.
+     *
+     * @param key the cache key
+     * @return Mono completing once removed
+     */
+    Mono<Void> evict(String key);
+
+    /**
+     * Broadcast an invalidation message to every node, including this one.
+     *
+     * @param message the invalidation message
+     * @return Mono completing once published
+     */
+    Mono<Void> publish(String message);
+
+    /**
+     * Subscribe to invalidation messages published by any node.
+     *
+     * @return Flux of invalidation messages
+     */
+    Flux<String> invalidations();
+}
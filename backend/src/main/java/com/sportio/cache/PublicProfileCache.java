@@ -0,0 +1,208 @@
+package com.sportio.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportio.dto.UserPublicProfileDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of public profiles.
+ * A bounded in-process cache answers most reads; misses fall through to the shared
+ * {@link ProfileCacheBackend} and then to the loader. Invalidating a profile evicts
+ * both tiers and broadcasts the user ID, so every node drops its local copy.
+ */
+@Component
+@Slf4j
+public class PublicProfileCache {
+
+    public static final String CACHE_NAME = "profile.public";
+    private static final String KEY_PREFIX = "public:";
+
+    private final ProfileCacheBackend backend;
+    private final ObjectMapper objectMapper;
+    private final Duration sharedTtl;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<Long, Entry> localCache;
+    // Bumped on every invalidation; a load that overlaps one is not kept in either tier
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Counter staleReads;
+    private final Timer loadTimer;
+    private Disposable subscription;
+
+    public PublicProfileCache(
+            ProfileCacheBackend backend,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${profile.cache.local.max-size:10000}") long localMaxSize,
+            @Value("${profile.cache.local.ttl:30s}") Duration localTtl,
+            @Value("${profile.cache.shared-ttl:10m}") Duration sharedTtl) {
+        this.backend = backend;
+        this.objectMapper = objectMapper;
+        this.sharedTtl = sharedTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, CACHE_NAME);
+
+        this.sharedHits = Counter.builder("sportio.profile.cache.shared")
+                .description("Local misses answered by the shared cache tier")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder("sportio.profile.cache.shared")
+                .description("Local misses answered by the shared cache tier")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.staleReads = Counter.builder("sportio.profile.cache.stale")
+                .description("Local entries read after another node had already invalidated them")
+                .register(meterRegistry);
+        this.loadTimer = Timer.builder("sportio.profile.cache.load")
+                .description("Time to load a profile missing from both cache tiers")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        subscription = backend.invalidations()
+                .doOnNext(this::onInvalidation)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Get a public profile, loading it on a miss in both tiers.
+     *
+     * @param userId the user's ID
+     * @param loader loads the profile from the database
+     * @return Mono with the profile, or the loader's result if it is empty or fails
+     */
+    public Mono<UserPublicProfileDto> get(Long userId, Supplier<Mono<UserPublicProfileDto>> loader) {
+        Entry local = localCache.getIfPresent(userId);
+        if (local != null) {
+            local.lastReadMillis.set(System.currentTimeMillis());
+            return Mono.just(local.profile);
+        }
+
+        long epoch = invalidationEpoch.get();
+        String key = KEY_PREFIX + userId;
+        return backend.get(key)
+                .onErrorResume(e -> {
+                    log.warn("Shared profile cache read failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .flatMap(this::deserialize)
+                .doOnNext(profile -> sharedHits.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    sharedMisses.increment();
+                    long start = System.nanoTime();
+                    return loader.get()
+                            .doOnSuccess(profile -> loadTimer.record(Duration.ofNanos(System.nanoTime() - start)))
+                            // A profile read before the invalidation would otherwise outlive
+                            // it in the shared tier for the whole shared TTL
+                            .flatMap(profile -> invalidationEpoch.get() == epoch
+                                    ? storeShared(key, profile).thenReturn(profile)
+                                    : Mono.just(profile));
+                }))
+                .doOnNext(profile -> {
+                    if (invalidationEpoch.get() == epoch) {
+                        localCache.put(userId, new Entry(profile));
+                    }
+                });
+    }
+
+    /**
+     * Drop a profile from both tiers on this node and broadcast the invalidation.
+     *
+     * @param userId the user's ID
+     * @return Mono completing once the shared tier is evicted and the message published
+     */
+    public Mono<Void> invalidate(Long userId) {
+        invalidationEpoch.incrementAndGet();
+        localCache.invalidate(userId);
+        String message = nodeId + "|" + userId + "|" + System.currentTimeMillis();
+        return backend.evict(KEY_PREFIX + userId)
+                .then(backend.publish(message))
+                .onErrorResume(e -> {
+                    // Remote copies still expire after profile.cache.local.ttl
+                    log.warn("Failed to propagate profile invalidation for user {}: {}", userId, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void onInvalidation(String message) {
+        String[] parts = message.split("\\|");
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            Long userId = Long.valueOf(parts[1]);
+            long publishedAt = Long.parseLong(parts[2]);
+            invalidationEpoch.incrementAndGet();
+            Entry stale = localCache.asMap().remove(userId);
+            if (stale != null && stale.lastReadMillis.get() > publishedAt) {
+                staleReads.increment();
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed profile invalidation: {}", message);
+        }
+    }
+
+    private Mono<Void> storeShared(String key, UserPublicProfileDto profile) {
+        try {
+            return backend.put(key, objectMapper.writeValueAsString(profile), sharedTtl)
+                    .onErrorResume(e -> {
+                        log.warn("Shared profile cache write failed: {}", e.getMessage());
+                        return Mono.empty();
+                    });
+        } catch (JsonProcessingException e) {
+            return Mono.empty();
+        }
+    }
+
+    private Mono<UserPublicProfileDto> deserialize(String json) {
+        try {
+            return Mono.just(objectMapper.readValue(json, UserPublicProfileDto.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Discarding unreadable shared profile cache entry: {}", e.getMessage());
+            return Mono.empty();
+        }
+    }
+
+    private static final class Entry {
+
+        private final UserPublicProfileDto profile;
+        private final AtomicLong lastReadMillis = new AtomicLong();
+
+        private Entry(UserPublicProfileDto profile) {
+            this.profile = profile;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.sportio.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Profile cache tier stored in Redis; invalidations travel over Redis pub/sub.
+ */
+@Component
+@ConditionalOnProperty(name = "profile.cache.backend", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisProfileCacheBackend implements ProfileCacheBackend {
+
+    private static final String KEY_PREFIX = "profile-cache:";
+    private static final String INVALIDATION_CHANNEL = "profile-cache:invalidations";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<String> get(String key) {
+        return redisTemplate.opsForValue().get(KEY_PREFIX + key);
+    }
+
+    @Override
+    public Mono<Void> put(String key, String value, Duration ttl) {
+        return redisTemplate.opsForValue().set(KEY_PREFIX + key, value, ttl).then();
+    }
+
+    @Override
+    public Mono<Void> evict(String key) {
+        return redisTemplate.delete(KEY_PREFIX + key).then();
+    }
+
+    @Override
+    public Mono<Void> publish(String message) {
+        return redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message).then();
+    }
+
+    @Override
+    public Flux<String> invalidations() {
+        return redisTemplate.listenToChannel(INVALIDATION_CHANNEL)
+                .map(ReactiveSubscription.Message::getMessage);
+    }
+}
@@ -0,0 +1,189 @@
+package com.sportio.cache;
+
+import com.sportio.entity.Session;
+import com.sportio.event.SessionChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Type-ahead suggestions from the titles and sports of open public sessions.
+ * Terms live in an in-memory trie keyed by their lower-cased text; a title is also
+ * reachable from each of its later words, so "bad" suggests "Sunday Badminton".
+ * Suggestions are returned shortest completion first, then alphabetically.
+ *
+ * <p>The trie follows {@link SessionChangedEvent}s one session at a time and is
+ * reloaded from the {@link SessionGridIndex} after the index itself has been rebuilt,
+ * so suggestions never query the database.
+ */
+@Component
+public class SessionAutocomplete {
+
+    private static final int MAX_TITLE_WORDS = 8;
+
+    private final SessionGridIndex sessionGridIndex;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private Node root = new Node();
+    private final Map<Long, List<Term>> termsBySession = new HashMap<>();
+    private volatile long loadedGeneration = -1;
+
+    public SessionAutocomplete(SessionGridIndex sessionGridIndex) {
+        this.sessionGridIndex = sessionGridIndex;
+    }
+
+    /**
+     * Suggest titles and sports starting with a prefix.
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions
+     * @return suggestions as originally written
+     */
+    public List<String> suggest(String prefix, int limit) {
+        reloadIfIndexRebuilt();
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            Set<String> suggestions = new LinkedHashSet<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(node);
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Node next = queue.poll();
+                for (String display : next.terms.keySet()) {
+                    suggestions.add(display);
+                    if (suggestions.size() == limit) {
+                        break;
+                    }
+                }
+                queue.addAll(next.children.values());
+            }
+            return new ArrayList<>(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace a changed session's terms. Runs after {@link SessionGridIndex} has
+     * applied the change.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onSessionChanged(SessionChangedEvent event) {
+        Session session = event.current();
+        lock.writeLock().lock();
+        try {
+            remove(session.getId());
+            if (SessionGridIndex.isIndexable(session)) {
+                add(session.getId(), session.getTitle(), session.getSportType());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reloadIfIndexRebuilt() {
+        if (sessionGridIndex.generation() == loadedGeneration) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long generation = sessionGridIndex.generation();
+            if (generation == loadedGeneration) {
+                return;
+            }
+            root = new Node();
+            termsBySession.clear();
+            sessionGridIndex.forEachSession(this::add);
+            loadedGeneration = generation;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(long sessionId, String title, String sportType) {
+        List<Term> terms = new ArrayList<>();
+        if (title != null) {
+            String[] words = normalize(title).split(" ");
+            StringBuilder suffix = new StringBuilder();
+            for (int i = Math.min(words.length, MAX_TITLE_WORDS) - 1; i >= 0; i--) {
+                suffix.insert(0, suffix.length() > 0 ? words[i] + " " : words[i]);
+                terms.add(new Term(suffix.toString(), title.trim()));
+            }
+        }
+        if (sportType != null) {
+            terms.add(new Term(normalize(sportType), sportType.trim()));
+        }
+        terms.removeIf(term -> term.key.isEmpty());
+        terms.forEach(this::insert);
+        termsBySession.put(sessionId, terms);
+    }
+
+    private void remove(long sessionId) {
+        List<Term> terms = termsBySession.remove(sessionId);
+        if (terms != null) {
+            terms.forEach(term -> delete(root, term, 0));
+        }
+    }
+
+    private void insert(Term term) {
+        Node node = root;
+        for (int i = 0; i < term.key.length(); i++) {
+            node = node.children.computeIfAbsent(term.key.charAt(i), c -> new Node());
+        }
+        node.terms.merge(term.display, 1, Integer::sum);
+    }
+
+    // Returns true when the node is left empty and can be unlinked from its parent
+    private boolean delete(Node node, Term term, int depth) {
+        if (depth == term.key.length()) {
+            node.terms.computeIfPresent(term.display, (display, count) -> count > 1 ? count - 1 : null);
+        } else {
+            char c = term.key.charAt(depth);
+            Node child = node.children.get(c);
+            if (child != null && delete(child, term, depth + 1)) {
+                node.children.remove(c);
+            }
+        }
+        return node.terms.isEmpty() && node.children.isEmpty();
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Term(String key, String display) {
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new TreeMap<>();
+        // Suggestion text to the number of sessions contributing it
+        private final Map<String, Integer> terms = new TreeMap<>();
+    }
+}
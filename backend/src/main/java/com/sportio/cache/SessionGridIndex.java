@@ -0,0 +1,583 @@
+package com.sportio.cache;
+
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.entity.Session;
+import com.sportio.event.SessionChangedEvent;
+import com.sportio.repository.NearbySessionQuery;
+import com.sportio.repository.SessionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of open public sessions.
+ * Sessions are bucketed into a uniform grid of {@code geo.index.cell-size-degrees}
+ * cells. Each cell keeps IDs, coordinates, dates and sports in parallel arrays that are
+ * replaced on write, so searches scan only the cells overlapping the radius, take no
+ * locks and never reach Postgres.
+ *
+ * <p>The index is loaded once the application is ready and follows the
+ * {@link SessionChangedEvent}s published on this node. It is rebuilt periodically to
+ * pick up changes committed by other nodes; until the first load completes,
+ * {@link #isReady()} is false and callers should query the database instead.
+ *
+ * <p>Distances are great-circle distances on the mean Earth radius, the same measure
+ * PostGIS uses for the {@code <->} ordering of geography values and for the sphere
+ * radius filter of {@link com.sportio.repository.NearbySessionSql}.
+ */
+@Component
+@Slf4j
+public class SessionGridIndex {
+
+    private static final String OPEN = "open";
+    private static final String PUBLIC = "public";
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+    // Scale of the sessions.latitude and sessions.longitude columns
+    private static final int COORDINATE_SCALE = 8;
+
+    private final SessionRepository sessionRepository;
+    private final double cellSizeDegrees;
+    private final int rowCount;
+    private final int columnCount;
+    private final Timer queryTimer;
+
+    private final Object writeLock = new Object();
+    private volatile Grid grid = new Grid();
+    private volatile boolean ready;
+    // Incremented, under writeLock, each time a rebuilt grid is swapped in
+    private volatile long generation;
+    // Guarded by writeLock
+    private Grid rebuilding;
+
+    public SessionGridIndex(
+            SessionRepository sessionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${geo.index.cell-size-degrees:0.05}") double cellSizeDegrees) {
+        this.sessionRepository = sessionRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.rowCount = (int) Math.ceil(180 / cellSizeDegrees);
+        this.columnCount = (int) Math.ceil(360 / cellSizeDegrees);
+
+        Gauge.builder("sportio.session.index.size", this, s -> s.grid.sessions.size())
+                .description("Open public sessions held in the in-memory spatial index")
+                .register(meterRegistry);
+        this.queryTimer = Timer.builder("sportio.session.index.query")
+                .description("Time to answer a nearby search from the in-memory spatial index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the index has been loaded and can answer searches.
+     *
+     * @return true once the first load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of rebuilds swapped in so far. Read models derived from the index can
+     * compare it to tell whether the whole index may have changed since they were built.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Visit every open public session inside a latitude/longitude box, from a given date on.
+     * Bounds are half-open, so adjacent boxes never visit the same session twice.
+     *
+     * @param south southern bound, inclusive
+     * @param north northern bound, exclusive
+     * @param west western bound, inclusive
+     * @param east eastern bound, exclusive; must be greater than {@code west}
+     * @param fromDate earliest session date, inclusive
+     * @param visitor receives each session in the box
+     */
+    public void forEachInBounds(double south, double north, double west, double east,
+                                LocalDate fromDate, SessionVisitor visitor) {
+        Grid current = grid;
+        Bounds bounds = new Bounds(south, north, west, east, (int) fromDate.toEpochDay());
+        int firstRow = row(south);
+        int lastRow = row(north);
+        int firstColumn = boundedColumn(west);
+        int lastColumn = boundedColumn(east);
+
+        long cellsInBounds = (long) (lastRow - firstRow + 1) * (lastColumn - firstColumn + 1);
+        if (cellsInBounds > current.cells.size()) {
+            // Large boxes at low zoom: walking the occupied cells is cheaper than probing every key
+            current.cells.forEach((key, cell) -> {
+                int row = (int) (key / columnCount);
+                int column = (int) (key % columnCount);
+                if (row >= firstRow && row <= lastRow && column >= firstColumn && column <= lastColumn) {
+                    cell.visit(bounds, visitor);
+                }
+            });
+            return;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                Cell cell = current.cells.get(cellKey(row, column));
+                if (cell != null) {
+                    cell.visit(bounds, visitor);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visit the title and sport of every session in the index.
+     *
+     * @param visitor receives each session
+     */
+    public void forEachSession(SessionTermsVisitor visitor) {
+        grid.sessions.values().forEach(session -> visitor.visit(session.id(), session.title(), session.sportType()));
+    }
+
+    /**
+     * Find open public sessions within a radius, nearest first, with the same filters,
+     * ordering and cursor semantics as {@link SessionRepository#findNearby}.
+     *
+     * @param query the search parameters
+     * @return sessions ordered by distance then ID
+     */
+    public List<NearbySessionDto> findNearby(NearbySessionQuery query) {
+        long start = System.nanoTime();
+        Grid current = grid;
+        Matches matches = new Matches();
+
+        double latitude = query.latitude();
+        double longitude = query.longitude();
+        double latitudeSpan = query.radiusMeters() / METERS_PER_DEGREE;
+        double widestLatitude = Math.min(90, Math.abs(latitude) + latitudeSpan);
+        double cosWidest = Math.cos(Math.toRadians(widestLatitude));
+        // Near the poles the radius can cover every meridian
+        int columnsToScan = cosWidest < 1e-6
+                ? columnCount
+                : (int) Math.min(columnCount, Math.ceil(2 * query.radiusMeters() / (METERS_PER_DEGREE * cosWidest) / cellSizeDegrees) + 1);
+        double longitudeSpan = columnsToScan == columnCount ? 180 : query.radiusMeters() / (METERS_PER_DEGREE * cosWidest);
+
+        int firstRow = row(latitude - latitudeSpan);
+        int lastRow = row(latitude + latitudeSpan);
+        int firstColumn = column(longitude - longitudeSpan);
+        Search search = new Search(query);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnsToScan; i++) {
+                Cell cell = current.cells.get(cellKey(row, Math.floorMod(firstColumn + i, columnCount)));
+                if (cell != null) {
+                    cell.collect(search, matches);
+                }
+            }
+        }
+
+        List<NearbySessionDto> results = matches.toResults(current.sessions, query.limit());
+        queryTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        return results;
+    }
+
+    /**
+     * Apply a committed session change to the index. Runs before other listeners, so
+     * read models derived from the index see the change once they are notified.
+     *
+     * @param event the change
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onSessionChanged(SessionChangedEvent event) {
+        Session session = event.current();
+        synchronized (writeLock) {
+            grid.apply(session);
+            if (rebuilding != null) {
+                rebuilding.apply(session);
+                // The row being streamed for the rebuild may predate this change
+                rebuilding.changedDuringLoad.add(session.getId());
+            }
+        }
+    }
+
+    /**
+     * Reload the index from the open sessions in the database and swap it in.
+     * Changes published while the load runs are applied to both the old and the new
+     * index, so none are lost by the swap.
+     *
+     * @return Mono completing when the new index is in place
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${geo.index.rebuild-interval:PT5M}", initialDelayString = "${geo.index.rebuild-interval:PT5M}")
+    public Mono<Void> rebuild() {
+        Grid next = new Grid();
+        synchronized (writeLock) {
+            rebuilding = next;
+        }
+        return sessionRepository.findByStatus(OPEN)
+                .doOnNext(session -> {
+                    synchronized (writeLock) {
+                        if (!next.changedDuringLoad.contains(session.getId())) {
+                            next.apply(session);
+                        }
+                    }
+                })
+                .then(Mono.fromRunnable(() -> {
+                    synchronized (writeLock) {
+                        next.changedDuringLoad.clear();
+                        grid = next;
+                        generation++;
+                        rebuilding = null;
+                        ready = true;
+                    }
+                    log.debug("Rebuilt session index with {} open sessions", next.sessions.size());
+                }))
+                .doOnError(e -> {
+                    synchronized (writeLock) {
+                        rebuilding = null;
+                    }
+                    log.error("Failed to rebuild session index: {}", e.getMessage());
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private int row(double latitude) {
+        int row = (int) Math.floor((latitude + 90) / cellSizeDegrees);
+        return Math.max(0, Math.min(rowCount - 1, row));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellSizeDegrees), columnCount);
+    }
+
+    private int boundedColumn(double longitude) {
+        int column = (int) Math.floor((longitude + 180) / cellSizeDegrees);
+        return Math.max(0, Math.min(columnCount - 1, column));
+    }
+
+    private long cellKey(int row, int column) {
+        return (long) row * columnCount + column;
+    }
+
+    private long cellKey(IndexedSession session) {
+        return cellKey(row(session.latitude().doubleValue()), column(session.longitude().doubleValue()));
+    }
+
+    static boolean isIndexable(Session session) {
+        return OPEN.equals(session.getStatus())
+                && PUBLIC.equals(session.getVisibility())
+                && session.getLatitude() != null
+                && session.getLongitude() != null
+                && session.getDate() != null;
+    }
+
+    static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double sinLatitude = Math.sin(Math.toRadians(latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(longitude2 - longitude1) / 2);
+        double a = sinLatitude * sinLatitude
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * One generation of the index. Writes are serialized by {@code writeLock}; reads
+     * need no lock because cells are immutable and replaced whole.
+     */
+    private final class Grid {
+
+        private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+        private final Map<Long, IndexedSession> sessions = new ConcurrentHashMap<>();
+        private final Set<Long> changedDuringLoad = new HashSet<>();
+
+        private void apply(Session session) {
+            IndexedSession existing = sessions.remove(session.getId());
+            if (existing != null) {
+                cells.computeIfPresent(cellKey(existing), (key, cell) -> cell.without(existing.id()));
+            }
+            if (isIndexable(session)) {
+                IndexedSession indexed = IndexedSession.of(session);
+                sessions.put(indexed.id(), indexed);
+                cells.compute(cellKey(indexed), (key, cell) -> cell == null ? Cell.EMPTY.with(indexed) : cell.with(indexed));
+            }
+        }
+    }
+
+    /**
+     * Sessions in one grid cell as parallel arrays.
+     */
+    private static final class Cell {
+
+        private static final Cell EMPTY = new Cell(new long[0], new double[0], new double[0], new int[0], new String[0]);
+
+        private final long[] ids;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final int[] epochDays;
+        private final String[] sportTypes;
+
+        private Cell(long[] ids, double[] latitudes, double[] longitudes, int[] epochDays, String[] sportTypes) {
+            this.ids = ids;
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+            this.epochDays = epochDays;
+            this.sportTypes = sportTypes;
+        }
+
+        private Cell with(IndexedSession session) {
+            int n = ids.length;
+            Cell cell = new Cell(
+                    Arrays.copyOf(ids, n + 1),
+                    Arrays.copyOf(latitudes, n + 1),
+                    Arrays.copyOf(longitudes, n + 1),
+                    Arrays.copyOf(epochDays, n + 1),
+                    Arrays.copyOf(sportTypes, n + 1));
+            cell.ids[n] = session.id();
+            cell.latitudes[n] = session.latitude().doubleValue();
+            cell.longitudes[n] = session.longitude().doubleValue();
+            cell.epochDays[n] = (int) session.date().toEpochDay();
+            cell.sportTypes[n] = session.sportType();
+            return cell;
+        }
+
+        private Cell without(long id) {
+            int index = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            return new Cell(
+                    remove(ids, index),
+                    remove(latitudes, index),
+                    remove(longitudes, index),
+                    remove(epochDays, index),
+                    remove(sportTypes, index));
+        }
+
+        private void collect(Search search, Matches matches) {
+            for (int i = 0; i < ids.length; i++) {
+                if (epochDays[i] < search.fromDay || epochDays[i] > search.toDay) {
+                    continue;
+                }
+                if (search.sportType != null && !search.sportType.equals(sportTypes[i])) {
+                    continue;
+                }
+                double distance = distanceMeters(search.latitude, search.longitude, latitudes[i], longitudes[i]);
+                if (distance > search.radiusMeters || !search.isAfterCursor(distance, ids[i])) {
+                    continue;
+                }
+                matches.add(ids[i], distance);
+            }
+        }
+
+        private void visit(Bounds bounds, SessionVisitor visitor) {
+            for (int i = 0; i < ids.length; i++) {
+                if (epochDays[i] >= bounds.fromDay
+                        && latitudes[i] >= bounds.south && latitudes[i] < bounds.north
+                        && longitudes[i] >= bounds.west && longitudes[i] < bounds.east) {
+                    visitor.visit(ids[i], latitudes[i], longitudes[i], sportTypes[i]);
+                }
+            }
+        }
+
+        private static long[] remove(long[] values, int index) {
+            long[] copy = new long[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        private static double[] remove(double[] values, int index) {
+            double[] copy = new double[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        private static int[] remove(int[] values, int index) {
+            int[] copy = new int[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+
+        private static String[] remove(String[] values, int index) {
+            String[] copy = new String[values.length - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, copy.length - index);
+            return copy;
+        }
+    }
+
+    /**
+     * Receives the sessions found by {@link #forEachInBounds}.
+     */
+    @FunctionalInterface
+    public interface SessionVisitor {
+
+        void visit(long sessionId, double latitude, double longitude, String sportType);
+    }
+
+    /**
+     * Receives the sessions visited by {@link #forEachSession}.
+     */
+    @FunctionalInterface
+    public interface SessionTermsVisitor {
+
+        void visit(long sessionId, String title, String sportType);
+    }
+
+    private record Bounds(double south, double north, double west, double east, int fromDay) {
+    }
+
+    /**
+     * Search parameters unpacked into primitives for the scan loop.
+     */
+    private static final class Search {
+
+        private final double latitude;
+        private final double longitude;
+        private final double radiusMeters;
+        private final String sportType;
+        private final int fromDay;
+        private final int toDay;
+        private final boolean afterCursor;
+        private final double afterDistance;
+        private final long afterSessionId;
+
+        private Search(NearbySessionQuery query) {
+            this.latitude = query.latitude();
+            this.longitude = query.longitude();
+            this.radiusMeters = query.radiusMeters();
+            this.sportType = query.sportType();
+            this.fromDay = (int) query.fromDate().toEpochDay();
+            this.toDay = query.toDate() != null ? (int) query.toDate().toEpochDay() : Integer.MAX_VALUE;
+            this.afterCursor = query.afterDistance() != null && query.afterSessionId() != null;
+            this.afterDistance = afterCursor ? query.afterDistance() : 0;
+            this.afterSessionId = afterCursor ? query.afterSessionId() : 0;
+        }
+
+        private boolean isAfterCursor(double distance, long id) {
+            return !afterCursor || distance > afterDistance || (distance == afterDistance && id > afterSessionId);
+        }
+    }
+
+    /**
+     * Growable (id, distance) pairs, sorted once the scan is done.
+     */
+    private static final class Matches {
+
+        private long[] ids = new long[16];
+        private double[] distances = new double[16];
+        private int size;
+
+        private void add(long id, double distance) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                distances = Arrays.copyOf(distances, size * 2);
+            }
+            ids[size] = id;
+            distances[size] = distance;
+            size++;
+        }
+
+        private List<NearbySessionDto> toResults(Map<Long, IndexedSession> sessions, Integer limit) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int byDistance = Double.compare(distances[a], distances[b]);
+                return byDistance != 0 ? byDistance : Long.compare(ids[a], ids[b]);
+            });
+
+            int count = limit != null ? Math.min(limit, size) : size;
+            List<NearbySessionDto> results = new ArrayList<>(count);
+            for (int i = 0; i < size && results.size() < count; i++) {
+                IndexedSession session = sessions.get(ids[order[i]]);
+                // Skip a session removed between the scan and this lookup
+                if (session != null) {
+                    results.add(session.toDto(distances[order[i]]));
+                }
+            }
+            return results;
+        }
+    }
+
+    /**
+     * The fields of an open session that a nearby search returns.
+     */
+    private record IndexedSession(
+            long id,
+            Long hostId,
+            String sportType,
+            String title,
+            LocalDate date,
+            LocalTime timeStart,
+            LocalTime timeEnd,
+            Integer playersNeeded,
+            BigDecimal latitude,
+            BigDecimal longitude) {
+
+        private static IndexedSession of(Session session) {
+            // At the column scale, as the database returns them; sessions from events
+            // carry whatever scale the client sent
+            return new IndexedSession(
+                    session.getId(),
+                    session.getHostId(),
+                    session.getSportType(),
+                    session.getTitle(),
+                    session.getDate(),
+                    session.getTimeStart(),
+                    session.getTimeEnd(),
+                    session.getPlayersNeeded(),
+                    session.getLatitude().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP),
+                    session.getLongitude().setScale(COORDINATE_SCALE, RoundingMode.HALF_UP));
+        }
+
+        private NearbySessionDto toDto(double distanceMeters) {
+            return NearbySessionDto.builder()
+                    .id(id)
+                    .hostId(hostId)
+                    .sportType(sportType)
+                    .title(title)
+                    .date(date)
+                    .timeStart(timeStart)
+                    .timeEnd(timeEnd)
+                    .playersNeeded(playersNeeded)
+                    .status(OPEN)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .distanceMeters(distanceMeters)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.sportio.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportio.dto.SessionClusterDto;
+import com.sportio.entity.Session;
+import com.sportio.event.SessionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-tile aggregates of open sessions for the map view.
+ * Each Web Mercator tile at zoom levels up to {@code geo.map.max-zoom} is summarized as
+ * one cluster (count, centroid and sessions per sport), computed from the
+ * {@link SessionGridIndex} and cached. A session change evicts only the tiles that
+ * contain its old and new location, one per zoom level; an index rebuild or a new day
+ * makes every cached tile stale.
+ */
+@Component
+public class SessionTileCache {
+
+    public static final String CACHE_NAME = "session.tiles";
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final SessionGridIndex sessionGridIndex;
+    private final int maxZoom;
+    private final Cache<TileKey, Entry> tiles;
+    // Bumped on every eviction; an aggregate computed across one is not kept
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    public SessionTileCache(
+            SessionGridIndex sessionGridIndex,
+            MeterRegistry meterRegistry,
+            @Value("${geo.map.max-zoom:18}") int maxZoom,
+            @Value("${geo.map.cache-max-size:100000}") long cacheMaxSize) {
+        this.sessionGridIndex = sessionGridIndex;
+        this.maxZoom = maxZoom;
+        this.tiles = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tiles, CACHE_NAME);
+    }
+
+    /**
+     * Highest zoom level whose tiles are aggregated.
+     *
+     * @return the maximum zoom
+     */
+    public int maxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Get the aggregate of one tile, computing it on a miss.
+     *
+     * @param zoom tile zoom level, at most {@link #maxZoom()}
+     * @param x tile column
+     * @param y tile row
+     * @return the cluster, or null if the tile holds no open sessions
+     */
+    public SessionClusterDto get(int zoom, int x, int y) {
+        TileKey key = new TileKey(zoom, x, y);
+        LocalDate today = LocalDate.now();
+        long generation = sessionGridIndex.generation();
+        Entry cached = tiles.getIfPresent(key);
+        if (cached != null && cached.generation == generation && cached.epochDay == today.toEpochDay()) {
+            return cached.cluster;
+        }
+
+        long epoch = invalidationEpoch.get();
+        SessionClusterDto cluster = aggregate(key, today);
+        if (invalidationEpoch.get() == epoch) {
+            tiles.put(key, new Entry(generation, today.toEpochDay(), cluster));
+        }
+        return cluster;
+    }
+
+    /**
+     * Evict the tiles a changed session was or is now in. Runs after
+     * {@link SessionGridIndex} has applied the change.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onSessionChanged(SessionChangedEvent event) {
+        invalidationEpoch.incrementAndGet();
+        evictTilesOf(event.previous());
+        evictTilesOf(event.current());
+    }
+
+    private void evictTilesOf(Session session) {
+        if (session == null || session.getLatitude() == null || session.getLongitude() == null) {
+            return;
+        }
+        double latitude = session.getLatitude().doubleValue();
+        double longitude = session.getLongitude().doubleValue();
+        for (int zoom = 0; zoom <= maxZoom; zoom++) {
+            tiles.invalidate(new TileKey(zoom, tileX(longitude, zoom), tileY(latitude, zoom)));
+        }
+    }
+
+    private SessionClusterDto aggregate(TileKey key, LocalDate today) {
+        Aggregate aggregate = new Aggregate();
+        sessionGridIndex.forEachInBounds(
+                tileLatitude(key.y + 1, key.zoom),
+                tileLatitude(key.y, key.zoom),
+                tileLongitude(key.x, key.zoom),
+                tileLongitude(key.x + 1, key.zoom),
+                today,
+                aggregate);
+        if (aggregate.count == 0) {
+            return null;
+        }
+        return SessionClusterDto.builder()
+                .tile(key.zoom + "/" + key.x + "/" + key.y)
+                .count(aggregate.count)
+                .latitude(aggregate.latitudeSum / aggregate.count)
+                .longitude(aggregate.longitudeSum / aggregate.count)
+                .sports(aggregate.sports)
+                .build();
+    }
+
+    /**
+     * Column of the tile containing a longitude.
+     *
+     * @param longitude longitude in degrees
+     * @param zoom tile zoom level
+     * @return tile column
+     */
+    public static int tileX(double longitude, int zoom) {
+        int n = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180) / 360 * n);
+        return Math.max(0, Math.min(n - 1, x));
+    }
+
+    /**
+     * Row of the tile containing a latitude; latitudes beyond the Mercator limit fall in
+     * the first or last row.
+     *
+     * @param latitude latitude in degrees
+     * @param zoom tile zoom level
+     * @return tile row
+     */
+    public static int tileY(double latitude, int zoom) {
+        int n = 1 << zoom;
+        double radians = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2 * n);
+        return Math.max(0, Math.min(n - 1, y));
+    }
+
+    private static double tileLongitude(int x, int zoom) {
+        if (x >= 1 << zoom) {
+            return 180.0001;
+        }
+        return (double) x / (1 << zoom) * 360 - 180;
+    }
+
+    private static double tileLatitude(int y, int zoom) {
+        // The outermost rows extend to the poles so no session falls outside every tile
+        if (y <= 0) {
+            return 90.0001;
+        }
+        if (y >= 1 << zoom) {
+            return -90;
+        }
+        double mercator = Math.PI * (1 - 2.0 * y / (1 << zoom));
+        return Math.toDegrees(Math.atan(Math.sinh(mercator)));
+    }
+
+    private record TileKey(int zoom, int x, int y) {
+    }
+
+    private record Entry(long generation, long epochDay, SessionClusterDto cluster) {
+    }
+
+    private static final class Aggregate implements SessionGridIndex.SessionVisitor {
+
+        private final Map<String, Integer> sports = new TreeMap<>();
+        private int count;
+        private double latitudeSum;
+        private double longitudeSum;
+
+        @Override
+        public void visit(long sessionId, double latitude, double longitude, String sportType) {
+            count++;
+            latitudeSum += latitude;
+            longitudeSum += longitude;
+            if (sportType != null) {
+                sports.merge(sportType, 1, Integer::sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.sportio.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportio.repository.SessionPlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Short-lived view of the front of each hot session's waitlist.
+ * Users polling their place in line are answered from the first
+ * {@code sessions.waitlist.head-size} waiting users plus the queue length, loaded once
+ * per session and shared by concurrent readers. Local joins, leaves and promotions
+ * evict the view; changes made on other nodes show up within
+ * {@code sessions.waitlist.cache-ttl}.
+ */
+@Component
+public class SessionWaitlistCache {
+
+    public static final String CACHE_NAME = "session.waitlist";
+
+    private final SessionPlayerRepository sessionPlayerRepository;
+    private final int headSize;
+    private final AsyncCache<Long, Head> heads;
+
+    public SessionWaitlistCache(
+            SessionPlayerRepository sessionPlayerRepository,
+            MeterRegistry meterRegistry,
+            @Value("${sessions.waitlist.head-size:20}") int headSize,
+            @Value("${sessions.waitlist.cache-ttl:5s}") Duration cacheTtl,
+            @Value("${sessions.waitlist.cache-max-size:10000}") long cacheMaxSize) {
+        this.sessionPlayerRepository = sessionPlayerRepository;
+        this.headSize = headSize;
+        this.heads = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, heads, CACHE_NAME);
+    }
+
+    /**
+     * Get the front of a session's waitlist, loading it on a miss.
+     *
+     * @param sessionId the session's ID
+     * @return Mono with the waiting users in queue order and the queue length
+     */
+    public Mono<Head> get(Long sessionId) {
+        return Mono.fromFuture(() -> heads.get(sessionId, (id, executor) -> load(id).toFuture()));
+    }
+
+    /**
+     * Drop a session's cached view after its waitlist changed.
+     *
+     * @param sessionId the session's ID
+     */
+    public void invalidate(Long sessionId) {
+        heads.synchronous().invalidate(sessionId);
+    }
+
+    private Mono<Head> load(Long sessionId) {
+        return Mono.zip(
+                sessionPlayerRepository.findWaitlistHead(sessionId, headSize).collectList(),
+                sessionPlayerRepository.countWaitlisted(sessionId),
+                (userIds, size) -> new Head(List.copyOf(userIds), size.intValue()));
+    }
+
+    /**
+     * The first waiting users of a session, in queue order.
+     *
+     * @param userIds IDs of the users at the front of the queue
+     * @param size total number of waiting users
+     */
+    public record Head(List<Long> userIds, int size) {
+
+        /**
+         * Place of a user among the cached users.
+         *
+         * @param userId the user's ID
+         * @return the 1-based place, or 0 if the user is not in the cached head
+         */
+        public int placeOf(Long userId) {
+            return userIds.indexOf(userId) + 1;
+        }
+
+        /**
+         * Whether every waiting user is in the cached head, so a user missing from it is
+         * not waiting at all.
+         *
+         * @return true if the head holds the whole queue
+         */
+        public boolean complete() {
+            return userIds.size() == size;
+        }
+    }
+}
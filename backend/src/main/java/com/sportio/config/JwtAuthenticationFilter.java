@@ -1,11 +1,16 @@
 package com.sportio.config;
 
+import com.sportio.security.AuthenticatedPrincipal;
+import com.sportio.security.TokenRevocationService;
+import com.sportio.security.TokenVersionRegistry;
 import com.sportio.util.JwtUtil;
+import com.sportio.util.VerifiedTokenCache;
 import com.sportio.entity.User;
+import io.jsonwebtoken.Claims;
 import com.sportio.repository.UserRepository;
 import io.jsonwebtoken.JwtException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
@@ -13,55 +18,168 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import reactor.util.context.Context;
+
+import java.util.UUID;
 
 /**
  * WebFilter that extracts and validates JWT tokens from Authorization header
- * and sets the authenticated user in the exchange attributes.
+ * and sets the authenticated principal in the exchange attributes.
+ * Tokens that were verified recently are served from {@link VerifiedTokenCache}.
+ *
+ * <p>In {@code claims} mode (the default) the principal is built from the token
+ * claims alone and no user is loaded; controllers that need the entity use
+ * {@link com.sportio.security.AuthenticatedUserResolver}. In {@code lookup} mode the
+ * full user entity is loaded as well. Either way the token version is checked
+ * against {@link TokenVersionRegistry} so tokens issued before a profile or
+ * credential change are rejected, and the token ID is checked against
+ * {@link TokenRevocationService} so tokens revoked by a logout are rejected.
+ * WebSocket handshakes may pass the token as an {@code access_token} query parameter
+ * instead of a header.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter implements WebFilter {
 
     public static final String AUTHENTICATED_USER_KEY = "AUTHENTICATED_USER";
+    public static final String AUTHENTICATED_PRINCIPAL_KEY = "AUTHENTICATED_PRINCIPAL";
     private static final String BEARER_PREFIX = "Bearer ";
+    private static final String LOOKUP_MODE = "lookup";
+    // Browsers cannot set headers on a WebSocket handshake, so it may carry the token in the query
+    private static final String TOKEN_QUERY_PARAM = "access_token";
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean lookupMode;
+
+    public JwtAuthenticationFilter(
+            JwtUtil jwtUtil,
+            UserRepository userRepository,
+            VerifiedTokenCache verifiedTokenCache,
+            TokenVersionRegistry tokenVersionRegistry,
+            TokenRevocationService tokenRevocationService,
+            @Value("${auth.mode:claims}") String authenticationMode) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.tokenRevocationService = tokenRevocationService;
+        this.lookupMode = LOOKUP_MODE.equalsIgnoreCase(authenticationMode);
+    }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
+        String token = extractToken(request);
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        String digest = verifiedTokenCache.digest(token);
+
+        Mono<VerifiedTokenCache.Entry> verified;
+        VerifiedTokenCache.Entry cached = verifiedTokenCache.get(digest);
+        if (cached != null && !cached.isExpired()) {
+            verified = Mono.just(cached);
+        } else {
+            try {
+                verified = verify(token, digest);
+            } catch (JwtException e) {
+                log.warn("Invalid JWT token: {}", e.getMessage());
+                return chain.filter(exchange);
+            } catch (Exception e) {
+                log.error("Error processing JWT token: {}", e.getMessage());
+                return chain.filter(exchange);
+            }
+        }
+
+        return verified
+                .filterWhen(entry -> isCurrentVersion(entry, digest))
+                .filterWhen(entry -> isNotRevoked(entry, digest))
+                .doOnNext(entry -> {
+                    log.debug("Authenticated user: {} (id: {})", entry.principal().getEmail(), entry.principal().getUserId());
+                    // Store principal (and user in lookup mode) in exchange attributes for access in controllers
+                    exchange.getAttributes().put(AUTHENTICATED_PRINCIPAL_KEY, entry.principal());
+                    if (entry.user() != null) {
+                        exchange.getAttributes().put(AUTHENTICATED_USER_KEY, entry.user());
+                    }
+                })
+                .onErrorResume(e -> {
+                    log.error("Error processing JWT token: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                // Use Mono.defer to lazily evaluate chain.filter - runs exactly once whether or not the token was accepted
+                .then(Mono.defer(() -> chain.filter(exchange)));
+    }
+
+    private static String extractToken(ServerHttpRequest request) {
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+            return authHeader.substring(BEARER_PREFIX.length());
+        }
+        if (request.getPath().value().startsWith(WebSocketConfig.PATH_PREFIX)) {
+            return request.getQueryParams().getFirst(TOKEN_QUERY_PARAM);
+        }
+        return null;
+    }
 
-        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-            return chain.filter(exchange);
+    private Mono<VerifiedTokenCache.Entry> verify(String token, String digest) {
+        Claims claims = jwtUtil.validateToken(token);
+        if (!jwtUtil.isTokenType(claims, JwtUtil.ACCESS_TOKEN_TYPE)) {
+            // Refresh tokens are only accepted by the refresh endpoint
+            log.warn("Rejected non-access token on authenticated request");
+            return Mono.empty();
         }
+        AuthenticatedPrincipal principal = jwtUtil.toPrincipal(claims);
+        long expiresAt = claims.getExpiration().getTime();
+        log.debug("Extracted email from JWT: {}", principal.getEmail());
 
-        String token = authHeader.substring(BEARER_PREFIX.length());
+        Mono<VerifiedTokenCache.Entry> entry = lookupMode
+                ? userRepository.findByEmail(principal.getEmail())
+                        .map(user -> new VerifiedTokenCache.Entry(principal, user, expiresAt))
+                : Mono.just(new VerifiedTokenCache.Entry(principal, null, expiresAt));
 
-        try {
-            String email = jwtUtil.extractEmail(token);
-            log.debug("Extracted email from JWT: {}", email);
+        return entry.doOnNext(e -> verifiedTokenCache.put(digest, e.principal(), e.user(), expiresAt));
+    }
 
-            return userRepository.findByEmail(email)
-                    .flatMap(user -> {
-                        log.debug("Authenticated user: {} (id: {})", user.getEmail(), user.getId());
-                        // Store user in exchange attributes for access in controllers
-                        exchange.getAttributes().put(AUTHENTICATED_USER_KEY, user);
-                        return chain.filter(exchange);
-                    })
-                    // Use Mono.defer to lazily evaluate chain.filter - prevents double execution
-                    .switchIfEmpty(Mono.defer(() -> chain.filter(exchange)));
+    private Mono<Boolean> isCurrentVersion(VerifiedTokenCache.Entry entry, String digest) {
+        AuthenticatedPrincipal principal = entry.principal();
+        return tokenVersionRegistry.isCurrent(principal.getUserId(), principal.getTokenVersion())
+                .doOnNext(current -> {
+                    if (!current) {
+                        // Versions only move forward, so a stale token never becomes valid again
+                        log.warn("Rejected stale token for user {}", principal.getUserId());
+                        verifiedTokenCache.invalidate(digest);
+                    }
+                });
+    }
 
-        } catch (JwtException e) {
-            log.warn("Invalid JWT token: {}", e.getMessage());
-            return chain.filter(exchange);
-        } catch (Exception e) {
-            log.error("Error processing JWT token: {}", e.getMessage());
-            return chain.filter(exchange);
+    private Mono<Boolean> isNotRevoked(VerifiedTokenCache.Entry entry, String digest) {
+        String tokenId = entry.principal().getTokenId();
+        if (tokenId == null) {
+            return Mono.just(true);
         }
+        return tokenRevocationService.isRevoked(UUID.fromString(tokenId))
+                .map(revoked -> {
+                    if (revoked) {
+                        log.warn("Rejected revoked token for user {}", entry.principal().getUserId());
+                        verifiedTokenCache.invalidate(digest);
+                    }
+                    return !revoked;
+                });
+    }
+
+    /**
+     * Helper method to extract the authenticated principal from exchange attributes.
+     *
+     * @param exchange the server web exchange
+     * @return Mono containing the principal, or empty if not authenticated
+     */
+    public static Mono<AuthenticatedPrincipal> getAuthenticatedPrincipal(ServerWebExchange exchange) {
+        AuthenticatedPrincipal principal = exchange.getAttribute(AUTHENTICATED_PRINCIPAL_KEY);
+        return principal != null ? Mono.just(principal) : Mono.empty();
     }
 
     /**
@@ -81,6 +199,8 @@ public class JwtAuthenticationFilter implements WebFilter {
 
     /**
      * Helper method to extract authenticated user from exchange attributes.
+     * The user is only present in lookup mode or once
+     * {@link com.sportio.security.AuthenticatedUserResolver} has loaded it.
      *
      * @param exchange the server web exchange
      * @return Mono containing the authenticated user, or empty if not authenticated
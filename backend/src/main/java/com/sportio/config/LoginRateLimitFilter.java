@@ -0,0 +1,283 @@
+package com.sportio.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.security.RateLimitBackend;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFilter that throttles login attempts per client IP and per normalized email
+ * before the request reaches AuthController, so rejected attempts never cost a
+ * user lookup or a BCrypt verification.
+ *
+ * <p>The client IP is the connection's remote address. {@code X-Forwarded-For} is
+ * only believed when the connection comes from one of
+ * {@code auth.login-rate-limit.trusted-proxies}, and then only up to the first
+ * address that is not itself a trusted proxy; anything a client writes into the
+ * header further left is ignored.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class LoginRateLimitFilter implements WebFilter {
+
+    private static final String LOGIN_PATH = "/api/v1/auth/login";
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimitBackend rateLimitBackend;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int emailCapacity;
+    private final double emailRefillPerSecond;
+    private final List<AddressRange> trustedProxies;
+    private final Counter ipThrottled;
+    private final Counter emailThrottled;
+
+    public LoginRateLimitFilter(
+            RateLimitBackend rateLimitBackend,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${auth.login-rate-limit.enabled:true}") boolean enabled,
+            @Value("${auth.login-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${auth.login-rate-limit.ip.refill-per-minute:20}") double ipRefillPerMinute,
+            @Value("${auth.login-rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${auth.login-rate-limit.email.refill-per-minute:5}") double emailRefillPerMinute,
+            @Value("${auth.login-rate-limit.trusted-proxies:}") List<String> trustedProxies) {
+        this.rateLimitBackend = rateLimitBackend;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60.0;
+        this.emailCapacity = emailCapacity;
+        this.emailRefillPerSecond = emailRefillPerMinute / 60.0;
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(AddressRange::parse)
+                .toList();
+        this.ipThrottled = Counter.builder("sportio.auth.login.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.emailThrottled = Counter.builder("sportio.auth.login.throttled")
+                .description("Login attempts rejected by the rate limiter")
+                .tag("key", "email")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!enabled || request.getMethod() != HttpMethod.POST || !LOGIN_PATH.equals(request.getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        String clientIp = resolveClientIp(request);
+
+        return DataBufferUtils.join(request.getBody(), MAX_BODY_BYTES)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> rateLimitBackend.tryConsume("login:ip:" + clientIp, ipCapacity, ipRefillPerSecond)
+                        .flatMap(ipDecision -> {
+                            if (!ipDecision.allowed()) {
+                                ipThrottled.increment();
+                                log.warn("Login throttled for IP {}", clientIp);
+                                return reject(exchange, ipDecision);
+                            }
+                            String email = extractEmail(body);
+                            if (email == null) {
+                                return chain.filter(withBody(exchange, body));
+                            }
+                            return rateLimitBackend.tryConsume("login:email:" + email, emailCapacity, emailRefillPerSecond)
+                                    .flatMap(emailDecision -> {
+                                        if (!emailDecision.allowed()) {
+                                            emailThrottled.increment();
+                                            log.warn("Login throttled for email {}", email);
+                                            return reject(exchange, emailDecision);
+                                        }
+                                        return chain.filter(withBody(exchange, body));
+                                    });
+                        }))
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    exchange.getResponse().setStatusCode(HttpStatus.PAYLOAD_TOO_LARGE);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    private String resolveClientIp(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        InetAddress client = remoteAddress.getAddress();
+        List<String> forwardedFor = request.getHeaders().getValuesAsList("X-Forwarded-For");
+        // Each trusted proxy appends the address it received from, so walk back from the
+        // right while the hop is one of ours
+        for (int i = forwardedFor.size() - 1; i >= 0 && isTrustedProxy(client); i--) {
+            InetAddress hop = parseAddress(forwardedFor.get(i).trim());
+            if (hop == null) {
+                break;
+            }
+            client = hop;
+        }
+        return client.getHostAddress();
+    }
+
+    private boolean isTrustedProxy(InetAddress address) {
+        for (AddressRange proxy : trustedProxies) {
+            if (proxy.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            // Same normalization as AuthService, so case variants share one bucket
+            return email.asText().toLowerCase().trim();
+        } catch (IOException e) {
+            // Malformed bodies are left for the controller to reject
+            return null;
+        }
+    }
+
+    private ServerWebExchange withBody(ServerWebExchange exchange, byte[] body) {
+        ServerHttpRequest request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+        return exchange.mutate().request(request).build();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RateLimitBackend.Decision decision) {
+        ServerHttpResponse response = exchange.getResponse();
+        long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("error", "too_many_attempts");
+        body.put("message", "Too many login attempts. Try again later");
+        body.put("timestamp", LocalDateTime.now().toString());
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+        } catch (IOException e) {
+            return response.setComplete();
+        }
+    }
+
+    // Literal addresses only; InetAddress.getByName would look up a host name
+    private static InetAddress parseAddress(String value) {
+        try {
+            if (value.indexOf(':') >= 0) {
+                return InetAddress.getByName(value);
+            }
+            String[] parts = value.split("\\.", -1);
+            if (parts.length != 4) {
+                return null;
+            }
+            byte[] bytes = new byte[4];
+            for (int i = 0; i < 4; i++) {
+                if (parts[i].isEmpty() || parts[i].length() > 3 || !parts[i].chars().allMatch(Character::isDigit)) {
+                    return null;
+                }
+                int octet = Integer.parseInt(parts[i]);
+                if (octet > 255) {
+                    return null;
+                }
+                bytes[i] = (byte) octet;
+            }
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An address or CIDR range, such as {@code 10.0.0.0/8}.
+     */
+    private record AddressRange(byte[] network, int prefixLength) {
+
+        static AddressRange parse(String value) {
+            int slash = value.indexOf('/');
+            InetAddress address = parseAddress(slash >= 0 ? value.substring(0, slash) : value);
+            if (address == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+            }
+            byte[] network = address.getAddress();
+            int prefixLength = slash >= 0 ? Integer.parseInt(value.substring(slash + 1)) : network.length * 8;
+            if (prefixLength < 0 || prefixLength > network.length * 8) {
+                throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+            }
+            return new AddressRange(network, prefixLength);
+        }
+
+        boolean contains(InetAddress address) {
+            byte[] bytes = address.getAddress();
+            if (bytes.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (bytes[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (bytes[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sportio.config;
+
+import com.sportio.realtime.ChatWebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.server.WebSocketService;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.util.Map;
+
+/**
+ * WebSocket endpoints. The principal set by {@link JwtAuthenticationFilter} on the
+ * handshake is copied into the socket's attributes, and inbound frames are limited to
+ * {@code chat.max-frame-bytes}.
+ */
+@Configuration
+public class WebSocketConfig implements WebFluxConfigurer {
+
+    public static final String PATH_PREFIX = "/ws/";
+    public static final String CHAT_PATH = PATH_PREFIX + "session/*";
+
+    private final int maxFrameBytes;
+
+    public WebSocketConfig(@Value("${chat.max-frame-bytes:16384}") int maxFrameBytes) {
+        this.maxFrameBytes = maxFrameBytes;
+    }
+
+    @Bean
+    public HandlerMapping webSocketHandlerMapping(ChatWebSocketHandler chatWebSocketHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(Map.of(CHAT_PATH, chatWebSocketHandler));
+        // Ahead of the annotated controllers
+        mapping.setOrder(-1);
+        return mapping;
+    }
+
+    @Override
+    public WebSocketService getWebSocketService() {
+        HandshakeWebSocketService service = new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy(
+                () -> WebsocketServerSpec.builder().maxFramePayloadLength(maxFrameBytes)));
+        service.setSessionAttributePredicate(JwtAuthenticationFilter.AUTHENTICATED_PRINCIPAL_KEY::equals);
+        return service;
+    }
+}
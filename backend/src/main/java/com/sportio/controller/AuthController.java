@@ -1,8 +1,12 @@
 package com.sportio.controller;
 
 import com.sportio.dto.AuthResponse;
+import com.sportio.config.JwtAuthenticationFilter;
 import com.sportio.dto.LoginRequest;
+import com.sportio.dto.LogoutRequest;
+import com.sportio.dto.RefreshTokenRequest;
 import com.sportio.dto.RegisterRequest;
+import com.sportio.exception.UnauthorizedException;
 import com.sportio.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,8 +17,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 /**
  * REST controller handling authentication endpoints.
  */
@@ -51,5 +58,37 @@ public class AuthController {
         return authService.login(request)
                 .map(ResponseEntity::ok);
     }
-}
 
+    /**
+     * Exchange a refresh token for a new access token.
+     * The presented refresh token is rotated and cannot be used again.
+     *
+     * @param request the refresh request
+     * @return AuthResponse with new tokens
+     */
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<AuthResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        log.info("Token refresh request received");
+        return authService.refresh(request)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Log out the current user.
+     * The access token is revoked immediately; if a refresh token is supplied its
+     * whole token family is revoked too.
+     *
+     * @param exchange the server web exchange
+     * @param request optional logout request carrying the refresh token
+     * @return confirmation message
+     */
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<Map<String, String>>> logout(
+            ServerWebExchange exchange,
+            @RequestBody(required = false) LogoutRequest request) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> authService.logout(principal, request))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(Map.of("message", "Logged out successfully"))));
+    }
+}
@@ -0,0 +1,61 @@
+package com.sportio.controller;
+
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.dto.ChatHistoryDto;
+import com.sportio.exception.UnauthorizedException;
+import com.sportio.service.ChatService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for session chat history. Live messages are sent and received
+ * over the chat WebSocket.
+ */
+@RestController
+@RequestMapping("/api/v1/sessions/{sessionId}/messages")
+@Slf4j
+public class ChatController {
+
+    private final ChatService chatService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ChatController(
+            ChatService chatService,
+            @Value("${chat.history.default-limit:50}") int defaultPageSize,
+            @Value("${chat.history.max-limit:100}") int maxPageSize) {
+        this.chatService = chatService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Get one page of a session's chat history, oldest message first.
+     * Pages are chained by passing the first message's ID of a page as {@code before},
+     * exactly as the string it was sent as.
+     *
+     * @param sessionId the session's ID
+     * @param limit maximum number of messages
+     * @param before only messages older than this message ID; omit for the latest
+     * @param exchange the server web exchange
+     * @return the page and whether older messages remain
+     */
+    @GetMapping
+    public Mono<ChatHistoryDto> getHistory(
+            @PathVariable Long sessionId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long before,
+            ServerWebExchange exchange) {
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> chatService.getHistory(sessionId, principal.getUserId(), before, pageSize));
+    }
+}
@@ -0,0 +1,95 @@
+package com.sportio.controller;
+
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.dto.NotificationListDto;
+import com.sportio.exception.UnauthorizedException;
+import com.sportio.service.NotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * REST controller for the current user's in-app notifications. New notifications
+ * are also pushed on the user's event stream.
+ */
+@RestController
+@RequestMapping("/api/v1/notifications")
+@Slf4j
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public NotificationController(
+            NotificationService notificationService,
+            @Value("${notifications.default-limit:20}") int defaultPageSize,
+            @Value("${notifications.max-limit:100}") int maxPageSize) {
+        this.notificationService = notificationService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Get one page of the user's notifications, newest first, with their unread count.
+     *
+     * @param limit maximum number of notifications
+     * @param offset number of notifications to skip
+     * @param unreadOnly whether to skip read notifications
+     * @param exchange the server web exchange
+     * @return the page and the unread count
+     */
+    @GetMapping
+    public Mono<NotificationListDto> getNotifications(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            ServerWebExchange exchange) {
+        int pageSize = limit == null || limit < 1 ? defaultPageSize : Math.min(limit, maxPageSize);
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> notificationService.getNotifications(
+                        principal.getUserId(), pageSize, Math.max(0, offset), unreadOnly));
+    }
+
+    /**
+     * Mark one notification read.
+     *
+     * @param notificationId the notification's ID
+     * @param exchange the server web exchange
+     * @return confirmation message
+     */
+    @PutMapping("/{notificationId}/read")
+    public Mono<ResponseEntity<Map<String, String>>> markRead(
+            @PathVariable Long notificationId,
+            ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> notificationService.markRead(principal.getUserId(), notificationId))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(Map.of("message", "Notification marked as read"))));
+    }
+
+    /**
+     * Mark all of the user's notifications read.
+     *
+     * @param exchange the server web exchange
+     * @return confirmation message and how many notifications were unread
+     */
+    @PutMapping("/read-all")
+    public Mono<ResponseEntity<Map<String, Object>>> markAllRead(ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> notificationService.markAllRead(principal.getUserId()))
+                .map(count -> ResponseEntity.ok(Map.<String, Object>of("message", "All notifications marked as read", "count", count)));
+    }
+}
@@ -2,41 +2,76 @@ package com.sportio.controller;
 
 import com.sportio.config.JwtAuthenticationFilter;
 import com.sportio.dto.*;
+import com.sportio.exception.BatchTooLargeException;
 import com.sportio.exception.UnauthorizedException;
+import com.sportio.repository.ProfileVersions;
+import com.sportio.security.AuthenticatedUserResolver;
 import com.sportio.service.ProfileService;
+import com.sportio.util.ETags;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * REST controller for user profile management endpoints.
  */
 @RestController
 @RequestMapping("/api/v1/users")
-@RequiredArgsConstructor
 @Slf4j
 public class ProfileController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ProfileService profileService;
+    private final AuthenticatedUserResolver authenticatedUserResolver;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxBatchSize;
+
+    public ProfileController(
+            ProfileService profileService,
+            AuthenticatedUserResolver authenticatedUserResolver,
+            @Value("${profile.session-history.default-limit:20}") int defaultPageSize,
+            @Value("${profile.session-history.max-limit:100}") int maxPageSize,
+            @Value("${profile.batch.max-ids:100}") int maxBatchSize) {
+        this.profileService = profileService;
+        this.authenticatedUserResolver = authenticatedUserResolver;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     /**
      * Get current authenticated user's full profile with stats.
+     * Supports {@code If-None-Match}: when the profile and stats are unchanged the
+     * response is 304 and the profile is not loaded.
      *
      * @param exchange the server web exchange
      * @return the user's full profile including statistics
      */
     @GetMapping("/me")
     public Mono<UserProfileDto> getMyProfile(ServerWebExchange exchange) {
-        return JwtAuthenticationFilter.getAuthenticatedUser(exchange)
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
                 .switchIfEmpty(Mono.error(new UnauthorizedException()))
-                .flatMap(user -> {
-                    log.info("Getting profile for authenticated user: {}", user.getId());
-                    return profileService.getFullProfile(user.getId());
-                });
+                .flatMap(principal -> profileService.getProfileVersions(principal.getUserId())
+                        .map(versions -> exchange.checkNotModified(profileETag(principal.getUserId(), versions)))
+                        .defaultIfEmpty(false))
+                .flatMap(notModified -> notModified
+                        ? Mono.empty()
+                        : authenticatedUserResolver.resolve(exchange)
+                                .flatMap(user -> {
+                                    log.info("Getting profile for authenticated user: {}", user.getId());
+                                    return profileService.getFullProfile(user);
+                                }));
     }
 
     /**
@@ -50,40 +85,110 @@ public class ProfileController {
     public Mono<UserProfileDto> updateMyProfile(
             ServerWebExchange exchange,
             @Valid @RequestBody UserUpdateRequest request) {
-        return JwtAuthenticationFilter.getAuthenticatedUser(exchange)
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
                 .switchIfEmpty(Mono.error(new UnauthorizedException()))
-                .flatMap(user -> {
-                    log.info("Updating profile for authenticated user: {}", user.getId());
-                    return profileService.updateProfile(user.getId(), request);
+                .flatMap(principal -> {
+                    log.info("Updating profile for authenticated user: {}", principal.getUserId());
+                    return profileService.updateProfile(principal.getUserId(), request);
                 });
     }
 
+    /**
+     * Get public profiles of several users in one request.
+     * Unknown IDs are skipped; duplicates are returned once.
+     *
+     * @param ids comma-separated user IDs
+     * @return the users' public profiles, in the order requested
+     */
+    @GetMapping(params = "ids")
+    public Flux<UserPublicProfileDto> getPublicProfiles(@RequestParam List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            return Flux.error(new BatchTooLargeException(maxBatchSize));
+        }
+        return profileService.getPublicProfiles(ids);
+    }
+
     /**
      * Get public profile of another user.
+     * Supports {@code If-None-Match} against the profile version.
      *
      * @param userId the user's ID
+     * @param exchange the server web exchange
      * @return the user's public profile (excludes email)
      */
     @GetMapping("/{userId}")
-    public Mono<UserPublicProfileDto> getPublicProfile(@PathVariable Long userId) {
+    public Mono<UserPublicProfileDto> getPublicProfile(@PathVariable Long userId, ServerWebExchange exchange) {
         log.info("Getting public profile for user: {}", userId);
-        return profileService.getPublicProfile(userId);
+        return profileService.getPublicProfile(userId)
+                .filter(profile -> profile.getVersion() == null
+                        || !exchange.checkNotModified(ETags.of("u", userId, profile.getVersion())));
     }
 
     /**
-     * Get current authenticated user's session history.
+     * Get the current authenticated user's session history, most recent first.
+     *
+     * <p>By default one page is returned as a JSON array; when more entries follow, the
+     * cursor for the next page is returned in the {@code X-Next-Cursor} header. Clients
+     * that accept {@code application/x-ndjson} instead receive the remaining history as
+     * newline-delimited JSON, written as rows arrive without being held in memory.
+     *
+     * <p>Supports {@code If-None-Match}: the ETag covers the user's participation
+     * version and the request parameters, so an unchanged history costs one primary key
+     * lookup and a 304.
      *
      * @param exchange the server web exchange
-     * @return list of session history entries
+     * @param limit maximum number of entries on a page (ignored when streaming)
+     * @param cursor cursor from a previous page's {@code X-Next-Cursor} header
+     * @return session history entries
      */
     @GetMapping("/me/sessions")
-    public Flux<SessionHistoryDto> getMySessions(ServerWebExchange exchange) {
-        return JwtAuthenticationFilter.getAuthenticatedUser(exchange)
+    public Mono<ResponseEntity<Flux<SessionHistoryDto>>> getMySessions(
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        boolean stream = exchange.getRequest().getHeaders().getAccept().contains(MediaType.APPLICATION_NDJSON);
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
                 .switchIfEmpty(Mono.error(new UnauthorizedException()))
-                .flatMapMany(user -> {
-                    log.info("Getting session history for authenticated user: {}", user.getId());
-                    return profileService.getSessionHistory(user.getId());
+                .flatMap(principal -> profileService.getProfileVersions(principal.getUserId())
+                        .map(versions -> ETags.of("h", principal.getUserId(), versions.getParticipationVersion(),
+                                stream ? "ndjson" : "json", stream ? "" : resolveLimit(limit), cursor != null ? cursor : ""))
+                        .flatMap(etag -> {
+                            if (exchange.checkNotModified(etag)) {
+                                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Flux<SessionHistoryDto>>build());
+                            }
+                            log.info("Getting session history for authenticated user: {}", principal.getUserId());
+                            return sessionHistoryResponse(principal.getUserId(), stream, limit, cursor, etag);
+                        }));
+    }
+
+    private Mono<ResponseEntity<Flux<SessionHistoryDto>>> sessionHistoryResponse(
+            Long userId, boolean stream, Integer limit, String cursor, String etag) {
+        if (stream) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .eTag(etag)
+                    .body(profileService.streamSessionHistory(userId, cursor)));
+        }
+        return profileService.getSessionHistoryPage(userId, resolveLimit(limit), cursor)
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .eTag(etag);
+                    if (page.nextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                    return response.body(Flux.fromIterable(page.items()));
                 });
     }
-}
 
+    private String profileETag(Long userId, ProfileVersions versions) {
+        return ETags.of("p", userId, versions.getProfileVersion(), versions.getParticipationVersion());
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(limit, maxPageSize);
+    }
+}
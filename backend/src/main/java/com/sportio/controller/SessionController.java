@@ -0,0 +1,265 @@
+package com.sportio.controller;
+
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.dto.JoinSessionResponse;
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.dto.NearbySessionsRequest;
+import com.sportio.dto.SessionClusterDto;
+import com.sportio.dto.SessionLobbyDto;
+import com.sportio.dto.SessionMapRequest;
+import com.sportio.dto.SessionSearchRequest;
+import com.sportio.dto.SessionSearchResultDto;
+import com.sportio.dto.WaitlistStatusDto;
+import com.sportio.exception.UnauthorizedException;
+import com.sportio.service.SessionService;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for session discovery endpoints.
+ */
+@RestController
+@RequestMapping("/api/v1/sessions")
+@Slf4j
+public class SessionController {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final SessionService sessionService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int defaultSearchLimit;
+    private final int maxSearchLimit;
+    private final int defaultSuggestions;
+    private final int maxSuggestions;
+
+    public SessionController(
+            SessionService sessionService,
+            @Value("${geo.default-limit:20}") int defaultPageSize,
+            @Value("${geo.max-limit:100}") int maxPageSize,
+            @Value("${search.default-limit:20}") int defaultSearchLimit,
+            @Value("${search.max-limit:50}") int maxSearchLimit,
+            @Value("${search.autocomplete.default-limit:10}") int defaultSuggestions,
+            @Value("${search.autocomplete.max-limit:20}") int maxSuggestions) {
+        this.sessionService = sessionService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.defaultSearchLimit = defaultSearchLimit;
+        this.maxSearchLimit = maxSearchLimit;
+        this.defaultSuggestions = defaultSuggestions;
+        this.maxSuggestions = maxSuggestions;
+    }
+
+    /**
+     * Find open public sessions near a location, nearest first.
+     *
+     * <p>By default one page is returned as a JSON array; when more sessions follow, the
+     * cursor for the next page is returned in the {@code X-Next-Cursor} header. Clients
+     * that accept {@code application/x-ndjson} instead receive every remaining match as
+     * newline-delimited JSON, written as rows arrive.
+     *
+     * @param request location, radius, sport and date filters plus paging parameters
+     * @param exchange the server web exchange
+     * @return sessions within the radius
+     */
+    @GetMapping("/nearby")
+    public Mono<ResponseEntity<Flux<NearbySessionDto>>> getNearbySessions(
+            @Valid @ModelAttribute NearbySessionsRequest request,
+            ServerWebExchange exchange) {
+        log.info("Nearby sessions request at ({}, {}) within {} km", request.getLat(), request.getLng(), request.getRadiusKm());
+
+        if (exchange.getRequest().getHeaders().getAccept().contains(MediaType.APPLICATION_NDJSON)) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(sessionService.streamNearby(request)));
+        }
+        return sessionService.findNearbyPage(request, resolveLimit(request.getLimit(), defaultPageSize, maxPageSize))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_JSON);
+                    if (page.nextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                    return response.body(Flux.fromIterable(page.items()));
+                });
+    }
+
+    /**
+     * Get clustered open sessions for a map viewport.
+     * Each cluster summarizes one tile: how many sessions it holds, their centroid and
+     * how many there are per sport.
+     *
+     * @param request the viewport bounds and map zoom level
+     * @return clusters for the non-empty tiles in the viewport
+     */
+    @GetMapping("/map")
+    public Mono<List<SessionClusterDto>> getMapClusters(@Valid @ModelAttribute SessionMapRequest request) {
+        log.info("Session map request for zoom {}", request.getZoom());
+        return sessionService.getMapClusters(request);
+    }
+
+    /**
+     * Full-text search of open public sessions by title, sport and description, most
+     * relevant first. The search text accepts web search syntax: quoted phrases, "or"
+     * and a leading "-" to exclude a word. When more sessions follow, the cursor for the
+     * next page is returned in the {@code X-Next-Cursor} header.
+     *
+     * @param request search text, sport filter and paging parameters
+     * @return one page of matching sessions
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<SessionSearchResultDto>>> searchSessions(@Valid @ModelAttribute SessionSearchRequest request) {
+        log.info("Session search request");
+
+        return sessionService.searchPage(request, resolveLimit(request.getLimit(), defaultSearchLimit, maxSearchLimit))
+                .map(page -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (page.nextCursor() != null) {
+                        response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+                    }
+                    return response.body(page.items());
+                });
+    }
+
+    /**
+     * Suggest session titles and sports starting with the typed prefix.
+     * Answered from memory, so it is safe to call on every keystroke.
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions
+     * @return suggestions, shortest completion first
+     */
+    @GetMapping("/autocomplete")
+    public Mono<List<String>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return sessionService.autocomplete(prefix, resolveLimit(limit, defaultSuggestions, maxSuggestions));
+    }
+
+    /**
+     * Get a session's lobby: the session and the players who have joined it, host first.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return the session with its players' public profiles
+     */
+    @GetMapping("/{sessionId}/lobby")
+    public Mono<SessionLobbyDto> getLobby(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.getLobby(sessionId, principal.getUserId()));
+    }
+
+    /**
+     * Stream live lobby changes as server-sent events: a {@code lobby:player} event each
+     * time a player joins, leaves or changes status, and {@code lobby:resync} when the
+     * client should reload the lobby because changes may have been missed.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return the event stream
+     */
+    @GetMapping(value = "/{sessionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamLobbyEvents(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMapMany(principal -> sessionService.streamLobbyEvents(sessionId, principal.getUserId()));
+    }
+
+    /**
+     * Join a session as the authenticated user.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return the join confirmation with the updated player count
+     */
+    @PostMapping("/{sessionId}/join")
+    public Mono<JoinSessionResponse> joinSession(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.joinSession(sessionId, principal.getUserId()));
+    }
+
+    /**
+     * Leave a session the authenticated user has joined.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return confirmation message
+     */
+    @DeleteMapping("/{sessionId}/leave")
+    public Mono<ResponseEntity<Map<String, String>>> leaveSession(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.leaveSession(sessionId, principal.getUserId()))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(Map.of("message", "You have left the session"))));
+    }
+
+    /**
+     * Join the waitlist of a full session as the authenticated user.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return the user's place in line
+     */
+    @PostMapping("/{sessionId}/waitlist")
+    public Mono<WaitlistStatusDto> joinWaitlist(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.joinWaitlist(sessionId, principal.getUserId()));
+    }
+
+    /**
+     * Get the authenticated user's place in a session's waitlist.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return the user's place in line and the queue length
+     */
+    @GetMapping("/{sessionId}/waitlist")
+    public Mono<WaitlistStatusDto> getWaitlistStatus(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.getWaitlistStatus(sessionId, principal.getUserId()));
+    }
+
+    /**
+     * Leave the waitlist of a session.
+     *
+     * @param sessionId the session's ID
+     * @param exchange the server web exchange
+     * @return confirmation message
+     */
+    @DeleteMapping("/{sessionId}/waitlist")
+    public Mono<ResponseEntity<Map<String, String>>> leaveWaitlist(@PathVariable Long sessionId, ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMap(principal -> sessionService.leaveWaitlist(sessionId, principal.getUserId()))
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok(Map.of("message", "You have left the waitlist"))));
+    }
+
+    private int resolveLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null || limit < 1) {
+            return defaultLimit;
+        }
+        return Math.min(limit, maxLimit);
+    }
+}
@@ -0,0 +1,39 @@
+package com.sportio.controller;
+
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.exception.UnauthorizedException;
+import com.sportio.realtime.UserEventStreams;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for pushing events to the authenticated user.
+ */
+@RestController
+@RequestMapping("/api/v1/users/me")
+@RequiredArgsConstructor
+public class UserEventController {
+
+    private final UserEventStreams userEventStreams;
+
+    /**
+     * Stream the authenticated user's events, such as a promotion from a waitlist, as
+     * server-sent events.
+     *
+     * @param exchange the server web exchange
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamEvents(ServerWebExchange exchange) {
+        return JwtAuthenticationFilter.getAuthenticatedPrincipal(exchange)
+                .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                .flatMapMany(principal -> userEventStreams.stream(principal.getUserId()));
+    }
+}
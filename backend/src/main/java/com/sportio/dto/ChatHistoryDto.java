@@ -0,0 +1,24 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a session's chat history.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatHistoryDto {
+
+    private Long sessionId;
+    private String title;
+    // Oldest first; pass the first message's ID as "before" to load the page preceding it
+    private List<ChatMessageDto> messages;
+    private Boolean hasMore;
+}
@@ -0,0 +1,31 @@
+package com.sportio.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a chat message in a session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageDto {
+
+    // Above 2^53, so sent as a string that JavaScript clients keep exact; it comes
+    // back unchanged as the before cursor of the history endpoint
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long id;
+    private Long sessionId;
+    // Null for system messages
+    private ChatSenderDto sender;
+    private String text;
+    private LocalDateTime timestamp;
+    private Boolean isSystem;
+}
@@ -0,0 +1,20 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the author of a chat message.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatSenderDto {
+
+    private Long id;
+    private String name;
+    private String avatarInitials;
+}
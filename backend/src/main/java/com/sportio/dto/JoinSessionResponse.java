@@ -0,0 +1,23 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO returned after successfully joining a session.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JoinSessionResponse {
+
+    private String message;
+    private Long sessionId;
+    private String status;
+    private String info;
+    private Integer playersJoined;
+    private Integer spotsLeft;
+}
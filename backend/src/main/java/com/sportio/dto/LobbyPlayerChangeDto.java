@@ -0,0 +1,19 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a change to who is in a session, as announced by the database.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyPlayerChangeDto {
+
+    private Long sessionId;
+    private Long userId;
+    // The player's new session_players status, or "removed" when the row was deleted
+    private String status;
+}
@@ -0,0 +1,27 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a player in a session lobby, with the public parts of their profile.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyPlayerDto {
+
+    private Long userId;
+    private String fullName;
+    private String avatarUrl;
+    private String avatarInitials;
+    private String skillLevel;
+    private Integer gamesPlayed;
+    private Boolean isHost;
+    private LocalDateTime joinedAt;
+}
@@ -0,0 +1,19 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for logging out. The refresh token is optional; when present its
+ * token family is revoked along with the access token.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogoutRequest {
+
+    private String refreshToken;
+}
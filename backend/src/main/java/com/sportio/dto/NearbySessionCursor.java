@@ -0,0 +1,59 @@
+package com.sportio.dto;
+
+import com.sportio.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a nearby-sessions search: the distance and session ID of the
+ * last entry already returned. Exchanged with clients as an opaque Base64url string.
+ *
+ * @param distanceMeters distance of the last entry returned
+ * @param sessionId session ID of the last entry returned
+ */
+public record NearbySessionCursor(double distanceMeters, Long sessionId) {
+
+    /**
+     * Build the cursor pointing after the given entry.
+     *
+     * @param entry the last entry of a page
+     * @return the cursor for the next page
+     */
+    public static NearbySessionCursor after(NearbySessionDto entry) {
+        return new NearbySessionCursor(entry.getDistanceMeters(), entry.getId());
+    }
+
+    /**
+     * Encode the cursor for use in a response header or query parameter.
+     * The distance is written in full precision so the next page resumes exactly.
+     *
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = Double.toString(distanceMeters) + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static NearbySessionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new NearbySessionCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for a session found by a location search, with its distance from the search point.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbySessionDto {
+
+    private Long id;
+    private Long hostId;
+    private String sportType;
+    private String title;
+    private LocalDate date;
+    private LocalTime timeStart;
+    private LocalTime timeEnd;
+    private Integer playersNeeded;
+    private String status;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Double distanceMeters;
+}
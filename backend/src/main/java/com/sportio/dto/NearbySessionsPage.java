@@ -0,0 +1,12 @@
+package com.sportio.dto;
+
+import java.util.List;
+
+/**
+ * One page of a nearby-sessions search.
+ *
+ * @param items the sessions on this page, nearest first
+ * @param nextCursor cursor for the following page, or null if this is the last page
+ */
+public record NearbySessionsPage(List<NearbySessionDto> items, String nextCursor) {
+}
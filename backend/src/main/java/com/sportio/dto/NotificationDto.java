@@ -0,0 +1,26 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an in-app notification.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+
+    private Long id;
+    private String type;
+    private String title;
+    private String body;
+    private String actionUrl;
+    private LocalDateTime timestamp;
+    private Boolean read;
+}
@@ -0,0 +1,22 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of a user's notifications and their unread count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationListDto {
+
+    private Integer unreadCount;
+    // Newest first
+    private List<NotificationDto> notifications;
+}
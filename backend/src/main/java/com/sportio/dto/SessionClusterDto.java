@@ -0,0 +1,27 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for the open sessions inside one map tile, drawn as a single pin or cluster.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionClusterDto {
+
+    /**
+     * Tile address as {@code zoom/x/y} in the Web Mercator tiling.
+     */
+    private String tile;
+    private Integer count;
+    private Double latitude;
+    private Double longitude;
+    private Map<String, Integer> sports;
+}
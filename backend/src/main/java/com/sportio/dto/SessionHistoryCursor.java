@@ -0,0 +1,60 @@
+package com.sportio.dto;
+
+import com.sportio.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a user's session history: the date and session ID of the last
+ * entry already returned. Exchanged with clients as an opaque Base64url string.
+ *
+ * @param date session date of the last entry returned
+ * @param sessionId session ID of the last entry returned
+ */
+public record SessionHistoryCursor(LocalDate date, Long sessionId) {
+
+    /**
+     * Build the cursor pointing after the given entry.
+     *
+     * @param entry the last entry of a page
+     * @return the cursor for the next page
+     */
+    public static SessionHistoryCursor after(SessionHistoryDto entry) {
+        return new SessionHistoryCursor(entry.getDate(), entry.getSessionId());
+    }
+
+    /**
+     * Encode the cursor for use in a response header or query parameter.
+     *
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = date + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static SessionHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new SessionHistoryCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
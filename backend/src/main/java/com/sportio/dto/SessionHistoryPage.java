@@ -0,0 +1,12 @@
+package com.sportio.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's session history.
+ *
+ * @param items the entries on this page, most recent first
+ * @param nextCursor cursor for the following page, or null if this is the last page
+ */
+public record SessionHistoryPage(List<SessionHistoryDto> items, String nextCursor) {
+}
@@ -0,0 +1,37 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for the lobby screen: a session and the players who have joined it, host first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionLobbyDto {
+
+    private Long id;
+    private Long hostId;
+    private String sportType;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime timeStart;
+    private LocalTime timeEnd;
+    private Integer playersNeeded;
+    private Integer playersJoined;
+    private String visibility;
+    private String status;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private List<LobbyPlayerDto> players;
+}
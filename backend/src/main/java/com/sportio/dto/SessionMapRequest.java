@@ -0,0 +1,47 @@
+package com.sportio.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for the session map: the visible viewport and the map zoom level.
+ * A viewport crossing the antimeridian has {@code west} greater than {@code east}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionMapRequest {
+
+    @NotNull(message = "South bound is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double south;
+
+    @NotNull(message = "North bound is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double north;
+
+    @NotNull(message = "West bound is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double west;
+
+    @NotNull(message = "East bound is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double east;
+
+    @NotNull(message = "Zoom is required")
+    @Min(value = 0, message = "Zoom must be between 0 and 22")
+    @Max(value = 22, message = "Zoom must be between 0 and 22")
+    private Integer zoom;
+}
@@ -0,0 +1,58 @@
+package com.sportio.dto;
+
+import com.sportio.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a full-text session search: the rank and session ID of the
+ * last entry already returned. Exchanged with clients as an opaque Base64url string.
+ *
+ * @param rank rank of the last entry returned
+ * @param sessionId session ID of the last entry returned
+ */
+public record SessionSearchCursor(float rank, Long sessionId) {
+
+    /**
+     * Build the cursor pointing after the given entry.
+     *
+     * @param entry the last entry of a page
+     * @return the cursor for the next page
+     */
+    public static SessionSearchCursor after(SessionSearchResultDto entry) {
+        return new SessionSearchCursor(entry.getRank(), entry.getId());
+    }
+
+    /**
+     * Encode the cursor for use in a response header or query parameter.
+     *
+     * @return the opaque cursor string
+     */
+    public String encode() {
+        String raw = Float.toString(rank) + "|" + sessionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor previously produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the decoded cursor
+     * @throws InvalidCursorException if the cursor is malformed
+     */
+    public static SessionSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new SessionSearchCursor(
+                    Float.parseFloat(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.sportio.dto;
+
+import java.util.List;
+
+/**
+ * One page of a full-text session search.
+ *
+ * @param items the sessions on this page, most relevant first
+ * @param nextCursor cursor for the following page, or null if this is the last page
+ */
+public record SessionSearchPage(List<SessionSearchResultDto> items, String nextCursor) {
+}
@@ -0,0 +1,28 @@
+package com.sportio.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters for a full-text session search.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSearchRequest {
+
+    @NotBlank(message = "Search text is required")
+    @Size(max = 200, message = "Search text must not exceed 200 characters")
+    private String q;
+
+    private String sport;
+
+    private Integer limit;
+
+    private String cursor;
+}
@@ -0,0 +1,34 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DTO for a session matched by a full-text search, with its relevance rank.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSearchResultDto {
+
+    private Long id;
+    private Long hostId;
+    private String sportType;
+    private String title;
+    private String description;
+    private LocalDate date;
+    private LocalTime timeStart;
+    private LocalTime timeEnd;
+    private Integer playersNeeded;
+    private String status;
+    private BigDecimal latitude;
+    private BigDecimal longitude;
+    private Float rank;
+}
@@ -26,5 +26,6 @@ public class UserProfileDto {
     private String bio;
     private LocalDateTime memberSince;
     private UserStatsDto stats;
+    private Long version;
 }
 
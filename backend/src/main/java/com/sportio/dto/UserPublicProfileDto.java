@@ -25,5 +25,6 @@ public class UserPublicProfileDto {
     private Integer gamesPlayed;
     private String bio;
     private LocalDateTime memberSince;
+    private Long version;
 }
 
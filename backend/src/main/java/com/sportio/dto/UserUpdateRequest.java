@@ -26,5 +26,11 @@ public class UserUpdateRequest {
     
     @Size(max = 1000, message = "Bio must not exceed 1000 characters")
     private String bio;
+    
+    /**
+     * Profile version the client last read. When set, the update is rejected with a
+     * conflict if the profile has changed since.
+     */
+    private Long version;
 }
 
@@ -0,0 +1,21 @@
+package com.sportio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A user's place in a session's waitlist.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistStatusDto {
+
+    private Long sessionId;
+    // 1-based place in line, or null when the user is not waiting
+    private Integer position;
+    private Integer waiting;
+}
@@ -0,0 +1,35 @@
+package com.sportio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a chat message in a session.
+ * The ID is assigned by the application before the row is written.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("messages")
+public class Message {
+
+    @Id
+    private Long id;
+
+    private Long sessionId;
+
+    private Long senderId;
+
+    private String text;
+
+    private Boolean isSystem;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package com.sportio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an in-app notification for one user.
+ * Whether it has been read also depends on the user's notification counter; see
+ * {@link com.sportio.repository.NotificationRepository}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("notifications")
+public class Notification {
+
+    @Id
+    private Long id;
+
+    private Long userId;
+
+    private String type;
+
+    private String title;
+
+    private String body;
+
+    private String actionUrl;
+
+    private Boolean isRead;
+
+    private LocalDateTime createdAt;
+}
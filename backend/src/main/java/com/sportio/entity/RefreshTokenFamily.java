@@ -0,0 +1,37 @@
+package com.sportio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing a chain of rotated refresh tokens issued from one login.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("refresh_token_families")
+public class RefreshTokenFamily {
+
+    @Id
+    private UUID id;
+
+    private Long userId;
+
+    private Integer generation;
+
+    private Boolean revoked;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastUsedAt;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,31 @@
+package com.sportio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing an access token revoked before its expiry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private UUID jti;
+
+    private Long userId;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt;
+}
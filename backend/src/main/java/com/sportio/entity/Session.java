@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.math.BigDecimal;
@@ -41,6 +42,12 @@ public class Session {
     
     private Integer playersNeeded;
     
+    /**
+     * Maintained only by the join and leave statements, never written from the entity.
+     */
+    @ReadOnlyProperty
+    private Integer playersJoined;
+    
     private String visibility;
     
     private String status;
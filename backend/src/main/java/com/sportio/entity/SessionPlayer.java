@@ -38,5 +38,7 @@ public class SessionPlayer {
     private BigDecimal paymentAmount;
     
     private LocalDateTime paidAt;
+    
+    private Long waitlistPosition;
 }
 
@@ -0,0 +1,37 @@
+package com.sportio.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a user's precomputed statistics.
+ * Rows are maintained by database triggers; the application only reads them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("user_stats")
+public class UserStats {
+
+    @Id
+    private Long userId;
+
+    private Integer totalBookings;
+
+    private Long ratingSum;
+
+    private Integer ratingCount;
+
+    private Integer friendsCount;
+
+    private Long participationVersion;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.sportio.event;
+
+/**
+ * Published after a chat message has been accepted for a session.
+ *
+ * @param sessionId the session's ID
+ * @param senderId the author's ID
+ * @param senderName the author's display name
+ * @param text the message text
+ */
+public record ChatMessageSentEvent(Long sessionId, Long senderId, String senderName, String text) {
+}
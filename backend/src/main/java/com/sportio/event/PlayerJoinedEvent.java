@@ -0,0 +1,10 @@
+package com.sportio.event;
+
+/**
+ * Published after a user has taken a seat in a session.
+ *
+ * @param sessionId the session's ID
+ * @param userId the joining user's ID
+ */
+public record PlayerJoinedEvent(Long sessionId, Long userId) {
+}
@@ -0,0 +1,10 @@
+package com.sportio.event;
+
+/**
+ * Published after a player has given up their seat in a session.
+ *
+ * @param sessionId the session's ID
+ * @param userId the leaving user's ID
+ */
+public record PlayerLeftEvent(Long sessionId, Long userId) {
+}
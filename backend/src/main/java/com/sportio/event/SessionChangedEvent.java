@@ -0,0 +1,38 @@
+package com.sportio.event;
+
+import com.sportio.entity.Session;
+
+/**
+ * Published after a change to a session has been committed, so in-memory read models
+ * can follow it without polling the sessions table.
+ *
+ * @param type what happened to the session
+ * @param previous the session before the change, or null when it was created or
+ *                 completed by the lifecycle job
+ * @param current the session after the change
+ */
+public record SessionChangedEvent(Type type, Session previous, Session current) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        CANCELLED,
+        COMPLETED
+    }
+
+    public static SessionChangedEvent created(Session session) {
+        return new SessionChangedEvent(Type.CREATED, null, session);
+    }
+
+    public static SessionChangedEvent updated(Session previous, Session current) {
+        return new SessionChangedEvent(Type.UPDATED, previous, current);
+    }
+
+    public static SessionChangedEvent cancelled(Session previous, Session current) {
+        return new SessionChangedEvent(Type.CANCELLED, previous, current);
+    }
+
+    public static SessionChangedEvent completed(Session session) {
+        return new SessionChangedEvent(Type.COMPLETED, null, session);
+    }
+}
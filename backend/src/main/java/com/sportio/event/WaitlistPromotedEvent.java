@@ -0,0 +1,11 @@
+package com.sportio.event;
+
+/**
+ * Published after a user at the head of a session's waitlist has been given the seat
+ * another player released.
+ *
+ * @param sessionId the session's ID
+ * @param userId the promoted user's ID
+ */
+public record WaitlistPromotedEvent(Long sessionId, Long userId) {
+}
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a batch request asks for more items than allowed.
+ */
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int maxSize) {
+        super("At most " + maxSize + " ids can be requested at once");
+    }
+}
@@ -1,6 +1,7 @@
 package com.sportio.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -34,6 +35,34 @@ public class GlobalExceptionHandler {
                 .body(buildErrorResponse("invalid_credentials", "Invalid email or password")));
     }
 
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleInvalidRefreshToken(InvalidRefreshTokenException ex) {
+        log.warn("Invalid refresh token: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(buildErrorResponse("invalid_refresh_token", ex.getMessage())));
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleBatchTooLarge(BatchTooLargeException ex) {
+        log.warn("Batch too large: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("batch_too_large", ex.getMessage())));
+    }
+
+    @ExceptionHandler(ViewportTooLargeException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleViewportTooLarge(ViewportTooLargeException ex) {
+        log.warn("Viewport too large: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("viewport_too_large", ex.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleInvalidCursor(InvalidCursorException ex) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse("invalid_cursor", ex.getMessage())));
+    }
+
     @ExceptionHandler(PasswordMismatchException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handlePasswordMismatch(PasswordMismatchException ex) {
         log.warn("Password mismatch: {}", ex.getMessage());
@@ -66,6 +95,41 @@ public class GlobalExceptionHandler {
                 .body(buildErrorResponse("user_not_found", ex.getMessage())));
     }
 
+    @ExceptionHandler(SessionNotFoundException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleSessionNotFound(SessionNotFoundException ex) {
+        log.warn("Session not found: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(buildErrorResponse("session_not_found", "Session not found")));
+    }
+
+    @ExceptionHandler(NotificationNotFoundException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleNotificationNotFound(NotificationNotFoundException ex) {
+        log.warn("Notification not found: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(buildErrorResponse("notification_not_found", "Notification not found")));
+    }
+
+    @ExceptionHandler(SessionClosedException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleSessionClosed(SessionClosedException ex) {
+        log.warn("Session closed: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.GONE)
+                .body(buildErrorResponse(ex.getError(), ex.getMessage())));
+    }
+
+    @ExceptionHandler(SessionMembershipException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleSessionMembership(SessionMembershipException ex) {
+        log.warn("Session membership conflict: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse(ex.getError(), ex.getMessage())));
+    }
+
+    @ExceptionHandler(ProfileVersionConflictException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleProfileVersionConflict(ProfileVersionConflictException ex) {
+        log.warn("Profile version conflict: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(buildErrorResponse("version_conflict", ex.getMessage())));
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleUnauthorized(UnauthorizedException ex) {
         log.warn("Unauthorized access: {}", ex.getMessage());
@@ -73,6 +137,28 @@ public class GlobalExceptionHandler {
                 .body(buildErrorResponse("unauthorized", ex.getMessage())));
     }
 
+    @ExceptionHandler(NotSessionMemberException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleNotSessionMember(NotSessionMemberException ex) {
+        log.warn("Chat access denied: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(buildErrorResponse("not_member", ex.getMessage())));
+    }
+
+    @ExceptionHandler(InvalidMessageException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleInvalidMessage(InvalidMessageException ex) {
+        log.warn("Invalid chat message: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(buildErrorResponse(ex.getError(), ex.getMessage())));
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public Mono<ResponseEntity<Map<String, Object>>> handleServiceBusy(ServiceBusyException ex) {
+        log.warn("Service busy: {}", ex.getMessage());
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorResponse("service_busy", ex.getMessage())));
+    }
+
     @ExceptionHandler(Exception.class)
     public Mono<ResponseEntity<Map<String, Object>>> handleGenericException(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
@@ -0,0 +1,26 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a chat message is empty or too long.
+ */
+public class InvalidMessageException extends RuntimeException {
+
+    private final String error;
+
+    private InvalidMessageException(String error, String message) {
+        super(message);
+        this.error = error;
+    }
+
+    public static InvalidMessageException empty() {
+        return new InvalidMessageException("empty_message", "Message cannot be empty");
+    }
+
+    public static InvalidMessageException tooLong(int maxLength) {
+        return new InvalidMessageException("message_too_long", "Message cannot be longer than " + maxLength + " characters");
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a refresh token is invalid, expired, revoked or already used.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException() {
+        super("Invalid or expired refresh token");
+    }
+}
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a user who has not joined a session tries to use its chat.
+ */
+public class NotSessionMemberException extends RuntimeException {
+
+    public NotSessionMemberException() {
+        super("You are not a member of this session");
+    }
+}
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a notification does not exist or belongs to another user.
+ */
+public class NotificationNotFoundException extends RuntimeException {
+
+    public NotificationNotFoundException(Long notificationId) {
+        super("Notification not found with id: " + notificationId);
+    }
+}
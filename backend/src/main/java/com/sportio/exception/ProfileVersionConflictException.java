@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a profile update was based on an outdated version of the profile.
+ */
+public class ProfileVersionConflictException extends RuntimeException {
+
+    public ProfileVersionConflictException(Long userId) {
+        super("Profile of user " + userId + " was modified concurrently");
+    }
+}
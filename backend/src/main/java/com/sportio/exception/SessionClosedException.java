@@ -0,0 +1,27 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a session can no longer be joined or left because it was
+ * cancelled or has already started.
+ */
+public class SessionClosedException extends RuntimeException {
+
+    private final String error;
+
+    private SessionClosedException(String error, String message) {
+        super(message);
+        this.error = error;
+    }
+
+    public static SessionClosedException cancelled() {
+        return new SessionClosedException("session_cancelled", "This session has been cancelled");
+    }
+
+    public static SessionClosedException expired() {
+        return new SessionClosedException("session_expired", "This session has already started");
+    }
+
+    public String getError() {
+        return error;
+    }
+}
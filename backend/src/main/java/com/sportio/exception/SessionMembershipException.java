@@ -0,0 +1,51 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a join or leave request conflicts with the session's players,
+ * e.g. the session is full or the user has already joined.
+ */
+public class SessionMembershipException extends RuntimeException {
+
+    private final String error;
+
+    private SessionMembershipException(String error, String message) {
+        super(message);
+        this.error = error;
+    }
+
+    public static SessionMembershipException full() {
+        return new SessionMembershipException("session_full", "Session is full");
+    }
+
+    public static SessionMembershipException alreadyJoined() {
+        return new SessionMembershipException("already_joined", "You have already joined this session");
+    }
+
+    public static SessionMembershipException notJoined() {
+        return new SessionMembershipException("not_joined", "You have not joined this session");
+    }
+
+    public static SessionMembershipException isHost() {
+        return new SessionMembershipException("is_host", "Host cannot leave. Cancel session or transfer host.");
+    }
+
+    public static SessionMembershipException bookingConfirmed() {
+        return new SessionMembershipException("booking_confirmed", "Cannot leave after booking is confirmed");
+    }
+
+    public static SessionMembershipException alreadyWaitlisted() {
+        return new SessionMembershipException("already_waitlisted", "You are already on the waitlist for this session");
+    }
+
+    public static SessionMembershipException spotsAvailable() {
+        return new SessionMembershipException("spots_available", "Session has spots left. Join it instead.");
+    }
+
+    public static SessionMembershipException notWaitlisted() {
+        return new SessionMembershipException("not_waitlisted", "You are not on the waitlist for this session");
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a session is not found.
+ */
+public class SessionNotFoundException extends RuntimeException {
+
+    public SessionNotFoundException(Long sessionId) {
+        super("Session not found with id: " + sessionId);
+    }
+}
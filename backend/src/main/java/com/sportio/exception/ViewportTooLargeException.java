@@ -0,0 +1,11 @@
+package com.sportio.exception;
+
+/**
+ * Exception thrown when a map viewport covers more tiles than one request may return.
+ */
+public class ViewportTooLargeException extends RuntimeException {
+
+    public ViewportTooLargeException(int maxTiles) {
+        super("The viewport covers more than " + maxTiles + " tiles; zoom in or reduce the area");
+    }
+}
@@ -0,0 +1,185 @@
+package com.sportio.realtime;
+
+import com.sportio.event.PlayerLeftEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chat rooms of the sessions with sockets connected to this node.
+ * Frames are published to the session's {@link EventBus} channel and reach the
+ * sockets of every node; a node subscribes to that channel once, on behalf of all its
+ * sockets in the room. A frame is serialized once and the same string is handed to
+ * every socket. Memory per socket is bounded: a socket may fall behind by at most
+ * {@code chat.client-buffer-size} frames before it is disconnected, and no more than
+ * {@code chat.max-connections} sockets are admitted.
+ *
+ * <p>A player who leaves a session is removed from its room on every node: the leave
+ * is announced on the {@value #MEMBERS_CHANNEL} channel, and each node ends the
+ * sockets that player holds in the room.
+ */
+@Component
+@Slf4j
+public class ChatRooms {
+
+    public static final String MEMBERS_CHANNEL = "chat-members";
+    private static final String CHANNEL_PREFIX = "chat:";
+
+    private final EventBus eventBus;
+    private final int maxConnections;
+    private final int clientBufferSize;
+    private final AtomicInteger connections = new AtomicInteger();
+    // Sockets of each player in each room, ended when the player leaves the session
+    private final Map<Member, Set<Sinks.Empty<Void>>> members = new ConcurrentHashMap<>();
+    private final Timer deliveryTimer;
+    private final Counter slowDisconnects;
+    private volatile Disposable listener;
+
+    public ChatRooms(
+            EventBus eventBus,
+            MeterRegistry meterRegistry,
+            @Value("${chat.max-connections:50000}") int maxConnections,
+            @Value("${chat.client-buffer-size:64}") int clientBufferSize) {
+        this.eventBus = eventBus;
+        this.maxConnections = maxConnections;
+        this.clientBufferSize = clientBufferSize;
+        this.deliveryTimer = Timer.builder("sportio.chat.delivery")
+                .description("Time from a frame being published to it being written to a socket")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.slowDisconnects = Counter.builder("sportio.chat.slow-disconnects")
+                .description("Sockets closed because they fell too far behind")
+                .register(meterRegistry);
+        Gauge.builder("sportio.chat.connections", connections, AtomicInteger::get)
+                .description("Open chat sockets")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the node has reached {@code chat.max-connections}.
+     *
+     * @return true if no more sockets should be admitted
+     */
+    public boolean isFull() {
+        return connections.get() >= maxConnections;
+    }
+
+    /**
+     * Join a session's room.
+     *
+     * @param sessionId the session's ID
+     * @param onJoined run once frames sent to the room from then on reach the socket
+     * @return Flux of serialized frames for one socket; completes if the socket falls
+     *         too far behind
+     */
+    public Flux<String> join(Long sessionId, Runnable onJoined) {
+        return Flux.defer(() -> {
+            connections.incrementAndGet();
+            // Completes the socket at once, without waiting for it to drain its backlog
+            Sinks.Empty<Void> overflowed = Sinks.empty();
+            return eventBus.subscribe(CHANNEL_PREFIX + sessionId, onJoined)
+                    .onBackpressureBuffer(clientBufferSize, frame -> {
+                        if (overflowed.tryEmitEmpty().isSuccess()) {
+                            slowDisconnects.increment();
+                            log.debug("Closing slow chat socket in session {}", sessionId);
+                        }
+                    }, BufferOverflowStrategy.DROP_LATEST)
+                    .takeUntilOther(overflowed.asMono())
+                    .map(frame -> {
+                        deliveryTimer.record(Math.max(0, System.currentTimeMillis() - frame.publishedAt()), TimeUnit.MILLISECONDS);
+                        return frame.message();
+                    })
+                    .doFinally(signal -> connections.decrementAndGet());
+        });
+    }
+
+    /**
+     * Send a frame to every socket in a session's room, on any node.
+     *
+     * @param sessionId the session's ID
+     * @param json the serialized frame
+     */
+    public void send(Long sessionId, String json) {
+        eventBus.publish(CHANNEL_PREFIX + sessionId, json);
+    }
+
+    /**
+     * Watch for a player being removed from a session's room.
+     *
+     * @param sessionId the session's ID
+     * @param userId the player's ID
+     * @return Mono completing once the player has left the session, on any node
+     */
+    public Mono<Void> removal(Long sessionId, Long userId) {
+        return Mono.defer(() -> {
+            Member member = new Member(sessionId, userId);
+            Sinks.Empty<Void> removed = Sinks.empty();
+            members.computeIfAbsent(member, key -> ConcurrentHashMap.newKeySet()).add(removed);
+            return removed.asMono()
+                    .doFinally(signal -> members.computeIfPresent(member, (key, sockets) -> {
+                        sockets.remove(removed);
+                        return sockets.isEmpty() ? null : sockets;
+                    }));
+        });
+    }
+
+    /**
+     * Remove a player who left a session from its room on every node.
+     *
+     * @param event the leave
+     */
+    @EventListener
+    public void onPlayerLeft(PlayerLeftEvent event) {
+        eventBus.publish(MEMBERS_CHANNEL, event.sessionId() + ":" + event.userId());
+    }
+
+    /**
+     * Listen for players leaving on any node until shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener = eventBus.subscribe(MEMBERS_CHANNEL)
+                .subscribe(event -> removeLocally(event.message()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = listener;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void removeLocally(String message) {
+        String[] parts = message.split(":");
+        try {
+            Set<Sinks.Empty<Void>> sockets = members.get(new Member(Long.valueOf(parts[0]), Long.valueOf(parts[1])));
+            if (sockets != null) {
+                sockets.forEach(Sinks.Empty::tryEmitEmpty);
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Ignoring malformed chat member removal '{}'", message);
+        }
+    }
+
+    private record Member(Long sessionId, Long userId) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.sportio.realtime;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.dto.ChatSenderDto;
+import com.sportio.exception.InvalidMessageException;
+import com.sportio.exception.NotSessionMemberException;
+import com.sportio.exception.ServiceBusyException;
+import com.sportio.security.AuthenticatedPrincipal;
+import com.sportio.service.ChatService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+
+/**
+ * Chat socket of one session, at {@code /ws/session/{sessionId}}.
+ * The caller must have joined the session, and is disconnected when they leave it.
+ * Clients send {@code chat:send} and {@code chat:send_typing} frames and receive the
+ * room's {@code chat:message} and {@code chat:typing} frames; a frame that cannot be
+ * handled is answered with a {@code chat:error} frame to its sender only.
+ */
+@Component
+@Slf4j
+public class ChatWebSocketHandler implements WebSocketHandler {
+
+    public static final String SEND_EVENT = "chat:send";
+    public static final String SEND_TYPING_EVENT = "chat:send_typing";
+    public static final String ERROR_EVENT = "chat:error";
+    public static final CloseStatus UNAUTHORIZED = new CloseStatus(4401, "unauthorized");
+    public static final CloseStatus NOT_MEMBER = new CloseStatus(4403, "not_member");
+
+    private final ChatService chatService;
+    private final ChatRooms chatRooms;
+    private final ObjectMapper objectMapper;
+
+    public ChatWebSocketHandler(ChatService chatService, ChatRooms chatRooms, ObjectMapper objectMapper) {
+        this.chatService = chatService;
+        this.chatRooms = chatRooms;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession socket) {
+        if (chatRooms.isFull()) {
+            return socket.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+        Long sessionId = parseSessionId(socket.getHandshakeInfo().getUri().getPath());
+        if (sessionId == null) {
+            return socket.close(CloseStatus.BAD_DATA);
+        }
+        AuthenticatedPrincipal principal = (AuthenticatedPrincipal) socket.getAttributes()
+                .get(JwtAuthenticationFilter.AUTHENTICATED_PRINCIPAL_KEY);
+        if (principal == null) {
+            return socket.close(UNAUTHORIZED);
+        }
+
+        // Watched before membership is checked, so a leave racing the check still closes the socket
+        Mono<Void> removed = chatRooms.removal(sessionId, principal.getUserId())
+                .then(Mono.defer(() -> socket.close(NOT_MEMBER)));
+        Mono<Void> conversation = chatService.authorize(sessionId, principal.getUserId())
+                .flatMap(sender -> converse(socket, sessionId, sender))
+                .onErrorResume(NotSessionMemberException.class, e -> socket.close(NOT_MEMBER))
+                .onErrorResume(e -> {
+                    log.error("Chat socket of session {} failed: {}", sessionId, e.getMessage());
+                    return socket.close(CloseStatus.SERVER_ERROR);
+                });
+        return Mono.firstWithSignal(removed, conversation);
+    }
+
+    private Mono<Void> converse(WebSocketSession socket, Long sessionId, ChatSenderDto sender) {
+        // Errors go back to the socket that caused them, not to the room
+        Sinks.Many<String> replies = Sinks.many().multicast().directBestEffort();
+
+        // Frames are read once this node listens to the room, so a sender sees its own message
+        // unless the bus loses it
+        Sinks.Empty<Void> joined = Sinks.empty();
+        Mono<Void> input = socket.receive()
+                .delaySubscription(joined.asMono())
+                .filter(frame -> frame.getType() == WebSocketMessage.Type.TEXT)
+                .concatMap(frame -> receive(sessionId, sender, frame.getPayloadAsText())
+                        .onErrorResume(e -> {
+                            replies.tryEmitNext(error(e));
+                            return Mono.empty();
+                        }))
+                .then();
+
+        Mono<Void> output = socket.send(chatRooms.join(sessionId, () -> joined.tryEmitEmpty())
+                .publish(room -> Flux.merge(room, replies.asFlux().takeUntilOther(room.then())))
+                .map(socket::textMessage));
+
+        // The room completes a socket that falls too far behind
+        return Mono.firstWithSignal(output.then(Mono.defer(() -> socket.close(CloseStatus.POLICY_VIOLATION))), input);
+    }
+
+    private Mono<Void> receive(Long sessionId, ChatSenderDto sender, String text) {
+        JsonNode frame;
+        try {
+            frame = objectMapper.readTree(text);
+        } catch (Exception e) {
+            return Mono.error(new IllegalArgumentException("Frame is not valid JSON"));
+        }
+        JsonNode payload = frame.path("payload");
+        String event = frame.path("event").asText();
+        return switch (event) {
+            case SEND_EVENT -> chatService.sendMessage(sessionId, sender, payload.path("text").asText(null)).then();
+            case SEND_TYPING_EVENT -> Mono.fromRunnable(
+                    () -> chatService.sendTyping(sessionId, sender, payload.path("isTyping").asBoolean()));
+            default -> Mono.error(new IllegalArgumentException("Unknown event: " + event));
+        };
+    }
+
+    private String error(Throwable e) {
+        String code;
+        if (e instanceof InvalidMessageException invalid) {
+            code = invalid.getError();
+        } else if (e instanceof ServiceBusyException) {
+            code = "service_busy";
+        } else if (e instanceof IllegalArgumentException) {
+            code = "bad_frame";
+        } else {
+            log.error("Chat frame failed: {}", e.getMessage());
+            code = "internal_error";
+        }
+        return chatService.frame(ERROR_EVENT, Map.of("error", code, "message", String.valueOf(e.getMessage())));
+    }
+
+    private static Long parseSessionId(String path) {
+        try {
+            return Long.valueOf(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
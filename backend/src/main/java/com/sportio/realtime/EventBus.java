@@ -0,0 +1,271 @@
+package com.sportio.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of real-time events between nodes, over an {@link EventBusBackend}.
+ * Publishes are queued and sent every {@code events.bus.flush-interval}, or once
+ * {@code events.bus.batch-size} are waiting, with all events for one channel
+ * in a batch travelling as a single backend message. Subscriptions are shared: a
+ * node listens to a channel once, however many local subscribers it has, and stops
+ * listening when the last one leaves. Every event carries its publish time, so the
+ * time to reach each subscribing node is measured.
+ *
+ * <p>Delivery is at most once. Events published while a node is not yet listening,
+ * or that overflow {@code events.bus.max-pending}, are lost. A channel whose backend
+ * subscription fails is resubscribed with backoff for as long as it has subscribers;
+ * events published in the meantime are lost too.
+ */
+@Component
+@Slf4j
+public class EventBus {
+
+    private static final TypeReference<List<Envelope>> BATCH_TYPE = new TypeReference<>() {
+    };
+
+    private final EventBusBackend backend;
+    private final ObjectMapper objectMapper;
+    private final int maxPending;
+    private final Sinks.Many<Outgoing> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Disposable publisher;
+    private final DistributionSummary batchSizes;
+    private final Timer deliveryTimer;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Duration minReconnectBackoff;
+    private final Duration maxReconnectBackoff;
+
+    public EventBus(
+            EventBusBackend backend,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${events.bus.batch-size:256}") int batchSize,
+            @Value("${events.bus.flush-interval:2ms}") Duration flushInterval,
+            @Value("${events.bus.max-pending:100000}") int maxPending,
+            @Value("${events.listener.min-reconnect-backoff:1s}") Duration minReconnectBackoff,
+            @Value("${events.listener.max-reconnect-backoff:30s}") Duration maxReconnectBackoff) {
+        this.backend = backend;
+        this.objectMapper = objectMapper;
+        this.maxPending = maxPending;
+        this.minReconnectBackoff = minReconnectBackoff;
+        this.maxReconnectBackoff = maxReconnectBackoff;
+        this.batchSizes = DistributionSummary.builder("sportio.bus.publish.batch.size")
+                .description("Events sent per flush of the publish queue")
+                .register(meterRegistry);
+        this.deliveryTimer = Timer.builder("sportio.bus.delivery")
+                .description("Time from an event being published to it reaching a subscribing node")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("sportio.bus.publish.dropped")
+                .description("Events refused because the publish queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("sportio.bus.publish.failed")
+                .description("Events lost because the backend rejected their batch")
+                .register(meterRegistry);
+        Gauge.builder("sportio.bus.publish.pending", pending, AtomicInteger::get)
+                .description("Events waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("sportio.bus.channels", channels, Map::size)
+                .description("Channels this node is listening to")
+                .register(meterRegistry);
+
+        this.publisher = queue.asFlux()
+                .bufferTimeout(batchSize, flushInterval, true)
+                .concatMap(this::send)
+                .subscribe(null, error -> log.error("Event bus publisher stopped: {}", error.getMessage()));
+    }
+
+    /**
+     * Queue an event for every subscriber of a channel on every node.
+     *
+     * @param channel the channel name
+     * @param message the serialized event
+     */
+    public void publish(String channel, String message) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        Sinks.EmitResult result;
+        // Sinks reject concurrent emissions instead of queueing them
+        synchronized (queue) {
+            result = queue.tryEmitNext(new Outgoing(channel, new Envelope(System.currentTimeMillis(), message)));
+        }
+        if (result.isFailure()) {
+            pending.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Subscribe to a channel's events.
+     *
+     * @param channel the channel name
+     * @return Flux of events published from now on, by any node
+     */
+    public Flux<Event> subscribe(String channel) {
+        return subscribe(channel, () -> {
+        });
+    }
+
+    /**
+     * Subscribe to a channel's events, and learn when this node starts receiving them.
+     *
+     * @param channel the channel name
+     * @param onListening run once this node is listening to the channel; events
+     *                    published after that reach the subscriber
+     * @return Flux of events published from now on, by any node
+     */
+    public Flux<Event> subscribe(String channel, Runnable onListening) {
+        return Flux.defer(() -> {
+                    Channel connected = connect(channel);
+                    return connected.sink.asFlux()
+                            .mergeWith(connected.listening.asMono().then(Mono.<Event>fromRunnable(onListening)));
+                })
+                .doFinally(signal -> release(channel));
+    }
+
+    @PreDestroy
+    public void stop() {
+        publisher.dispose();
+        channels.values().forEach(Channel::stop);
+    }
+
+    private Mono<Void> send(List<Outgoing> batch) {
+        batchSizes.record(batch.size());
+        Map<String, List<Envelope>> byChannel = new LinkedHashMap<>();
+        batch.forEach(outgoing -> byChannel.computeIfAbsent(outgoing.channel, c -> new ArrayList<>()).add(outgoing.envelope));
+        return Flux.fromIterable(byChannel.entrySet())
+                .concatMap(entry -> Mono.fromCallable(() -> objectMapper.writeValueAsString(entry.getValue()))
+                        .flatMap(payload -> backend.publish(entry.getKey(), payload))
+                        .onErrorResume(error -> {
+                            failed.increment(entry.getValue().size());
+                            log.warn("Dropped {} events for channel {}: {}", entry.getValue().size(), entry.getKey(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> pending.addAndGet(-batch.size()))
+                .then();
+    }
+
+    private void receive(Channel channel, String payload) {
+        List<Envelope> envelopes;
+        try {
+            envelopes = objectMapper.readValue(payload, BATCH_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed event batch on {}: {}", channel.name, e.getMessage());
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // Sinks reject concurrent emissions instead of queueing them
+        synchronized (channel) {
+            for (Envelope envelope : envelopes) {
+                deliveryTimer.record(Math.max(0, now - envelope.publishedAt), TimeUnit.MILLISECONDS);
+                channel.sink.tryEmitNext(new Event(envelope.message, envelope.publishedAt));
+            }
+        }
+    }
+
+    private Channel connect(String name) {
+        Channel channel = channels.compute(name, (key, existing) -> {
+            Channel current = existing != null ? existing : new Channel(name);
+            current.subscribers++;
+            return current;
+        });
+        channel.start();
+        return channel;
+    }
+
+    private void release(String name) {
+        Channel[] removed = new Channel[1];
+        channels.computeIfPresent(name, (key, channel) -> {
+            if (--channel.subscribers > 0) {
+                return channel;
+            }
+            removed[0] = channel;
+            return null;
+        });
+        if (removed[0] != null) {
+            removed[0].stop();
+        }
+    }
+
+    /**
+     * An event received from the bus.
+     *
+     * @param message the serialized event
+     * @param publishedAt when it was published, in epoch milliseconds of the publishing node
+     */
+    public record Event(String message, long publishedAt) {
+    }
+
+    private record Outgoing(String channel, Envelope envelope) {
+    }
+
+    private record Envelope(long publishedAt, String message) {
+    }
+
+    private final class Channel {
+
+        private final String name;
+        private final Sinks.Many<Event> sink = Sinks.many().multicast().directBestEffort();
+        // Completed once the backend subscription is first active
+        private final Sinks.Empty<Void> listening = Sinks.empty();
+        // Guarded by the map entry's lock
+        private int subscribers;
+        // Guarded by this
+        private Disposable listener;
+        private boolean stopped;
+
+        private Channel(String name) {
+            this.name = name;
+        }
+
+        private synchronized void start() {
+            if (listener == null && !stopped) {
+                listener = Mono.defer(() -> backend.listen(name))
+                        .flatMapMany(payloads -> payloads.doOnSubscribe(subscription -> listening.tryEmitEmpty()))
+                        .retryWhen(Retry.backoff(Long.MAX_VALUE, minReconnectBackoff)
+                                .maxBackoff(maxReconnectBackoff)
+                                .transientErrors(true)
+                                .doBeforeRetry(signal -> log.warn("Listener of {} failed, resubscribing: {}",
+                                        name, signal.failure().getMessage())))
+                        .subscribe(payload -> receive(this, payload));
+            }
+        }
+
+        private synchronized void stop() {
+            stopped = true;
+            if (listener != null) {
+                listener.dispose();
+            }
+        }
+    }
+}
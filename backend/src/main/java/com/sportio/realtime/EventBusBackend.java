@@ -0,0 +1,29 @@
+package com.sportio.realtime;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport under {@link EventBus}. Payloads are opaque strings; batching,
+ * subscription sharing and metrics are left to the bus.
+ */
+public interface EventBusBackend {
+
+    /**
+     * Send a payload to every node subscribed to a channel, including this one.
+     *
+     * @param channel the channel name
+     * @param payload the serialized payload
+     * @return Mono completing once sent
+     */
+    Mono<Void> publish(String channel, String payload);
+
+    /**
+     * Subscribe to the payloads published to a channel by any node.
+     *
+     * @param channel the channel name
+     * @return Mono emitting, once the subscription is active, the Flux of payloads
+     *         published from then on; cancelling that Flux unsubscribes
+     */
+    Mono<Flux<String>> listen(String channel);
+}
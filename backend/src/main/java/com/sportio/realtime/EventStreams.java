@@ -0,0 +1,141 @@
+package com.sportio.realtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event streams keyed by an ID, such as a user or a session.
+ * Each key with an open stream has one multicast sink shared by all of its
+ * connections; it is created by the first subscriber and removed with the last.
+ * Every connection may fall behind by at most {@code clientBufferSize} events; a
+ * connection that falls further behind is completed and the client has to reconnect,
+ * so a slow reader never holds up the sender or grows an unbounded buffer. A comment
+ * line every heartbeat interval keeps idle connections open through proxies.
+ */
+@Slf4j
+public class EventStreams {
+
+    private final String name;
+    private final Duration heartbeatInterval;
+    private final int clientBufferSize;
+    private final Map<Long, KeySink> sinks = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter dropped;
+    private final Counter disconnected;
+
+    /**
+     * @param name stream name, used as the {@code stream} tag of the metrics
+     * @param heartbeatInterval time between heartbeats
+     * @param clientBufferSize events a connection may fall behind before it is closed
+     * @param meterRegistry registry for the stream metrics
+     */
+    public EventStreams(String name, Duration heartbeatInterval, int clientBufferSize, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.heartbeatInterval = heartbeatInterval;
+        this.clientBufferSize = clientBufferSize;
+        this.dropped = Counter.builder("sportio.events.dropped")
+                .description("Events with no open stream to deliver them to")
+                .tag("stream", name)
+                .register(meterRegistry);
+        this.disconnected = Counter.builder("sportio.events.slow-disconnects")
+                .description("Connections closed because they fell too far behind")
+                .tag("stream", name)
+                .register(meterRegistry);
+        Gauge.builder("sportio.events.connections", connections, AtomicInteger::get)
+                .description("Open event stream connections")
+                .tag("stream", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of a key's events.
+     *
+     * @param key the stream key
+     * @return Flux of events interleaved with heartbeats
+     */
+    public Flux<ServerSentEvent<Object>> stream(Long key) {
+        Flux<ServerSentEvent<Object>> events = Flux.defer(() -> connect(key).sink.asFlux());
+        Flux<ServerSentEvent<Object>> heartbeats = Flux.interval(heartbeatInterval)
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.builder().comment("heartbeat").build());
+        return Flux.defer(() -> {
+            // Completes the connection at once, without waiting for the client to drain its backlog
+            Sinks.Empty<Void> overflowed = Sinks.empty();
+            return Flux.merge(events, heartbeats)
+                    .onBackpressureBuffer(clientBufferSize, event -> {
+                        if (overflowed.tryEmitEmpty().isSuccess()) {
+                            disconnected.increment();
+                            log.debug("Closing slow {} stream of {}", name, key);
+                        }
+                    }, BufferOverflowStrategy.DROP_LATEST)
+                    .takeUntilOther(overflowed.asMono());
+        })
+                .doFinally(signal -> release(key));
+    }
+
+    /**
+     * Send an event to every open connection of a key.
+     *
+     * @param key the stream key
+     * @param event the event name
+     * @param data the event payload
+     */
+    public void send(Long key, String event, Object data) {
+        KeySink keySink = sinks.get(key);
+        if (keySink == null) {
+            dropped.increment();
+            return;
+        }
+        emit(keySink, ServerSentEvent.builder(data).event(event).build());
+    }
+
+    /**
+     * Send an event to every open connection of every key.
+     *
+     * @param event the event name
+     * @param data the event payload
+     */
+    public void sendToAll(String event, Object data) {
+        ServerSentEvent<Object> sse = ServerSentEvent.builder(data).event(event).build();
+        sinks.values().forEach(keySink -> emit(keySink, sse));
+    }
+
+    private void emit(KeySink keySink, ServerSentEvent<Object> event) {
+        // Sinks reject concurrent emissions instead of queueing them
+        synchronized (keySink) {
+            keySink.sink.tryEmitNext(event);
+        }
+    }
+
+    private KeySink connect(Long key) {
+        connections.incrementAndGet();
+        return sinks.compute(key, (id, existing) -> {
+            KeySink keySink = existing != null ? existing : new KeySink();
+            keySink.connections++;
+            return keySink;
+        });
+    }
+
+    private void release(Long key) {
+        connections.decrementAndGet();
+        sinks.computeIfPresent(key, (id, keySink) -> --keySink.connections > 0 ? keySink : null);
+    }
+
+    private static final class KeySink {
+
+        private final Sinks.Many<ServerSentEvent<Object>> sink = Sinks.many().multicast().directBestEffort();
+        // Guarded by the map entry's lock
+        private int connections;
+    }
+}
@@ -0,0 +1,53 @@
+package com.sportio.realtime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for {@link RedisEventBusBackend}, for single-node setups and
+ * tests that run without Redis. Payloads reach subscribers in the same JVM only.
+ * Listeners are kept per channel, so a publish touches only that channel's listeners.
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventBusBackend implements EventBusBackend {
+
+    private final Map<String, Set<Sinks.Many<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> publish(String channel, String payload) {
+        return Mono.fromRunnable(() -> {
+            Set<Sinks.Many<String>> sinks = listeners.get(channel);
+            if (sinks == null) {
+                return;
+            }
+            // Sinks reject concurrent emission; retry until the competing emitter is done
+            sinks.forEach(sink -> sink.emitNext(payload, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1))));
+        });
+    }
+
+    @Override
+    public Mono<Flux<String>> listen(String channel) {
+        return Mono.fromSupplier(() -> {
+            // Buffers what is published between registering and being subscribed to
+            Sinks.Many<String> sink = Sinks.many().unicast().onBackpressureBuffer();
+            listeners.compute(channel, (key, sinks) -> {
+                Set<Sinks.Many<String>> current = sinks != null ? sinks : ConcurrentHashMap.newKeySet();
+                current.add(sink);
+                return current;
+            });
+            return sink.asFlux().doFinally(signal -> listeners.computeIfPresent(channel, (key, sinks) -> {
+                sinks.remove(sink);
+                return sinks.isEmpty() ? null : sinks;
+            }));
+        });
+    }
+}
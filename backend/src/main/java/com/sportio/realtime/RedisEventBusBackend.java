@@ -0,0 +1,49 @@
+package com.sportio.realtime;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Event bus transport over Redis pub/sub.
+ * All channels of a node share one listener container, and so one Redis
+ * connection, however many channels are subscribed.
+ */
+@Component
+@ConditionalOnProperty(name = "events.bus.backend", havingValue = "redis")
+public class RedisEventBusBackend implements EventBusBackend {
+
+    private static final String CHANNEL_PREFIX = "events:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveRedisMessageListenerContainer listenerContainer;
+
+    public RedisEventBusBackend(ReactiveStringRedisTemplate redisTemplate, ReactiveRedisConnectionFactory connectionFactory) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = new ReactiveRedisMessageListenerContainer(connectionFactory);
+    }
+
+    @Override
+    public Mono<Void> publish(String channel, String payload) {
+        return redisTemplate.convertAndSend(CHANNEL_PREFIX + channel, payload).then();
+    }
+
+    @Override
+    public Mono<Flux<String>> listen(String channel) {
+        // Emits once Redis has confirmed the SUBSCRIBE
+        return listenerContainer.receiveLater(ChannelTopic.of(CHANNEL_PREFIX + channel))
+                .map(messages -> messages.map(ReactiveSubscription.Message::getMessage));
+    }
+
+    @PreDestroy
+    public void stop() {
+        listenerContainer.destroy();
+    }
+}
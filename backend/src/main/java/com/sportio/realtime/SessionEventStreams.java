@@ -0,0 +1,148 @@
+package com.sportio.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.dto.LobbyPlayerChangeDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-sent event streams of live lobby changes, one stream per session.
+ * The database announces every change to session_players on the
+ * {@value #CHANNEL} channel. Each node holds a single dedicated connection that
+ * LISTENs to it, outside the R2DBC pool, and fans the notifications out to the open
+ * streams of the affected session, however many clients are connected. If the
+ * connection drops it is reopened with backoff, and every stream is told to reload,
+ * since notifications sent in between are lost.
+ */
+@Component
+@Slf4j
+public class SessionEventStreams {
+
+    public static final String CHANNEL = "session_players_changed";
+    public static final String PLAYER_CHANGED = "lobby:player";
+    public static final String RESYNC = "lobby:resync";
+
+    private final ConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final EventStreams streams;
+    private final Duration minReconnectBackoff;
+    private final Duration maxReconnectBackoff;
+    private final Counter received;
+    private volatile Disposable listener;
+
+    public SessionEventStreams(
+            ConnectionFactory connectionFactory,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${events.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${events.client-buffer-size:32}") int clientBufferSize,
+            @Value("${events.listener.min-reconnect-backoff:1s}") Duration minReconnectBackoff,
+            @Value("${events.listener.max-reconnect-backoff:30s}") Duration maxReconnectBackoff) {
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.streams = new EventStreams("session", heartbeatInterval, clientBufferSize, meterRegistry);
+        this.minReconnectBackoff = minReconnectBackoff;
+        this.maxReconnectBackoff = maxReconnectBackoff;
+        this.received = Counter.builder("sportio.events.notifications")
+                .description("Database notifications received on the lobby channel")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of a session's lobby changes.
+     *
+     * @param sessionId the session's ID
+     * @return Flux of events interleaved with heartbeats
+     */
+    public Flux<ServerSentEvent<Object>> stream(Long sessionId) {
+        return streams.stream(sessionId);
+    }
+
+    /**
+     * Open the listening connection and keep it open until shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        PostgresqlConnectionFactory postgres = unwrap(connectionFactory);
+        if (postgres == null) {
+            log.warn("Live lobby updates disabled: {} is not a PostgreSQL connection factory", connectionFactory);
+            return;
+        }
+        AtomicBoolean listenedBefore = new AtomicBoolean();
+        listener = Flux.usingWhen(
+                        postgres.create(),
+                        // Subscribed to notifications before LISTEN, so none sent right after it are missed
+                        connection -> Flux.merge(
+                                connection.getNotifications(),
+                                connection.createStatement("LISTEN " + CHANNEL)
+                                        .execute()
+                                        .flatMap(PostgresqlResult::getRowsUpdated)
+                                        .then()
+                                        .doOnSuccess(done -> {
+                                            log.info("Listening for lobby changes on {}", CHANNEL);
+                                            if (listenedBefore.getAndSet(true)) {
+                                                streams.sendToAll(RESYNC, Map.of());
+                                            }
+                                        })
+                                        .then(Mono.<Notification>empty())),
+                        PostgresqlConnection::close)
+                .doOnNext(this::dispatch)
+                // The notification stream ends when the server closes the connection
+                .repeat()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, minReconnectBackoff)
+                        .maxBackoff(maxReconnectBackoff)
+                        .transientErrors(true)
+                        .doBeforeRetry(signal -> log.warn("Lobby change listener failed, reconnecting: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = listener;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void dispatch(Notification notification) {
+        received.increment();
+        try {
+            LobbyPlayerChangeDto change = objectMapper.readValue(notification.getParameter(), LobbyPlayerChangeDto.class);
+            streams.send(change.getSessionId(), PLAYER_CHANGED, change);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.warn("Ignoring malformed lobby notification '{}': {}", notification.getParameter(), e.getMessage());
+        }
+    }
+
+    private static PostgresqlConnectionFactory unwrap(ConnectionFactory factory) {
+        // The pool wraps the driver's factory; the listener must not hold a pooled connection
+        while (!(factory instanceof PostgresqlConnectionFactory) && factory instanceof Wrapped<?> wrapped
+                && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            factory = inner;
+        }
+        return factory instanceof PostgresqlConnectionFactory postgres ? postgres : null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.sportio.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.event.WaitlistPromotedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Server-sent event streams of notifications addressed to one user, such as a
+ * promotion from a waitlist.
+ * A user may be connected to any node, so notifications travel over the
+ * {@value #CHANNEL} {@link EventBus} channel, which every node listens to, and
+ * are delivered by the node holding the user's streams.
+ */
+@Component
+@Slf4j
+public class UserEventStreams {
+
+    public static final String CHANNEL = "user-events";
+    public static final String WAITLIST_PROMOTED = "waitlist:promoted";
+    public static final String NOTIFICATION_NEW = "notification:new";
+
+    private final EventStreams streams;
+    private final EventBus eventBus;
+    private final ObjectMapper objectMapper;
+    private volatile Disposable listener;
+
+    public UserEventStreams(
+            EventBus eventBus,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${events.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${events.client-buffer-size:32}") int clientBufferSize) {
+        this.streams = new EventStreams("user", heartbeatInterval, clientBufferSize, meterRegistry);
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Open a stream of a user's events.
+     *
+     * @param userId the user's ID
+     * @return Flux of events interleaved with heartbeats
+     */
+    public Flux<ServerSentEvent<Object>> stream(Long userId) {
+        return streams.stream(userId);
+    }
+
+    /**
+     * Send an event to a user's streams on whichever node holds them.
+     *
+     * @param userId the user's ID
+     * @param event the event name
+     * @param data the event data, serialized as JSON
+     */
+    public void publish(Long userId, String event, Object data) {
+        try {
+            eventBus.publish(CHANNEL, objectMapper.writeValueAsString(Map.of("userId", userId, "event", event, "data", data)));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize {} event for user {}: {}", event, userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Tell a promoted user they now hold a seat.
+     *
+     * @param event the promotion
+     */
+    @EventListener
+    public void onWaitlistPromoted(WaitlistPromotedEvent event) {
+        publish(event.userId(), WAITLIST_PROMOTED, Map.of("sessionId", event.sessionId()));
+    }
+
+    /**
+     * Listen for notifications published by any node until shutdown.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listener = eventBus.subscribe(CHANNEL)
+                .subscribe(event -> dispatch(event.message()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = listener;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private void dispatch(String message) {
+        try {
+            JsonNode notification = objectMapper.readTree(message);
+            streams.send(notification.path("userId").asLong(), notification.path("event").asText(), notification.path("data"));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed user event '{}': {}", message, e.getMessage());
+        }
+    }
+}
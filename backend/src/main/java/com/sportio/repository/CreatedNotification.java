@@ -0,0 +1,11 @@
+package com.sportio.repository;
+
+/**
+ * A notification row written for one recipient.
+ *
+ * @param id the notification's ID
+ * @param userId the recipient's ID
+ * @param unread the recipient's unread count after the insert
+ */
+public record CreatedNotification(Long id, Long userId, int unread) {
+}
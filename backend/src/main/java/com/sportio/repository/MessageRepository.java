@@ -0,0 +1,48 @@
+package com.sportio.repository;
+
+import com.sportio.entity.Message;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Repository for Message entity operations.
+ */
+@Repository
+public interface MessageRepository extends R2dbcRepository<Message, Long>, MessageRepositoryCustom {
+
+    /**
+     * Take the next worker number for this node's message IDs.
+     *
+     * @return Mono with the worker number
+     */
+    @Query("SELECT nextval('message_worker_seq')")
+    Mono<Long> nextWorkerNumber();
+
+    /**
+     * Create the partition holding one month of messages, if it does not exist yet.
+     *
+     * @param month any day of the month, in UTC
+     * @return Mono with the partition's name
+     */
+    @Query("SELECT create_message_partition(:month)")
+    Mono<String> createPartition(LocalDate month);
+
+    /**
+     * Names of the monthly partitions attached to the messages table.
+     *
+     * @return Flux of partition names, such as messages_2025_01
+     */
+    @Query("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'messages'::regclass
+            ORDER BY c.relname
+            """)
+    Flux<String> findPartitionNames();
+}
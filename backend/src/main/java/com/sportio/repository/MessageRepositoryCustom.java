@@ -0,0 +1,44 @@
+package com.sportio.repository;
+
+import com.sportio.dto.ChatMessageDto;
+import com.sportio.entity.Message;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Custom query fragment for {@link MessageRepository} whose SQL depends on the
+ * arguments, which derived and {@code @Query} methods cannot express.
+ */
+public interface MessageRepositoryCustom {
+
+    /**
+     * Insert messages with one multi-row {@code INSERT}. Messages already written, e.g.
+     * by a retried batch, are skipped.
+     *
+     * @param messages the messages, with their IDs assigned
+     * @return Mono with the number of inserted rows
+     */
+    Mono<Long> insertAll(List<Message> messages);
+
+    /**
+     * Find one page of a session's messages, newest first, seeking on (session_id, id)
+     * so every page costs the same however far back it is.
+     *
+     * @param sessionId the session's ID
+     * @param beforeId only messages with a smaller ID are returned
+     * @param limit maximum number of messages
+     * @return Flux of messages with their senders
+     */
+    Flux<ChatMessageDto> findHistory(Long sessionId, long beforeId, int limit);
+
+    /**
+     * Detach a monthly partition from the messages table and drop it.
+     *
+     * @param partitionName the partition's name, as returned by
+     *                      {@link MessageRepository#findPartitionNames()}
+     * @return Mono completing once dropped
+     */
+    Mono<Void> dropPartition(String partitionName);
+}
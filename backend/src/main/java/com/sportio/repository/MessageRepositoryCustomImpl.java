@@ -0,0 +1,111 @@
+package com.sportio.repository;
+
+import com.sportio.dto.ChatMessageDto;
+import com.sportio.dto.ChatSenderDto;
+import com.sportio.entity.Message;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@link DatabaseClient} implementation of {@link MessageRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class MessageRepositoryCustomImpl implements MessageRepositoryCustom {
+
+    private static final String INSERT_PREFIX = "INSERT INTO messages (id, session_id, sender_id, text, is_system, created_at) VALUES ";
+
+    private static final String HISTORY_SQL = """
+            SELECT m.id, m.session_id, m.sender_id, m.text, m.is_system, m.created_at,
+                   u.full_name, u.avatar_initials
+            FROM messages m
+            LEFT JOIN users u ON u.id = m.sender_id
+            WHERE m.session_id = :sessionId AND m.id < :beforeId
+            ORDER BY m.id DESC
+            LIMIT :limit
+            """;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("messages_\\d{4}_\\d{2}");
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> insertAll(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return Mono.just(0L);
+        }
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + messages.size() * 64).append(INSERT_PREFIX);
+        for (int i = 0; i < messages.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:id").append(i)
+                    .append(", :sessionId").append(i)
+                    .append(", :senderId").append(i)
+                    .append(", :text").append(i)
+                    .append(", :isSystem").append(i)
+                    .append(", :createdAt").append(i)
+                    .append(')');
+        }
+        sql.append(" ON CONFLICT (id) DO NOTHING");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            spec = spec.bind("id" + i, message.getId())
+                    .bind("sessionId" + i, message.getSessionId())
+                    .bind("text" + i, message.getText())
+                    .bind("isSystem" + i, Boolean.TRUE.equals(message.getIsSystem()))
+                    .bind("createdAt" + i, message.getCreatedAt());
+            spec = message.getSenderId() != null
+                    ? spec.bind("senderId" + i, message.getSenderId())
+                    : spec.bindNull("senderId" + i, Long.class);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    @Override
+    public Flux<ChatMessageDto> findHistory(Long sessionId, long beforeId, int limit) {
+        return databaseClient.sql(HISTORY_SQL)
+                .bind("sessionId", sessionId)
+                .bind("beforeId", beforeId)
+                .bind("limit", limit)
+                .map(this::mapMessage)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> dropPartition(String partitionName) {
+        // Identifiers cannot be bound, so only names in the partition format are accepted
+        if (!PARTITION_NAME.matcher(partitionName).matches()) {
+            return Mono.error(new IllegalArgumentException("Not a message partition: " + partitionName));
+        }
+        // CONCURRENTLY waits out running queries instead of blocking them; it must run outside a transaction
+        return databaseClient.sql("ALTER TABLE messages DETACH PARTITION " + partitionName + " CONCURRENTLY")
+                .then()
+                .then(databaseClient.sql("DROP TABLE " + partitionName).then());
+    }
+
+    private ChatMessageDto mapMessage(Readable row) {
+        Long senderId = row.get("sender_id", Long.class);
+        ChatSenderDto sender = senderId == null ? null : ChatSenderDto.builder()
+                .id(senderId)
+                .name(row.get("full_name", String.class))
+                .avatarInitials(row.get("avatar_initials", String.class))
+                .build();
+        return ChatMessageDto.builder()
+                .id(row.get("id", Long.class))
+                .sessionId(row.get("session_id", Long.class))
+                .sender(sender)
+                .text(row.get("text", String.class))
+                .timestamp(row.get("created_at", LocalDateTime.class))
+                .isSystem(row.get("is_system", Boolean.class))
+                .build();
+    }
+}
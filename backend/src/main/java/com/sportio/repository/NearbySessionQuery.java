@@ -0,0 +1,28 @@
+package com.sportio.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Parameters of a nearby-sessions search.
+ *
+ * @param latitude latitude of the search point
+ * @param longitude longitude of the search point
+ * @param radiusMeters search radius in meters
+ * @param sportType sport to match, or null for any
+ * @param fromDate earliest session date, inclusive
+ * @param toDate latest session date, inclusive, or null for no upper bound
+ * @param afterDistance distance of the last entry already returned, or null for the first page
+ * @param afterSessionId session ID of the last entry already returned, or null for the first page
+ * @param limit maximum number of rows, or null for no limit
+ */
+public record NearbySessionQuery(
+        double latitude,
+        double longitude,
+        double radiusMeters,
+        String sportType,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Double afterDistance,
+        Long afterSessionId,
+        Integer limit) {
+}
@@ -0,0 +1,77 @@
+package com.sportio.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * SQL of the nearby-sessions search.
+ *
+ * <p>The location expression is written exactly as in {@code idx_sessions_location},
+ * so both the {@code ST_DWithin} radius filter and the {@code <->} KNN ordering are
+ * answered by the GiST index. Pages continue after the (distance, id) of the last row.
+ *
+ * <p>The radius filter measures on the sphere ({@code use_spheroid = false}), as the
+ * {@code <->} ordering and {@link com.sportio.cache.SessionGridIndex} do, so a session
+ * near the edge of the radius is found by either search path or by neither.
+ */
+public final class NearbySessionSql {
+
+    private static final String LOCATION = "CAST(ST_MakePoint(s.longitude, s.latitude) AS geography)";
+    private static final String ORIGIN = "CAST(ST_MakePoint(:lng, :lat) AS geography)";
+    private static final String DISTANCE = LOCATION + " <-> " + ORIGIN;
+
+    private NearbySessionSql() {
+    }
+
+    /**
+     * Build and bind the search statement.
+     *
+     * @param databaseClient the client to run the statement on
+     * @param prefix text put before the statement, e.g. {@code "EXPLAIN "}, or empty
+     * @param query the search parameters
+     * @return the bound statement
+     */
+    public static DatabaseClient.GenericExecuteSpec prepare(DatabaseClient databaseClient, String prefix, NearbySessionQuery query) {
+        boolean afterCursor = query.afterDistance() != null && query.afterSessionId() != null;
+
+        StringBuilder sql = new StringBuilder(prefix)
+                .append("SELECT s.id, s.host_id, s.sport_type, s.title, s.date, s.time_start, s.time_end, ")
+                .append("s.players_needed, s.status, s.latitude, s.longitude, ")
+                .append(DISTANCE).append(" AS distance_meters\n")
+                .append("FROM sessions s\n")
+                .append("WHERE ST_DWithin(").append(LOCATION).append(", ").append(ORIGIN).append(", :radius, false)\n")
+                .append("AND s.status = 'open' AND s.visibility = 'public' AND s.date >= :fromDate\n");
+        if (query.toDate() != null) {
+            sql.append("AND s.date <= :toDate\n");
+        }
+        if (query.sportType() != null) {
+            sql.append("AND s.sport_type = :sportType\n");
+        }
+        if (afterCursor) {
+            sql.append("AND (").append(DISTANCE).append(", s.id) > (:afterDistance, :afterSessionId)\n");
+        }
+        sql.append("ORDER BY ").append(DISTANCE).append(", s.id");
+        if (query.limit() != null) {
+            sql.append("\nLIMIT :limit");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("lat", query.latitude())
+                .bind("lng", query.longitude())
+                .bind("radius", query.radiusMeters())
+                .bind("fromDate", query.fromDate());
+        if (query.toDate() != null) {
+            spec = spec.bind("toDate", query.toDate());
+        }
+        if (query.sportType() != null) {
+            spec = spec.bind("sportType", query.sportType());
+        }
+        if (afterCursor) {
+            spec = spec.bind("afterDistance", query.afterDistance())
+                    .bind("afterSessionId", query.afterSessionId());
+        }
+        if (query.limit() != null) {
+            spec = spec.bind("limit", query.limit());
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sportio.repository;
+
+/**
+ * Content of a notification about to be sent to one or more users.
+ *
+ * @param type notification type, such as player_joined
+ * @param title short title
+ * @param body text shown under the title
+ * @param actionUrl deeplink opened when the notification is tapped, or null
+ */
+public record NotificationDraft(String type, String title, String body, String actionUrl) {
+}
@@ -0,0 +1,67 @@
+package com.sportio.repository;
+
+import com.sportio.entity.Notification;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for Notification entity operations.
+ * A notification is read if its is_read flag is set or its ID is at most the
+ * read_through mark of the user's notification_counters row; the row's unread column
+ * counts the others.
+ */
+@Repository
+public interface NotificationRepository extends R2dbcRepository<Notification, Long>, NotificationRepositoryCustom {
+
+    /**
+     * Get a user's unread count from their counter.
+     *
+     * @param userId the user's ID
+     * @return Mono with the count, or empty if the user never had a notification
+     */
+    @Query("SELECT unread FROM notification_counters WHERE user_id = :userId")
+    Mono<Integer> findUnreadCount(Long userId);
+
+    /**
+     * Lock a user's counter until the end of the transaction. Notifications are only
+     * given IDs under this lock, so concurrent inserts are either committed and visible
+     * to the following statements or wait, and get higher IDs.
+     *
+     * @param userId the user's ID
+     * @return Mono with the unread count, or empty if the user has no counter
+     */
+    @Query("SELECT unread FROM notification_counters WHERE user_id = :userId FOR UPDATE")
+    Mono<Integer> lockUnreadCount(Long userId);
+
+    /**
+     * Mark every notification of a user read by moving read_through to their newest
+     * notification. Touches the counter row only, however many notifications are unread.
+     *
+     * @param userId the user's ID
+     * @param now the update time
+     * @return Mono with the number of updated counters
+     */
+    @Modifying
+    @Query("""
+            UPDATE notification_counters
+            SET unread = 0,
+                read_through = (SELECT COALESCE(MAX(id), 0) FROM notifications WHERE user_id = :userId),
+                updated_at = :now
+            WHERE user_id = :userId
+            """)
+    Mono<Integer> markAllRead(Long userId, LocalDateTime now);
+
+    /**
+     * Check that a notification belongs to a user.
+     *
+     * @param id the notification's ID
+     * @param userId the user's ID
+     * @return Mono with true if it does
+     */
+    Mono<Boolean> existsByIdAndUserId(Long id, Long userId);
+}
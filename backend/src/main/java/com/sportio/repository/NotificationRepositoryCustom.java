@@ -0,0 +1,60 @@
+package com.sportio.repository;
+
+import com.sportio.dto.NotificationDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Custom query fragment for {@link NotificationRepository}. Notifications are written
+ * together with the recipients' unread counters, one statement per fan-out.
+ */
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Create one notification per user and add it to their unread counters.
+     *
+     * @param userIds the recipients; unknown users are skipped
+     * @param draft the notification content
+     * @param now the creation time
+     * @return Flux of the created notifications
+     */
+    Flux<CreatedNotification> insertForUsers(List<Long> userIds, NotificationDraft draft, LocalDateTime now);
+
+    /**
+     * Create one notification per player who has joined a session and add it to their
+     * unread counters.
+     *
+     * @param sessionId the session's ID
+     * @param excludedUserIds players who are not notified, such as the one who caused it
+     * @param draft the notification content
+     * @param now the creation time
+     * @return Flux of the created notifications
+     */
+    Flux<CreatedNotification> insertForSessionMembers(Long sessionId, List<Long> excludedUserIds,
+                                                      NotificationDraft draft, LocalDateTime now);
+
+    /**
+     * Mark one unread notification read and take it off the user's counter.
+     *
+     * @param notificationId the notification's ID
+     * @param userId the owner's ID
+     * @param now the update time
+     * @return Mono with the new unread count, or empty if the notification was already
+     *         read or is not the user's
+     */
+    Mono<Integer> markRead(Long notificationId, Long userId, LocalDateTime now);
+
+    /**
+     * Find one page of a user's notifications, newest first.
+     *
+     * @param userId the user's ID
+     * @param unreadOnly whether to skip read notifications
+     * @param limit maximum number of notifications
+     * @param offset number of notifications to skip
+     * @return Flux of notifications
+     */
+    Flux<NotificationDto> findPage(Long userId, boolean unreadOnly, int limit, int offset);
+}
@@ -0,0 +1,158 @@
+package com.sportio.repository;
+
+import com.sportio.dto.NotificationDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@link DatabaseClient} implementation of {@link NotificationRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    // The recipients query is filled in. Counters are upserted, in user order so
+    // overlapping fan-outs lock them in the same order, before any notification ID is
+    // drawn: a user's IDs are only allocated under their counter's lock, so a read-all
+    // holding that lock never moves read_through past a notification still uncommitted
+    private static final String INSERT_SQL = """
+            WITH recipients AS (
+                %s
+            ), counted AS (
+                INSERT INTO notification_counters (user_id, unread, updated_at)
+                SELECT user_id, COUNT(*), :now
+                FROM recipients
+                GROUP BY user_id
+                ORDER BY user_id
+                ON CONFLICT (user_id) DO UPDATE
+                    SET unread = notification_counters.unread + EXCLUDED.unread,
+                        updated_at = EXCLUDED.updated_at
+                RETURNING user_id, unread
+            ), inserted AS (
+                INSERT INTO notifications (user_id, type, title, body, action_url, created_at)
+                SELECT r.user_id, :type, :title, :body, :actionUrl, :now
+                FROM recipients r
+                JOIN counted c ON c.user_id = r.user_id
+                RETURNING id, user_id
+            )
+            SELECT i.id, i.user_id, c.unread
+            FROM inserted i
+            JOIN counted c ON c.user_id = i.user_id
+            """;
+
+    private static final String USERS_INSERT_SQL = INSERT_SQL.formatted("""
+            SELECT u.id AS user_id FROM users u WHERE u.id = ANY(:userIds)
+            """);
+
+    private static final String SESSION_MEMBERS_INSERT_SQL = INSERT_SQL.formatted("""
+            SELECT sp.user_id
+                FROM session_players sp
+                WHERE sp.session_id = :sessionId AND sp.status = 'joined' AND sp.user_id <> ALL(:excludedUserIds)
+            """);
+
+    // The counter is locked before read_through is compared, so a concurrent read-all
+    // cannot cover the notification between the check and the decrement
+    private static final String MARK_READ_SQL = """
+            WITH counter AS (
+                SELECT user_id, read_through
+                FROM notification_counters
+                WHERE user_id = :userId
+                FOR UPDATE
+            ), marked AS (
+                UPDATE notifications n
+                SET is_read = TRUE
+                FROM counter
+                WHERE n.id = :notificationId AND n.user_id = counter.user_id AND NOT n.is_read
+                  AND n.id > counter.read_through
+                RETURNING n.user_id
+            )
+            UPDATE notification_counters c
+            SET unread = GREATEST(0, c.unread - 1), updated_at = :now
+            FROM marked
+            WHERE c.user_id = marked.user_id
+            RETURNING c.unread
+            """;
+
+    private static final String PAGE_SQL = """
+            SELECT n.id, n.type, n.title, n.body, n.action_url, n.created_at,
+                   n.is_read OR n.id <= COALESCE(c.read_through, 0) AS read
+            FROM notifications n
+            LEFT JOIN notification_counters c ON c.user_id = n.user_id
+            WHERE n.user_id = :userId
+              AND (NOT :unreadOnly OR (NOT n.is_read AND n.id > COALESCE(c.read_through, 0)))
+            ORDER BY n.id DESC
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<CreatedNotification> insertForUsers(List<Long> userIds, NotificationDraft draft, LocalDateTime now) {
+        if (userIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return insert(databaseClient.sql(USERS_INSERT_SQL)
+                .bind("userIds", userIds.toArray(Long[]::new)), draft, now);
+    }
+
+    @Override
+    public Flux<CreatedNotification> insertForSessionMembers(Long sessionId, List<Long> excludedUserIds,
+                                                             NotificationDraft draft, LocalDateTime now) {
+        return insert(databaseClient.sql(SESSION_MEMBERS_INSERT_SQL)
+                .bind("sessionId", sessionId)
+                .bind("excludedUserIds", excludedUserIds.toArray(Long[]::new)), draft, now);
+    }
+
+    @Override
+    public Mono<Integer> markRead(Long notificationId, Long userId, LocalDateTime now) {
+        return databaseClient.sql(MARK_READ_SQL)
+                .bind("notificationId", notificationId)
+                .bind("userId", userId)
+                .bind("now", now)
+                .map(row -> row.get("unread", Integer.class))
+                .one();
+    }
+
+    @Override
+    public Flux<NotificationDto> findPage(Long userId, boolean unreadOnly, int limit, int offset) {
+        return databaseClient.sql(PAGE_SQL)
+                .bind("userId", userId)
+                .bind("unreadOnly", unreadOnly)
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(this::mapNotification)
+                .all();
+    }
+
+    private Flux<CreatedNotification> insert(DatabaseClient.GenericExecuteSpec spec, NotificationDraft draft, LocalDateTime now) {
+        spec = spec.bind("type", draft.type())
+                .bind("title", draft.title())
+                .bind("body", draft.body())
+                .bind("now", now);
+        spec = draft.actionUrl() != null
+                ? spec.bind("actionUrl", draft.actionUrl())
+                : spec.bindNull("actionUrl", String.class);
+        return spec.map(row -> new CreatedNotification(
+                        row.get("id", Long.class),
+                        row.get("user_id", Long.class),
+                        row.get("unread", Integer.class)))
+                .all();
+    }
+
+    private NotificationDto mapNotification(Readable row) {
+        return NotificationDto.builder()
+                .id(row.get("id", Long.class))
+                .type(row.get("type", String.class))
+                .title(row.get("title", String.class))
+                .body(row.get("body", String.class))
+                .actionUrl(row.get("action_url", String.class))
+                .timestamp(row.get("created_at", LocalDateTime.class))
+                .read(row.get("read", Boolean.class))
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.sportio.repository;
+
+import com.sportio.entity.User;
+import com.sportio.entity.UserStats;
+
+/**
+ * Row returned by a profile update: the updated user and its statistics, read in the
+ * same statement.
+ *
+ * @param user the user as written
+ * @param stats the user's statistics, or null if the user has no stats row
+ */
+public record ProfileUpdateResult(User user, UserStats stats) {
+}
@@ -0,0 +1,18 @@
+package com.sportio.repository;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Change counters of a user's profile data, used to build ETags without reading the
+ * data itself.
+ */
+@Data
+@NoArgsConstructor
+public class ProfileVersions {
+
+    /** users.version, incremented by every profile write. */
+    private Long profileVersion;
+    /** user_stats.participation_version, incremented by every change to the user's sessions. */
+    private Long participationVersion;
+}
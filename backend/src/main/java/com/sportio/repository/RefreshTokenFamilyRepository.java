@@ -0,0 +1,75 @@
+package com.sportio.repository;
+
+import com.sportio.entity.RefreshTokenFamily;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for refresh token family operations.
+ */
+@Repository
+public interface RefreshTokenFamilyRepository extends R2dbcRepository<RefreshTokenFamily, UUID> {
+
+    /**
+     * Start a new family at generation 0.
+     *
+     * @param id the family ID
+     * @param userId the owning user's ID
+     * @param expiresAt when the family expires unless rotated
+     * @return Mono with the number of inserted rows
+     */
+    @Modifying
+    @Query("INSERT INTO refresh_token_families (id, user_id, generation, expires_at) VALUES (:id, :userId, 0, :expiresAt)")
+    Mono<Integer> insertFamily(UUID id, Long userId, LocalDateTime expiresAt);
+
+    /**
+     * Atomically move a live family from the presented generation to the next one.
+     * Matches nothing if the generation was already used, the family was revoked,
+     * or it has expired.
+     *
+     * @param id the family ID
+     * @param generation the generation carried by the presented token
+     * @param now the current time
+     * @param expiresAt the new family expiry
+     * @return Mono with the new generation and user claims, or empty if rotation was refused
+     */
+    @Query("""
+            UPDATE refresh_token_families f
+            SET generation = f.generation + 1, last_used_at = :now, expires_at = :expiresAt
+            FROM users u
+            WHERE f.id = :id AND f.generation = :generation AND f.revoked = FALSE
+              AND f.expires_at > :now AND u.id = f.user_id
+            RETURNING f.user_id, f.generation, u.email, u.full_name, u.token_version
+            """)
+    Mono<RefreshTokenRotation> rotate(UUID id, int generation, LocalDateTime now, LocalDateTime expiresAt);
+
+    /**
+     * Revoke a family so none of its tokens can be used again.
+     *
+     * @param id the family ID
+     * @return Mono with the number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE refresh_token_families SET revoked = TRUE WHERE id = :id")
+    Mono<Integer> revoke(UUID id);
+
+    /**
+     * Delete one batch of expired families.
+     *
+     * @param now the current time
+     * @param batchSize maximum number of rows to delete
+     * @return Mono with the number of deleted rows
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM refresh_token_families
+            WHERE id IN (SELECT id FROM refresh_token_families WHERE expires_at < :now LIMIT :batchSize)
+            """)
+    Mono<Integer> deleteExpiredBatch(LocalDateTime now, int batchSize);
+}
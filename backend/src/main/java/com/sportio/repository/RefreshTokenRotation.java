@@ -0,0 +1,19 @@
+package com.sportio.repository;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of rotating a refresh token family: the new generation plus the user
+ * claims needed to issue fresh tokens.
+ */
+@Data
+@NoArgsConstructor
+public class RefreshTokenRotation {
+
+    private Long userId;
+    private Integer generation;
+    private String email;
+    private String fullName;
+    private Integer tokenVersion;
+}
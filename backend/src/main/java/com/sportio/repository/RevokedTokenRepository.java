@@ -0,0 +1,73 @@
+package com.sportio.repository;
+
+import com.sportio.entity.RevokedToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Repository for revoked token operations.
+ */
+@Repository
+public interface RevokedTokenRepository extends R2dbcRepository<RevokedToken, UUID> {
+
+    /**
+     * Record a revoked token. Revoking the same token twice is a no-op.
+     *
+     * @param jti the token ID
+     * @param userId the token owner's ID
+     * @param expiresAt when the token expires
+     * @return Mono with the number of inserted rows
+     */
+    @Modifying
+    @Query("INSERT INTO revoked_tokens (jti, user_id, expires_at) VALUES (:jti, :userId, :expiresAt) ON CONFLICT (jti) DO NOTHING")
+    Mono<Integer> insertRevocation(UUID jti, Long userId, LocalDateTime expiresAt);
+
+    /**
+     * Check whether a token is revoked and not yet expired.
+     *
+     * @param jti the token ID
+     * @param now the current time
+     * @return Mono emitting true if the token is revoked
+     */
+    @Query("SELECT EXISTS (SELECT 1 FROM revoked_tokens WHERE jti = :jti AND expires_at > :now)")
+    Mono<Boolean> isRevoked(UUID jti, LocalDateTime now);
+
+    /**
+     * Stream the IDs of all revoked tokens that have not expired yet.
+     *
+     * @param now the current time
+     * @return Flux of token IDs
+     */
+    @Query("SELECT jti FROM revoked_tokens WHERE expires_at > :now")
+    Flux<UUID> findActiveJtis(LocalDateTime now);
+
+    /**
+     * Count revoked tokens that have not expired yet.
+     *
+     * @param now the current time
+     * @return Mono with the count
+     */
+    @Query("SELECT COUNT(*) FROM revoked_tokens WHERE expires_at > :now")
+    Mono<Long> countActive(LocalDateTime now);
+
+    /**
+     * Delete one batch of expired revocations.
+     *
+     * @param now the current time
+     * @param batchSize maximum number of rows to delete
+     * @return Mono with the number of deleted rows
+     */
+    @Modifying
+    @Query("""
+            DELETE FROM revoked_tokens
+            WHERE jti IN (SELECT jti FROM revoked_tokens WHERE expires_at < :now LIMIT :batchSize)
+            """)
+    Mono<Integer> deleteExpiredBatch(LocalDateTime now, int batchSize);
+}
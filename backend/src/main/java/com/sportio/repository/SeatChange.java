@@ -0,0 +1,21 @@
+package com.sportio.repository;
+
+/**
+ * Outcome of a join or leave statement.
+ *
+ * @param playerChanged whether the user's session_players row was inserted or changed
+ * @param playersJoined the session's joined count after the change, or null if the seat count was not changed
+ * @param playersNeeded the session's capacity, or null if the seat count was not changed
+ * @param promotedUserId the user promoted from the waitlist into the freed seat, or null
+ */
+public record SeatChange(boolean playerChanged, Integer playersJoined, Integer playersNeeded, Long promotedUserId) {
+
+    /**
+     * Whether the membership change and the seat count change both happened.
+     *
+     * @return true if the statement fully applied
+     */
+    public boolean applied() {
+        return playerChanged && playersJoined != null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.sportio.repository;
+
+import com.sportio.entity.Session;
+
+import java.util.List;
+
+/**
+ * A session moved to completed by the lifecycle job.
+ *
+ * @param session the session after the change
+ * @param playerIds users who had joined it and were credited with a game played
+ */
+public record SessionCompletion(Session session, List<Long> playerIds) {
+}
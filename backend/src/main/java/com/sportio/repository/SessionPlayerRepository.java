@@ -1,16 +1,20 @@
 package com.sportio.repository;
 
 import com.sportio.entity.SessionPlayer;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 /**
  * Repository for SessionPlayer entity operations.
  */
 @Repository
-public interface SessionPlayerRepository extends R2dbcRepository<SessionPlayer, Long> {
+public interface SessionPlayerRepository extends R2dbcRepository<SessionPlayer, Long>, SessionPlayerRepositoryCustom {
     
     /**
      * Find all session participations for a user.
@@ -44,5 +48,84 @@ public interface SessionPlayerRepository extends R2dbcRepository<SessionPlayer,
      * @return Mono of the session player entry if exists
      */
     Mono<SessionPlayer> findBySessionIdAndUserId(Long sessionId, Long userId);
-}
 
+    /**
+     * Put a user at the back of a full session's waitlist.
+     * Only sessions that are full, joinable and not yet started accept waitlisters; a
+     * user who has already joined or is already waiting is left as they are. The session
+     * row is share-locked, so a concurrent leave commits its seat change first.
+     *
+     * @param sessionId the session's ID
+     * @param userId the user's ID
+     * @param now the current time, compared with the session start
+     * @return Mono with the user's queue position, or empty if nothing was written
+     */
+    @Query("""
+            INSERT INTO session_players (session_id, user_id, is_host, status, joined_at, waitlist_position)
+            SELECT id, :userId, FALSE, 'waitlisted', CURRENT_TIMESTAMP, nextval('session_waitlist_seq')
+            FROM sessions
+            WHERE id = :sessionId
+            AND status IN ('pending', 'open', 'booked')
+            AND date + time_start > :now
+            AND players_joined >= players_needed
+            FOR SHARE
+            ON CONFLICT (session_id, user_id) DO UPDATE
+                SET status = 'waitlisted', waitlist_position = EXCLUDED.waitlist_position, joined_at = EXCLUDED.joined_at
+                WHERE session_players.status NOT IN ('joined', 'waitlisted')
+            RETURNING waitlist_position
+            """)
+    Mono<Long> joinWaitlist(Long sessionId, Long userId, LocalDateTime now);
+
+    /**
+     * Take a user off a session's waitlist.
+     *
+     * @param sessionId the session's ID
+     * @param userId the user's ID
+     * @return Mono with the number of updated rows
+     */
+    @Modifying
+    @Query("""
+            UPDATE session_players SET status = 'left', waitlist_position = NULL
+            WHERE session_id = :sessionId AND user_id = :userId AND status = 'waitlisted'
+            """)
+    Mono<Integer> leaveWaitlist(Long sessionId, Long userId);
+
+    /**
+     * Find the users at the front of a session's waitlist, first in line first.
+     *
+     * @param sessionId the session's ID
+     * @param limit maximum number of users
+     * @return Flux of user IDs
+     */
+    @Query("""
+            SELECT user_id FROM session_players
+            WHERE session_id = :sessionId AND status = 'waitlisted'
+            ORDER BY waitlist_position
+            LIMIT :limit
+            """)
+    Flux<Long> findWaitlistHead(Long sessionId, int limit);
+
+    /**
+     * Count the users waiting for a session.
+     *
+     * @param sessionId the session's ID
+     * @return Mono with the count
+     */
+    @Query("SELECT COUNT(*) FROM session_players WHERE session_id = :sessionId AND status = 'waitlisted'")
+    Mono<Long> countWaitlisted(Long sessionId);
+
+    /**
+     * Find a user's 1-based place in a session's waitlist.
+     *
+     * @param sessionId the session's ID
+     * @param userId the user's ID
+     * @return Mono with the place, or 0 if the user is not waiting
+     */
+    @Query("""
+            SELECT COUNT(*) FROM session_players ahead
+            JOIN session_players me ON me.session_id = ahead.session_id
+            WHERE me.session_id = :sessionId AND me.user_id = :userId AND me.status = 'waitlisted'
+            AND ahead.status = 'waitlisted' AND ahead.waitlist_position <= me.waitlist_position
+            """)
+    Mono<Long> findWaitlistPlace(Long sessionId, Long userId);
+}
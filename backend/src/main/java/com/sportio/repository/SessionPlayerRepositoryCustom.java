@@ -0,0 +1,26 @@
+package com.sportio.repository;
+
+import com.sportio.dto.SessionHistoryDto;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Custom query fragment for {@link SessionPlayerRepository} whose SQL depends on the
+ * arguments, which derived and {@code @Query} methods cannot express.
+ */
+public interface SessionPlayerRepositoryCustom {
+
+    /**
+     * Read a user's session history in one joined query, most recent session first.
+     * Rows are ordered by session date then session ID, both descending, so the
+     * (date, sessionId) of the last row is a stable keyset cursor for the next page.
+     *
+     * @param userId the user's ID
+     * @param beforeDate date of the last row already returned, or null for the first page
+     * @param beforeSessionId session ID of the last row already returned, or null for the first page
+     * @param limit maximum number of rows, or null for no limit
+     * @return Flux of history entries, streamed as the database returns them
+     */
+    Flux<SessionHistoryDto> findHistory(Long userId, LocalDate beforeDate, Long beforeSessionId, Integer limit);
+}
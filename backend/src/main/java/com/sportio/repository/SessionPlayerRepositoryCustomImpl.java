@@ -0,0 +1,68 @@
+package com.sportio.repository;
+
+import com.sportio.dto.SessionHistoryDto;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * {@link DatabaseClient} implementation of {@link SessionPlayerRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class SessionPlayerRepositoryCustomImpl implements SessionPlayerRepositoryCustom {
+
+    // Waitlisted and left participations are not sessions the user played
+    private static final String HISTORY_SELECT = """
+            SELECT s.id AS session_id, s.sport_type, s.title, s.date, s.time_start, s.time_end,
+                   s.status, sp.is_host, sp.joined_at
+            FROM session_players sp
+            JOIN sessions s ON s.id = sp.session_id
+            WHERE sp.user_id = :userId AND sp.status IN ('joined', 'maybe')
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<SessionHistoryDto> findHistory(Long userId, LocalDate beforeDate, Long beforeSessionId, Integer limit) {
+        boolean afterCursor = beforeDate != null && beforeSessionId != null;
+
+        StringBuilder sql = new StringBuilder(HISTORY_SELECT);
+        if (afterCursor) {
+            sql.append("AND (s.date, s.id) < (:beforeDate, :beforeSessionId)\n");
+        }
+        sql.append("ORDER BY s.date DESC, s.id DESC");
+        if (limit != null) {
+            sql.append("\nLIMIT :limit");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("userId", userId);
+        if (afterCursor) {
+            spec = spec.bind("beforeDate", beforeDate)
+                    .bind("beforeSessionId", beforeSessionId);
+        }
+        if (limit != null) {
+            spec = spec.bind("limit", limit);
+        }
+        return spec.map(this::mapRow).all();
+    }
+
+    private SessionHistoryDto mapRow(Readable row) {
+        return SessionHistoryDto.builder()
+                .sessionId(row.get("session_id", Long.class))
+                .sportType(row.get("sport_type", String.class))
+                .title(row.get("title", String.class))
+                .date(row.get("date", LocalDate.class))
+                .timeStart(row.get("time_start", LocalTime.class))
+                .timeEnd(row.get("time_end", LocalTime.class))
+                .status(row.get("status", String.class))
+                .isHost(row.get("is_host", Boolean.class))
+                .joinedAt(row.get("joined_at", LocalDateTime.class))
+                .build();
+    }
+}
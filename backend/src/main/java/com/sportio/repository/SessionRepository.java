@@ -9,7 +9,7 @@ import reactor.core.publisher.Flux;
  * Repository for Session entity operations.
  */
 @Repository
-public interface SessionRepository extends R2dbcRepository<Session, Long> {
+public interface SessionRepository extends R2dbcRepository<Session, Long>, SessionRepositoryCustom {
     
     /**
      * Find all sessions hosted by a specific user.
@@ -0,0 +1,81 @@
+package com.sportio.repository;
+
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.dto.SessionLobbyDto;
+import com.sportio.dto.SessionSearchResultDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Custom query fragment for {@link SessionRepository} whose SQL depends on the
+ * arguments, which derived and {@code @Query} methods cannot express.
+ */
+public interface SessionRepositoryCustom {
+
+    /**
+     * Find open public sessions within a radius, nearest first.
+     *
+     * @param query the search parameters
+     * @return Flux of sessions ordered by distance then ID, streamed as the database returns them
+     */
+    Flux<NearbySessionDto> findNearby(NearbySessionQuery query);
+
+    /**
+     * Full-text search of open public sessions, most relevant first.
+     * Matches against the GIN-indexed {@code search_vector} column.
+     *
+     * @param query the search parameters
+     * @return Flux of sessions ordered by rank descending then ID
+     */
+    Flux<SessionSearchResultDto> search(SessionSearchQuery query);
+
+    /**
+     * Load a session with its joined players and their public profiles in one query,
+     * read straight into the lobby DTO.
+     *
+     * @param sessionId the session's ID
+     * @return Mono with the lobby, or empty if the session does not exist
+     */
+    Mono<SessionLobbyDto> findLobby(Long sessionId);
+
+    /**
+     * Join a session in one statement: mark the user's session_players row as joined
+     * and take a seat with a conditional increment of {@code players_joined}.
+     * The seat is only taken while the session is pending, open or booked, has not
+     * started and is not full. When the row is written but no seat is taken the
+     * statement has still changed session_players, so callers must run it in a
+     * transaction and roll back unless {@link SeatChange#applied()}.
+     *
+     * @param sessionId the session's ID
+     * @param userId the joining user's ID
+     * @param now the current time, compared with the session start
+     * @return Mono with what the statement changed
+     */
+    Mono<SeatChange> joinSession(Long sessionId, Long userId, LocalDateTime now);
+
+    /**
+     * Leave a session in one statement: mark the user's joined, non-host row as left and
+     * hand the seat to the head of the waitlist, or release it if nobody is waiting.
+     * Only sessions that are still pending or open can be left.
+     *
+     * @param sessionId the session's ID
+     * @param userId the leaving user's ID
+     * @return Mono with what the statement changed; both parts happen or neither does
+     */
+    Mono<SeatChange> leaveSession(Long sessionId, Long userId);
+
+    /**
+     * Complete one batch of open or booked sessions that have ended, in one statement.
+     * Rows locked by another transaction, such as a concurrent batch on another node or
+     * a join in progress, are skipped and picked up by a later batch. Each participant's
+     * {@code games_played} is raised once by their number of completed sessions in the
+     * batch, and users still waiting for a completed session leave its waitlist.
+     *
+     * @param now the current time, compared with the session end
+     * @param batchSize maximum number of sessions to complete
+     * @return Flux of the completed sessions
+     */
+    Flux<SessionCompletion> completeEnded(LocalDateTime now, int batchSize);
+}
@@ -0,0 +1,331 @@
+package com.sportio.repository;
+
+import com.sportio.dto.LobbyPlayerDto;
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.dto.SessionLobbyDto;
+import com.sportio.dto.SessionSearchResultDto;
+import com.sportio.entity.Session;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DatabaseClient} implementation of {@link SessionRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class SessionRepositoryCustomImpl implements SessionRepositoryCustom {
+
+    // One row per joined player, or a single row with null player columns for an empty lobby
+    private static final String LOBBY_SQL = """
+            SELECT s.id, s.host_id, s.sport_type, s.title, s.description, s.date, s.time_start, s.time_end,
+                   s.players_needed, s.players_joined, s.visibility, s.status, s.latitude, s.longitude,
+                   u.id AS user_id, u.full_name, u.avatar_url, u.avatar_initials, u.skill_level, u.games_played,
+                   sp.is_host, sp.joined_at
+            FROM sessions s
+            LEFT JOIN (session_players sp JOIN users u ON u.id = sp.user_id)
+                ON sp.session_id = s.id AND sp.status = 'joined'
+            WHERE s.id = :sessionId
+            ORDER BY sp.is_host DESC NULLS LAST, sp.joined_at, sp.id
+            """;
+
+    private static final String JOIN_SQL = """
+            WITH joined AS (
+                INSERT INTO session_players (session_id, user_id, is_host, status, joined_at)
+                SELECT id, :userId, FALSE, 'joined', CURRENT_TIMESTAMP FROM sessions WHERE id = :sessionId
+                ON CONFLICT (session_id, user_id) DO UPDATE
+                    SET status = 'joined', joined_at = EXCLUDED.joined_at, waitlist_position = NULL
+                    WHERE session_players.status <> 'joined'
+                RETURNING session_id
+            ), seat AS (
+                UPDATE sessions
+                SET players_joined = players_joined + 1
+                WHERE id IN (SELECT session_id FROM joined)
+                AND status IN ('pending', 'open', 'booked')
+                AND date + time_start > :now
+                AND players_joined < players_needed
+                RETURNING players_joined, players_needed
+            )
+            SELECT EXISTS (SELECT 1 FROM joined) AS player_changed, seat.players_joined, seat.players_needed,
+                   CAST(NULL AS BIGINT) AS promoted_user_id
+            FROM (SELECT 1) AS result LEFT JOIN seat ON TRUE
+            """;
+
+    private static final String LEAVE_SQL = """
+            WITH left_player AS (
+                UPDATE session_players sp
+                SET status = 'left'
+                FROM sessions s
+                WHERE sp.session_id = :sessionId AND sp.user_id = :userId
+                AND sp.status = 'joined' AND NOT COALESCE(sp.is_host, FALSE)
+                AND s.id = sp.session_id AND s.status IN ('pending', 'open')
+                RETURNING sp.session_id
+            ), promoted AS (
+                UPDATE session_players
+                SET status = 'joined', waitlist_position = NULL, joined_at = CURRENT_TIMESTAMP
+                WHERE id = (
+                    SELECT id FROM session_players
+                    WHERE session_id = :sessionId AND status = 'waitlisted'
+                    ORDER BY waitlist_position
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                AND EXISTS (SELECT 1 FROM left_player)
+                RETURNING user_id
+            ), seat AS (
+                UPDATE sessions
+                SET players_joined = players_joined - 1 + (SELECT COUNT(*) FROM promoted)
+                WHERE id IN (SELECT session_id FROM left_player)
+                RETURNING players_joined, players_needed
+            )
+            SELECT EXISTS (SELECT 1 FROM left_player) AS player_changed, seat.players_joined, seat.players_needed,
+                   (SELECT user_id FROM promoted) AS promoted_user_id
+            FROM (SELECT 1) AS result LEFT JOIN seat ON TRUE
+            """;
+
+    // Sessions ending at or before their start time run past midnight
+    private static final String COMPLETE_ENDED_SQL = """
+            WITH ended AS (
+                SELECT id FROM sessions
+                WHERE status IN ('open', 'booked')
+                AND date <= CAST(:now AS DATE)
+                AND date + time_end + CASE WHEN time_end <= time_start THEN INTERVAL '1 day' ELSE INTERVAL '0' END <= :now
+                ORDER BY date, id
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            ), completed AS (
+                UPDATE sessions s
+                SET status = 'completed'
+                FROM ended
+                WHERE s.id = ended.id
+                RETURNING s.id, s.host_id, s.sport_type, s.title, s.description, s.date, s.time_start, s.time_end,
+                          s.players_needed, s.players_joined, s.visibility, s.status, s.latitude, s.longitude, s.created_at
+            ), players AS (
+                SELECT sp.session_id, sp.user_id
+                FROM session_players sp
+                JOIN completed ON completed.id = sp.session_id
+                WHERE sp.status = 'joined'
+            ), games AS (
+                SELECT user_id, COUNT(*) AS played FROM players GROUP BY user_id
+            ), locked_users AS (
+                -- Locked in ID order so overlapping batches on other nodes cannot deadlock
+                SELECT id FROM users WHERE id IN (SELECT user_id FROM games) ORDER BY id FOR UPDATE
+            ), credited AS (
+                UPDATE users u
+                SET games_played = COALESCE(u.games_played, 0) + games.played,
+                    version = u.version + 1,
+                    updated_at = CURRENT_TIMESTAMP
+                FROM games
+                WHERE u.id = games.user_id AND u.id IN (SELECT id FROM locked_users)
+            ), dropped_waitlist AS (
+                UPDATE session_players
+                SET status = 'left', waitlist_position = NULL
+                WHERE session_id IN (SELECT id FROM completed) AND status = 'waitlisted'
+            )
+            SELECT completed.*,
+                   ARRAY(SELECT user_id FROM players WHERE players.session_id = completed.id ORDER BY user_id) AS player_ids
+            FROM completed
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<NearbySessionDto> findNearby(NearbySessionQuery query) {
+        return NearbySessionSql.prepare(databaseClient, "", query)
+                .map(this::mapRow)
+                .all();
+    }
+
+    @Override
+    public Flux<SessionSearchResultDto> search(SessionSearchQuery query) {
+        boolean afterCursor = query.afterRank() != null && query.afterSessionId() != null;
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT s.id, s.host_id, s.sport_type, s.title, s.description, s.date, s.time_start, s.time_end,
+                       s.players_needed, s.status, s.latitude, s.longitude,
+                       ts_rank_cd(s.search_vector, q.query) AS rank
+                FROM sessions s, websearch_to_tsquery('english', :text) AS q(query)
+                WHERE s.search_vector @@ q.query
+                AND s.status = 'open' AND s.visibility = 'public' AND s.date >= :fromDate
+                """);
+        if (query.sportType() != null) {
+            sql.append("AND s.sport_type = :sportType\n");
+        }
+        if (afterCursor) {
+            sql.append("AND (ts_rank_cd(s.search_vector, q.query) < :afterRank ")
+                    .append("OR (ts_rank_cd(s.search_vector, q.query) = :afterRank AND s.id > :afterSessionId))\n");
+        }
+        sql.append("ORDER BY rank DESC, s.id\nLIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("text", query.text())
+                .bind("fromDate", query.fromDate())
+                .bind("limit", query.limit());
+        if (query.sportType() != null) {
+            spec = spec.bind("sportType", query.sportType());
+        }
+        if (afterCursor) {
+            spec = spec.bind("afterRank", query.afterRank())
+                    .bind("afterSessionId", query.afterSessionId());
+        }
+        return spec.map(this::mapSearchRow).all();
+    }
+
+    @Override
+    public Mono<SessionLobbyDto> findLobby(Long sessionId) {
+        return Mono.defer(() -> {
+            LobbyReader reader = new LobbyReader();
+            return databaseClient.sql(LOBBY_SQL)
+                    .bind("sessionId", sessionId)
+                    .map(reader::read)
+                    .all()
+                    .then(Mono.fromSupplier(() -> reader.lobby));
+        });
+    }
+
+    @Override
+    public Mono<SeatChange> joinSession(Long sessionId, Long userId, LocalDateTime now) {
+        return databaseClient.sql(JOIN_SQL)
+                .bind("sessionId", sessionId)
+                .bind("userId", userId)
+                .bind("now", now)
+                .map(this::mapSeatChange)
+                .one();
+    }
+
+    @Override
+    public Mono<SeatChange> leaveSession(Long sessionId, Long userId) {
+        return databaseClient.sql(LEAVE_SQL)
+                .bind("sessionId", sessionId)
+                .bind("userId", userId)
+                .map(this::mapSeatChange)
+                .one();
+    }
+
+    @Override
+    public Flux<SessionCompletion> completeEnded(LocalDateTime now, int batchSize) {
+        return databaseClient.sql(COMPLETE_ENDED_SQL)
+                .bind("now", now)
+                .bind("batchSize", batchSize)
+                .map(row -> new SessionCompletion(mapSession(row), List.of(row.get("player_ids", Long[].class))))
+                .all();
+    }
+
+    private SeatChange mapSeatChange(Readable row) {
+        return new SeatChange(
+                Boolean.TRUE.equals(row.get("player_changed", Boolean.class)),
+                row.get("players_joined", Integer.class),
+                row.get("players_needed", Integer.class),
+                row.get("promoted_user_id", Long.class));
+    }
+
+    private Session mapSession(Readable row) {
+        return Session.builder()
+                .id(row.get("id", Long.class))
+                .hostId(row.get("host_id", Long.class))
+                .sportType(row.get("sport_type", String.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .date(row.get("date", LocalDate.class))
+                .timeStart(row.get("time_start", LocalTime.class))
+                .timeEnd(row.get("time_end", LocalTime.class))
+                .playersNeeded(row.get("players_needed", Integer.class))
+                .playersJoined(row.get("players_joined", Integer.class))
+                .visibility(row.get("visibility", String.class))
+                .status(row.get("status", String.class))
+                .latitude(row.get("latitude", BigDecimal.class))
+                .longitude(row.get("longitude", BigDecimal.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    private SessionSearchResultDto mapSearchRow(Readable row) {
+        return SessionSearchResultDto.builder()
+                .id(row.get("id", Long.class))
+                .hostId(row.get("host_id", Long.class))
+                .sportType(row.get("sport_type", String.class))
+                .title(row.get("title", String.class))
+                .description(row.get("description", String.class))
+                .date(row.get("date", LocalDate.class))
+                .timeStart(row.get("time_start", LocalTime.class))
+                .timeEnd(row.get("time_end", LocalTime.class))
+                .playersNeeded(row.get("players_needed", Integer.class))
+                .status(row.get("status", String.class))
+                .latitude(row.get("latitude", BigDecimal.class))
+                .longitude(row.get("longitude", BigDecimal.class))
+                .rank(row.get("rank", Float.class))
+                .build();
+    }
+
+    private NearbySessionDto mapRow(Readable row) {
+        return NearbySessionDto.builder()
+                .id(row.get("id", Long.class))
+                .hostId(row.get("host_id", Long.class))
+                .sportType(row.get("sport_type", String.class))
+                .title(row.get("title", String.class))
+                .date(row.get("date", LocalDate.class))
+                .timeStart(row.get("time_start", LocalTime.class))
+                .timeEnd(row.get("time_end", LocalTime.class))
+                .playersNeeded(row.get("players_needed", Integer.class))
+                .status(row.get("status", String.class))
+                .latitude(row.get("latitude", BigDecimal.class))
+                .longitude(row.get("longitude", BigDecimal.class))
+                .distanceMeters(row.get("distance_meters", Double.class))
+                .build();
+    }
+
+    /**
+     * Folds lobby rows into one DTO as they are decoded; the session columns are read
+     * from the first row only.
+     */
+    private static final class LobbyReader {
+
+        private SessionLobbyDto lobby;
+
+        private LobbyReader read(Readable row) {
+            if (lobby == null) {
+                Integer playersJoined = row.get("players_joined", Integer.class);
+                lobby = SessionLobbyDto.builder()
+                        .id(row.get("id", Long.class))
+                        .hostId(row.get("host_id", Long.class))
+                        .sportType(row.get("sport_type", String.class))
+                        .title(row.get("title", String.class))
+                        .description(row.get("description", String.class))
+                        .date(row.get("date", LocalDate.class))
+                        .timeStart(row.get("time_start", LocalTime.class))
+                        .timeEnd(row.get("time_end", LocalTime.class))
+                        .playersNeeded(row.get("players_needed", Integer.class))
+                        .playersJoined(playersJoined)
+                        .visibility(row.get("visibility", String.class))
+                        .status(row.get("status", String.class))
+                        .latitude(row.get("latitude", BigDecimal.class))
+                        .longitude(row.get("longitude", BigDecimal.class))
+                        // Sized for every joined player plus the host
+                        .players(new ArrayList<>(playersJoined != null ? playersJoined + 1 : 1))
+                        .build();
+            }
+            Long userId = row.get("user_id", Long.class);
+            if (userId != null) {
+                lobby.getPlayers().add(LobbyPlayerDto.builder()
+                        .userId(userId)
+                        .fullName(row.get("full_name", String.class))
+                        .avatarUrl(row.get("avatar_url", String.class))
+                        .avatarInitials(row.get("avatar_initials", String.class))
+                        .skillLevel(row.get("skill_level", String.class))
+                        .gamesPlayed(row.get("games_played", Integer.class))
+                        .isHost(row.get("is_host", Boolean.class))
+                        .joinedAt(row.get("joined_at", LocalDateTime.class))
+                        .build());
+            }
+            return this;
+        }
+    }
+}
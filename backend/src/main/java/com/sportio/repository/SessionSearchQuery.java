@@ -0,0 +1,22 @@
+package com.sportio.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Parameters of a full-text session search.
+ *
+ * @param text the search text, in web search syntax
+ * @param sportType sport to match, or null for any
+ * @param fromDate earliest session date, inclusive
+ * @param afterRank rank of the last entry already returned, or null for the first page
+ * @param afterSessionId session ID of the last entry already returned, or null for the first page
+ * @param limit maximum number of rows
+ */
+public record SessionSearchQuery(
+        String text,
+        String sportType,
+        LocalDate fromDate,
+        Float afterRank,
+        Long afterSessionId,
+        int limit) {
+}
@@ -1,12 +1,36 @@
 package com.sportio.repository;
 
 import com.sportio.entity.User;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface UserRepository extends R2dbcRepository<User, Long> {
+public interface UserRepository extends R2dbcRepository<User, Long>, UserRepositoryCustom {
     Mono<User> findByEmail(String email);
     Mono<Boolean> existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Read only the token version of a user.
+     *
+     * @param id the user's ID
+     * @return Mono with the token version, or empty if the user does not exist
+     */
+    @Query("SELECT token_version FROM users WHERE id = :id")
+    Mono<Integer> findTokenVersionById(Long id);
+
+    /**
+     * Read the change counters of a user's profile and participations in one primary key lookup.
+     *
+     * @param id the user's ID
+     * @return Mono with the versions, or empty if the user does not exist
+     */
+    @Query("""
+            SELECT u.version AS profile_version, COALESCE(s.participation_version, 0) AS participation_version
+            FROM users u
+            LEFT JOIN user_stats s ON s.user_id = u.id
+            WHERE u.id = :id
+            """)
+    Mono<ProfileVersions> findProfileVersions(Long id);
+}
@@ -0,0 +1,25 @@
+package com.sportio.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Custom query fragment for {@link UserRepository} whose SQL depends on the
+ * arguments, which derived and {@code @Query} methods cannot express.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Write only the given profile columns in a single {@code UPDATE ... RETURNING}
+     * and read the user's statistics in the same statement. The row version is
+     * incremented, and the token version too when {@code full_name} changes.
+     *
+     * @param userId the user's ID
+     * @param changes new values keyed by column name; names must come from trusted code
+     * @param expectedVersion the version the caller last read, or null to skip the check
+     * @return Mono with the updated row, or empty if the user does not exist or
+     *         its version no longer matches
+     */
+    Mono<ProfileUpdateResult> updateProfile(Long userId, Map<String, Object> changes, Long expectedVersion);
+}
@@ -0,0 +1,74 @@
+package com.sportio.repository;
+
+import com.sportio.entity.User;
+import com.sportio.entity.UserStats;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * {@link DatabaseClient} implementation of {@link UserRepositoryCustom}.
+ */
+@RequiredArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String FULL_NAME_COLUMN = "full_name";
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Override
+    public Mono<ProfileUpdateResult> updateProfile(Long userId, Map<String, Object> changes, Long expectedVersion) {
+        StringBuilder set = new StringBuilder();
+        for (String column : changes.keySet()) {
+            set.append(column).append(" = :").append(column).append(", ");
+        }
+        if (changes.containsKey(FULL_NAME_COLUMN)) {
+            // SET expressions see the old row, so this compares against the previous name
+            set.append("token_version = CASE WHEN full_name IS DISTINCT FROM :full_name ")
+                    .append("THEN token_version + 1 ELSE token_version END, ");
+        }
+        set.append("version = version + 1, updated_at = :updatedAt");
+
+        String sql = """
+                WITH updated AS (
+                    UPDATE users SET %s
+                    WHERE id = :userId%s
+                    RETURNING *
+                )
+                SELECT u.*, s.total_bookings, s.rating_sum, s.rating_count, s.friends_count
+                FROM updated u
+                LEFT JOIN user_stats s ON s.user_id = u.id
+                """.formatted(set, expectedVersion != null ? " AND version = :expectedVersion" : "");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
+                .bind("userId", userId)
+                .bind("updatedAt", LocalDateTime.now());
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            spec = spec.bind(change.getKey(), change.getValue());
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind("expectedVersion", expectedVersion);
+        }
+        return spec.map(this::mapRow).one();
+    }
+
+    private ProfileUpdateResult mapRow(Row row, RowMetadata metadata) {
+        User user = converter.read(User.class, row, metadata);
+        Integer totalBookings = row.get("total_bookings", Integer.class);
+        UserStats stats = totalBookings == null ? null : UserStats.builder()
+                .userId(user.getId())
+                .totalBookings(totalBookings)
+                .ratingSum(row.get("rating_sum", Long.class))
+                .ratingCount(row.get("rating_count", Integer.class))
+                .friendsCount(row.get("friends_count", Integer.class))
+                .build();
+        return new ProfileUpdateResult(user, stats);
+    }
+}
@@ -0,0 +1,16 @@
+package com.sportio.repository;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of reconciling one batch of user statistics: the last user ID covered and
+ * how many rows had drifted and were corrected.
+ */
+@Data
+@NoArgsConstructor
+public class UserStatsReconciliation {
+
+    private Long lastUserId;
+    private Integer repaired;
+}
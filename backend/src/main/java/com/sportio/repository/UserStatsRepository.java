@@ -0,0 +1,47 @@
+package com.sportio.repository;
+
+import com.sportio.entity.UserStats;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for UserStats entity operations.
+ */
+@Repository
+public interface UserStatsRepository extends R2dbcRepository<UserStats, Long> {
+
+    /**
+     * Recompute the counters of the next batch of users from the source tables and
+     * correct any row that has drifted. Rows that already match are left untouched.
+     *
+     * @param afterUserId the last user ID of the previous batch, or 0 to start
+     * @param batchSize maximum number of users to check
+     * @return Mono with the batch result; lastUserId is null once no users are left
+     */
+    @Query("""
+            WITH batch AS (
+                SELECT id FROM users WHERE id > :afterUserId ORDER BY id LIMIT :batchSize
+            ),
+            actual AS (
+                SELECT b.id AS user_id, COUNT(sp.id)::int AS total_bookings
+                FROM batch b
+                LEFT JOIN session_players sp ON sp.user_id = b.id AND sp.status IN ('joined', 'maybe')
+                GROUP BY b.id
+            ),
+            repaired AS (
+                INSERT INTO user_stats (user_id, total_bookings)
+                SELECT user_id, total_bookings FROM actual
+                ON CONFLICT (user_id) DO UPDATE
+                    SET total_bookings = EXCLUDED.total_bookings,
+                        participation_version = user_stats.participation_version + 1,
+                        updated_at = CURRENT_TIMESTAMP
+                    WHERE user_stats.total_bookings <> EXCLUDED.total_bookings
+                RETURNING user_id
+            )
+            SELECT (SELECT MAX(id) FROM batch) AS last_user_id,
+                   (SELECT COUNT(*) FROM repaired)::int AS repaired
+            """)
+    Mono<UserStatsReconciliation> reconcileBatch(long afterUserId, int batchSize);
+}
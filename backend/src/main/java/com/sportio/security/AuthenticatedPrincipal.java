@@ -0,0 +1,39 @@
+package com.sportio.security;
+
+import com.sportio.entity.User;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Immutable identity of the caller, built from the claims of a verified access token.
+ * Carries only what the token already embeds, so authenticating a request needs no
+ * database access.
+ */
+@Value
+@Builder
+public class AuthenticatedPrincipal {
+
+    Long userId;
+    String email;
+    String fullName;
+    int tokenVersion;
+    /** ID (jti) of the token the principal was built from; null when not built from a token. */
+    String tokenId;
+    /** Expiry of that token as epoch milliseconds; 0 when not built from a token. */
+    long expiresAtMillis;
+
+    /**
+     * Builds a principal from a loaded user entity.
+     *
+     * @param user the user entity
+     * @return the principal for the user
+     */
+    public static AuthenticatedPrincipal fromUser(User user) {
+        return AuthenticatedPrincipal.builder()
+                .userId(user.getId())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .tokenVersion(user.getTokenVersion() != null ? user.getTokenVersion() : 0)
+                .build();
+    }
+}
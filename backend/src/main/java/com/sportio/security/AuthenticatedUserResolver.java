@@ -0,0 +1,52 @@
+package com.sportio.security;
+
+import com.sportio.config.JwtAuthenticationFilter;
+import com.sportio.entity.User;
+import com.sportio.exception.UnauthorizedException;
+import com.sportio.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the full {@link User} entity for the authenticated principal of a request.
+ * The entity is loaded at most once per request and reused by every later caller.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthenticatedUserResolver {
+
+    private static final String USER_LOOKUP_KEY = "AUTHENTICATED_USER_LOOKUP";
+
+    private final UserRepository userRepository;
+
+    /**
+     * Returns the authenticated user entity, loading it on first use.
+     *
+     * @param exchange the server web exchange
+     * @return Mono containing the user, or an UnauthorizedException if the request
+     *         is not authenticated or the user no longer exists
+     */
+    public Mono<User> resolve(ServerWebExchange exchange) {
+        User user = exchange.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_USER_KEY);
+        if (user != null) {
+            return Mono.just(user);
+        }
+
+        AuthenticatedPrincipal principal = exchange.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_PRINCIPAL_KEY);
+        if (principal == null) {
+            return Mono.error(new UnauthorizedException());
+        }
+
+        Mono<User> lookup = exchange.getAttribute(USER_LOOKUP_KEY);
+        if (lookup == null) {
+            lookup = userRepository.findById(principal.getUserId())
+                    .doOnNext(loaded -> exchange.getAttributes().put(JwtAuthenticationFilter.AUTHENTICATED_USER_KEY, loaded))
+                    .switchIfEmpty(Mono.error(new UnauthorizedException()))
+                    .cache();
+            exchange.getAttributes().put(USER_LOOKUP_KEY, lookup);
+        }
+        return lookup;
+    }
+}
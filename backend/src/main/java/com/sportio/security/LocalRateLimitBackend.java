@@ -0,0 +1,79 @@
+package com.sportio.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * In-process token buckets.
+ * Buckets live in a bounded cache that drops entries idle for longer than
+ * {@code auth.login-rate-limit.idle-timeout}. Bucket state is guarded by a fixed
+ * array of lock stripes, so unrelated keys never contend on a shared lock.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.login-rate-limit.backend", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimitBackend implements RateLimitBackend {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<String, Bucket> buckets;
+    private final Object[] locks = new Object[STRIPES];
+
+    public LocalRateLimitBackend(
+            @Value("${auth.login-rate-limit.max-entries:100000}") long maxEntries,
+            @Value("${auth.login-rate-limit.idle-timeout:15m}") Duration idleTimeout,
+            MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "auth.login-rate-limit");
+    }
+
+    @Override
+    public Mono<Decision> tryConsume(String key, int capacity, double refillPerSecond) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key, k -> new Bucket(capacity, now));
+        synchronized (locks[(key.hashCode() & 0x7fffffff) % STRIPES]) {
+            return Mono.just(bucket.tryConsume(capacity, refillPerSecond, now));
+        }
+    }
+
+    /**
+     * Mutable bucket state, only touched while holding the key's stripe lock.
+     */
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        private Decision tryConsume(int capacity, double refillPerSecond, long now) {
+            double elapsedSeconds = Math.max(0, now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(capacity, tokens + elapsedSeconds * refillPerSecond);
+            lastRefillNanos = now;
+
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.ALLOWED;
+            }
+            long retryAfterMillis = (long) Math.ceil((1 - tokens) / refillPerSecond * 1000);
+            return new Decision(false, retryAfterMillis);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sportio.security;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage for token-bucket rate limits.
+ * The local implementation enforces limits per node; a shared implementation lets
+ * several nodes enforce one global budget per key.
+ */
+public interface RateLimitBackend {
+
+    /**
+     * Takes one token from the bucket for a key, creating a full bucket on first use.
+     *
+     * @param key the bucket key
+     * @param capacity the maximum number of tokens in the bucket
+     * @param refillPerSecond tokens added back per second
+     * @return Mono with the decision
+     */
+    Mono<Decision> tryConsume(String key, int capacity, double refillPerSecond);
+
+    /**
+     * Outcome of a consume attempt.
+     *
+     * @param allowed whether a token was taken
+     * @param retryAfterMillis when rejected, how long until a token is available
+     */
+    record Decision(boolean allowed, long retryAfterMillis) {
+
+        public static final Decision ALLOWED = new Decision(true, 0);
+    }
+}
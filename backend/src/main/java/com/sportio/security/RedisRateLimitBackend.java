@@ -0,0 +1,60 @@
+package com.sportio.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Token buckets stored in Redis so every node draws from the same budget.
+ * Refill and consume run atomically in a single Lua script using the Redis clock.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.login-rate-limit.backend", havingValue = "redis")
+@RequiredArgsConstructor
+public class RedisRateLimitBackend implements RateLimitBackend {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = RedisScript.of("""
+            local capacity = tonumber(ARGV[1])
+            local refill_per_ms = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+            local allowed = 0
+            local retry_after = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              retry_after = math.ceil((1 - tokens) / refill_per_ms)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms))
+            return {allowed, retry_after}
+            """, List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<Decision> tryConsume(String key, int capacity, double refillPerSecond) {
+        String refillPerMillis = String.valueOf(refillPerSecond / 1000.0);
+        return redisTemplate.execute(TOKEN_BUCKET_SCRIPT, List.of(KEY_PREFIX + key),
+                        List.of(String.valueOf(capacity), refillPerMillis))
+                .next()
+                .map(result -> {
+                    boolean allowed = ((Number) result.get(0)).longValue() == 1;
+                    long retryAfterMillis = ((Number) result.get(1)).longValue();
+                    return allowed ? Decision.ALLOWED : new Decision(false, retryAfterMillis);
+                });
+    }
+}
@@ -0,0 +1,166 @@
+package com.sportio.security;
+
+import com.sportio.repository.RevokedTokenRepository;
+import com.sportio.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Deny list of revoked access tokens.
+ * Every authenticated request is first checked against an in-memory Bloom filter of
+ * revoked token IDs; only a positive match costs a lookup in the revoked_tokens table.
+ * The filter is rebuilt periodically from the table, which drops expired revocations,
+ * keeps the false positive rate near its target and picks up revocations made on
+ * other nodes.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final int purgeBatchSize;
+    private final Counter filterNegatives;
+    private final Counter exactLookups;
+    private final Counter revokedHits;
+
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${auth.revocation.false-positive-rate:0.001}") double falsePositiveRate,
+            @Value("${auth.revocation.purge-batch-size:500}") int purgeBatchSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.purgeBatchSize = purgeBatchSize;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+
+        this.filterNegatives = Counter.builder("sportio.auth.revocation.checks")
+                .description("Revocation checks by outcome")
+                .tag("result", "filter_negative")
+                .register(meterRegistry);
+        this.exactLookups = Counter.builder("sportio.auth.revocation.checks")
+                .description("Revocation checks by outcome")
+                .tag("result", "exact_lookup")
+                .register(meterRegistry);
+        this.revokedHits = Counter.builder("sportio.auth.revocation.checks")
+                .description("Revocation checks by outcome")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        Gauge.builder("sportio.auth.revocation.filter.fpp", this, s -> s.filter.expectedFalsePositiveRate())
+                .description("Estimated false positive rate of the revocation Bloom filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param jti the token ID
+     * @return Mono emitting true if the token is revoked
+     */
+    public Mono<Boolean> isRevoked(UUID jti) {
+        if (!filter.mightContain(jti)) {
+            filterNegatives.increment();
+            return Mono.just(false);
+        }
+        exactLookups.increment();
+        return revokedTokenRepository.isRevoked(jti, LocalDateTime.now())
+                .doOnNext(revoked -> {
+                    if (revoked) {
+                        revokedHits.increment();
+                    }
+                });
+    }
+
+    /**
+     * Revokes a token until its natural expiry.
+     *
+     * @param jti the token ID
+     * @param userId the token owner's ID
+     * @param expiresAtMillis the token expiry as epoch milliseconds
+     * @return Mono completing once the revocation is stored
+     */
+    public Mono<Void> revoke(UUID jti, Long userId, long expiresAtMillis) {
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault());
+        return revokedTokenRepository.insertRevocation(jti, userId, expiresAt)
+                .doOnNext(inserted -> {
+                    filter.put(jti);
+                    BloomFilter next = rebuilding;
+                    if (next != null) {
+                        next.put(jti);
+                    }
+                    log.info("Revoked token {} for user {}", jti, userId);
+                })
+                .then();
+    }
+
+    /**
+     * Rebuilds the filter from the revocations that have not expired yet.
+     * The filter is sized for the larger of the configured expectation and the
+     * current revocation count, so heavy churn does not degrade the false positive rate.
+     *
+     * @return Mono completing when the new filter is in place
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval:PT1M}", initialDelayString = "${auth.revocation.rebuild-interval:PT1M}")
+    public Mono<Void> rebuildFilter() {
+        LocalDateTime now = LocalDateTime.now();
+        return revokedTokenRepository.countActive(now)
+                .flatMap(active -> {
+                    BloomFilter next = BloomFilter.create(Math.max(expectedRevocations, active * 2), falsePositiveRate);
+                    rebuilding = next;
+                    return revokedTokenRepository.findActiveJtis(now)
+                            .doOnNext(next::put)
+                            .then(Mono.fromRunnable(() -> {
+                                filter = next;
+                                rebuilding = null;
+                                log.debug("Rebuilt revocation filter with {} active revocations", active);
+                            }));
+                })
+                .doOnError(e -> {
+                    rebuilding = null;
+                    log.error("Failed to rebuild revocation filter: {}", e.getMessage());
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    /**
+     * Deletes revocations whose tokens have expired, in bounded batches.
+     *
+     * @return Mono completing when the purge finishes
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval:PT1H}", initialDelayString = "${auth.revocation.purge-interval:PT1H}")
+    public Mono<Void> purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return revokedTokenRepository.deleteExpiredBatch(now, purgeBatchSize)
+                .expand(deleted -> deleted < purgeBatchSize
+                        ? Mono.empty()
+                        : revokedTokenRepository.deleteExpiredBatch(now, purgeBatchSize))
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Purged {} expired token revocations", total);
+                    }
+                })
+                .then();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sportio.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportio.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps the current token version of recently active users in memory.
+ * A user's version is loaded from the database once and then served from memory,
+ * so checking a token against it costs no query on the request path. Entries are
+ * reloaded after {@code auth.token-version.refresh-after} so bumps made on other
+ * nodes are eventually picked up.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, Integer> versions;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${auth.token-version.max-size:50000}") long maxSize,
+            @Value("${auth.token-version.refresh-after:5m}") Duration refreshAfter) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(refreshAfter)
+                .buildAsync();
+    }
+
+    /**
+     * Checks whether a token version is still the user's current version.
+     *
+     * @param userId the user's ID
+     * @param tokenVersion the version embedded in the token
+     * @return Mono emitting true if the token is current, false if it is stale
+     *         or the user no longer exists
+     */
+    public Mono<Boolean> isCurrent(Long userId, int tokenVersion) {
+        return currentVersion(userId)
+                .map(current -> current == tokenVersion)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * Returns the current token version of a user.
+     *
+     * @param userId the user's ID
+     * @return Mono with the version, or empty if the user does not exist
+     */
+    public Mono<Integer> currentVersion(Long userId) {
+        CompletableFuture<Integer> version = versions.get(userId,
+                (id, executor) -> userRepository.findTokenVersionById(id).toFuture());
+        return Mono.fromFuture(version);
+    }
+
+    /**
+     * Records a version that was read or written elsewhere.
+     *
+     * @param userId the user's ID
+     * @param version the user's current token version
+     */
+    public void record(Long userId, int version) {
+        versions.put(userId, CompletableFuture.completedFuture(version));
+    }
+}
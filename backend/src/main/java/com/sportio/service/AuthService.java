@@ -2,6 +2,8 @@ package com.sportio.service;
 
 import com.sportio.dto.AuthResponse;
 import com.sportio.dto.LoginRequest;
+import com.sportio.dto.LogoutRequest;
+import com.sportio.dto.RefreshTokenRequest;
 import com.sportio.dto.RegisterRequest;
 import com.sportio.dto.UserDto;
 import com.sportio.exception.EmailAlreadyExistsException;
@@ -10,16 +12,20 @@ import com.sportio.exception.PasswordMismatchException;
 import com.sportio.util.JwtUtil;
 import com.sportio.entity.User;
 import com.sportio.repository.UserRepository;
+import com.sportio.security.AuthenticatedPrincipal;
+import com.sportio.security.PasswordHasher;
+import com.sportio.security.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * Service handling authentication business logic.
+ * Password hashing runs on {@link PasswordHasher}'s worker pool, off the event loop.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,8 +33,10 @@ import java.time.LocalDateTime;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     /**
      * Register a new user account.
@@ -54,10 +62,13 @@ public class AuthService {
                         return Mono.error(new EmailAlreadyExistsException(normalizedEmail));
                     }
 
+                    return passwordHasher.encode(request.getPassword());
+                })
+                .flatMap(passwordHash -> {
                     // Create new user
                     User newUser = User.builder()
                             .email(normalizedEmail)
-                            .passwordHash(passwordEncoder.encode(request.getPassword()))
+                            .passwordHash(passwordHash)
                             .fullName(request.getFullName().trim())
                             .avatarInitials(generateInitials(request.getFullName()))
                             .skillLevel("Beginner")
@@ -69,7 +80,7 @@ public class AuthService {
 
                     return userRepository.save(newUser);
                 })
-                .map(this::buildAuthResponse);
+                .flatMap(this::buildAuthResponse);
     }
 
     /**
@@ -88,20 +99,56 @@ public class AuthService {
                     log.warn("User not found for email: {}", normalizedEmail);
                     return Mono.error(new InvalidCredentialsException());
                 }))
-                .flatMap(user -> {
-                    if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-                        log.warn("Invalid password for email: {}", normalizedEmail);
-                        return Mono.error(new InvalidCredentialsException());
-                    }
-                    return Mono.just(user);
-                })
-                .map(this::buildAuthResponse);
+                .flatMap(user -> passwordHasher.matches(request.getPassword(), user.getPasswordHash())
+                        .flatMap(matches -> {
+                            if (!matches) {
+                                log.warn("Invalid password for email: {}", normalizedEmail);
+                                return Mono.error(new InvalidCredentialsException());
+                            }
+                            return Mono.just(user);
+                        }))
+                .flatMap(this::buildAuthResponse);
+    }
+
+    /**
+     * Exchange a refresh token for new tokens without re-checking the password.
+     *
+     * @param request the refresh request containing the current refresh token
+     * @return AuthResponse with a new access token and the rotated refresh token
+     */
+    public Mono<AuthResponse> refresh(RefreshTokenRequest request) {
+        return refreshTokenService.refresh(request.getRefreshToken());
     }
 
-    private AuthResponse buildAuthResponse(User user) {
-        String accessToken = jwtUtil.generateAccessToken(user);
-        String refreshToken = jwtUtil.generateRefreshToken(user);
+    /**
+     * Log out by revoking the presented access token and, if supplied, the family
+     * of the refresh token issued alongside it.
+     *
+     * @param principal the caller, built from the access token being revoked
+     * @param request the logout request with the optional refresh token
+     * @return Mono completing once the tokens are revoked
+     */
+    public Mono<Void> logout(AuthenticatedPrincipal principal, LogoutRequest request) {
+        log.info("Logging out user: {}", principal.getUserId());
+
+        Mono<Void> revokeAccess = principal.getTokenId() != null
+                ? tokenRevocationService.revoke(UUID.fromString(principal.getTokenId()),
+                        principal.getUserId(), principal.getExpiresAtMillis())
+                : Mono.empty();
+        Mono<Void> revokeRefresh = request != null && request.getRefreshToken() != null
+                ? refreshTokenService.revokeFamily(request.getRefreshToken(), principal.getUserId())
+                : Mono.empty();
+
+        return revokeAccess.then(revokeRefresh);
+    }
+
+    private Mono<AuthResponse> buildAuthResponse(User user) {
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.fromUser(user);
+        return refreshTokenService.issue(principal)
+                .map(refreshToken -> buildAuthResponse(user, jwtUtil.generateAccessToken(principal), refreshToken));
+    }
 
+    private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken) {
         UserDto userDto = UserDto.builder()
                 .id(user.getId())
                 .email(user.getEmail())
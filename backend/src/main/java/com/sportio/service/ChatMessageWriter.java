@@ -0,0 +1,143 @@
+package com.sportio.service;
+
+import com.sportio.entity.Message;
+import com.sportio.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind persistence of chat messages.
+ * Messages are published to the room and queued here; the queue is written
+ * with one multi-row INSERT per {@code chat.write-behind.batch-size} messages, or
+ * every {@code chat.write-behind.flush-interval} when traffic is light. At most
+ * {@code chat.write-behind.max-pending} messages wait at a time; further messages
+ * are refused so a slow database cannot exhaust memory. A failed batch is retried a
+ * few times and then dropped. The queue is drained on shutdown.
+ */
+@Component
+@Slf4j
+public class ChatMessageWriter {
+
+    private final MessageRepository messageRepository;
+    private final int maxPending;
+    private final Duration shutdownTimeout;
+    private final Sinks.Many<Message> queue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Mono<Void> drained;
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final Counter rejected;
+    private final Counter lost;
+
+    public ChatMessageWriter(
+            MessageRepository messageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chat.write-behind.batch-size:500}") int batchSize,
+            @Value("${chat.write-behind.flush-interval:50ms}") Duration flushInterval,
+            @Value("${chat.write-behind.max-pending:100000}") int maxPending,
+            @Value("${chat.write-behind.shutdown-timeout:10s}") Duration shutdownTimeout) {
+        this.messageRepository = messageRepository;
+        this.maxPending = maxPending;
+        this.shutdownTimeout = shutdownTimeout;
+        this.batchSizes = DistributionSummary.builder("sportio.chat.persist.batch.size")
+                .description("Messages written per multi-row insert")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("sportio.chat.persist.batch")
+                .description("Time to write one batch of messages")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("sportio.chat.persist.rejected")
+                .description("Messages refused because the write-behind queue was full")
+                .register(meterRegistry);
+        this.lost = Counter.builder("sportio.chat.persist.lost")
+                .description("Messages dropped after their batch failed every retry")
+                .register(meterRegistry);
+        Gauge.builder("sportio.chat.persist.pending", pending, AtomicInteger::get)
+                .description("Messages delivered but not yet written")
+                .register(meterRegistry);
+
+        Sinks.Empty<Void> done = Sinks.empty();
+        this.drained = done.asMono();
+        queue.asFlux()
+                .bufferTimeout(batchSize, flushInterval, true)
+                .concatMap(this::write)
+                .subscribe(null, error -> log.error("Chat write-behind stopped: {}", error.getMessage()),
+                        done::tryEmitEmpty);
+    }
+
+    /**
+     * Queue a message to be written.
+     *
+     * @param message the message, with its ID assigned
+     * @return false if the queue is full and the message was not queued
+     */
+    public boolean enqueue(Message message) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        Sinks.EmitResult result;
+        // Sinks reject concurrent emissions instead of queueing them
+        synchronized (queue) {
+            result = queue.tryEmitNext(message);
+        }
+        if (result.isFailure()) {
+            pending.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Number of messages waiting to be written.
+     *
+     * @return the queue length
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (queue) {
+            queue.tryEmitComplete();
+        }
+        try {
+            drained.block(shutdownTimeout);
+        } catch (RuntimeException e) {
+            log.warn("{} chat messages not written before shutdown", pending.get());
+        }
+    }
+
+    private Mono<Void> write(List<Message> batch) {
+        Timer.Sample sample = Timer.start();
+        return messageRepository.insertAll(batch)
+                .retryWhen(Retry.backoff(3, Duration.ofMillis(100)))
+                .doOnSuccess(inserted -> {
+                    sample.stop(batchTimer);
+                    batchSizes.record(batch.size());
+                })
+                .onErrorResume(error -> {
+                    lost.increment(batch.size());
+                    log.error("Dropped {} chat messages after failed writes: {}", batch.size(), error.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> pending.addAndGet(-batch.size()))
+                .then();
+    }
+}
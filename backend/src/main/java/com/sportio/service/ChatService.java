@@ -0,0 +1,213 @@
+package com.sportio.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.dto.ChatHistoryDto;
+import com.sportio.dto.ChatMessageDto;
+import com.sportio.dto.ChatSenderDto;
+import com.sportio.entity.Message;
+import com.sportio.event.ChatMessageSentEvent;
+import com.sportio.exception.InvalidMessageException;
+import com.sportio.exception.NotSessionMemberException;
+import com.sportio.exception.ServiceBusyException;
+import com.sportio.exception.SessionNotFoundException;
+import com.sportio.realtime.ChatRooms;
+import com.sportio.repository.MessageRepository;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.util.MessageIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for session chat.
+ * A message is given its ID on this node, queued for {@link ChatMessageWriter} and
+ * published to the session's room, so sending never waits for the database.
+ * Only players who have joined the session may read or write its chat.
+ */
+@Service
+@Slf4j
+public class ChatService {
+
+    public static final String MESSAGE_EVENT = "chat:message";
+    public static final String TYPING_EVENT = "chat:typing";
+    private static final String JOINED = "joined";
+
+    private final SessionRepository sessionRepository;
+    private final SessionPlayerRepository sessionPlayerRepository;
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final ChatMessageWriter chatMessageWriter;
+    private final ChatRooms chatRooms;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxMessageLength;
+    // Claims a worker number once; a failed claim is retried by the next message
+    private final Mono<MessageIdGenerator> idGenerator;
+
+    public ChatService(
+            SessionRepository sessionRepository,
+            SessionPlayerRepository sessionPlayerRepository,
+            UserRepository userRepository,
+            MessageRepository messageRepository,
+            ChatMessageWriter chatMessageWriter,
+            ChatRooms chatRooms,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${chat.max-message-length:2000}") int maxMessageLength) {
+        this.sessionRepository = sessionRepository;
+        this.sessionPlayerRepository = sessionPlayerRepository;
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.chatMessageWriter = chatMessageWriter;
+        this.chatRooms = chatRooms;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.maxMessageLength = maxMessageLength;
+        this.idGenerator = messageRepository.nextWorkerNumber()
+                .map(MessageIdGenerator::new)
+                .cacheInvalidateIf(generator -> false);
+    }
+
+    /**
+     * Check that a user has joined a session and load them as a message author.
+     *
+     * @param sessionId the session's ID
+     * @param userId the user's ID
+     * @return Mono with the sender, or NotSessionMemberException
+     */
+    public Mono<ChatSenderDto> authorize(Long sessionId, Long userId) {
+        return sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                .filter(player -> JOINED.equals(player.getStatus()))
+                .flatMap(player -> userRepository.findById(userId))
+                .map(user -> ChatSenderDto.builder()
+                        .id(user.getId())
+                        .name(user.getFullName())
+                        .avatarInitials(user.getAvatarInitials())
+                        .build())
+                .switchIfEmpty(Mono.error(new NotSessionMemberException()));
+    }
+
+    /**
+     * Get one page of a session's chat history, for a player who has joined it.
+     * Reads limit + 1 messages to learn whether older ones remain.
+     *
+     * @param sessionId the session's ID
+     * @param userId the reader's ID
+     * @param before only messages older than this message ID, or null for the latest
+     * @param limit maximum number of messages on the page
+     * @return Mono with the page, SessionNotFoundException or NotSessionMemberException
+     */
+    public Mono<ChatHistoryDto> getHistory(Long sessionId, Long userId, Long before, int limit) {
+        return sessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)))
+                .flatMap(session -> sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                        .filter(player -> JOINED.equals(player.getStatus()))
+                        .switchIfEmpty(Mono.error(new NotSessionMemberException()))
+                        .then(messageRepository.findHistory(sessionId, before != null ? before : Long.MAX_VALUE, limit + 1)
+                                .collectList())
+                        .map(newestFirst -> {
+                            boolean hasMore = newestFirst.size() > limit;
+                            List<ChatMessageDto> messages = new ArrayList<>(newestFirst.subList(0, Math.min(limit, newestFirst.size())));
+                            Collections.reverse(messages);
+                            return ChatHistoryDto.builder()
+                                    .sessionId(sessionId)
+                                    .title(session.getTitle())
+                                    .messages(messages)
+                                    .hasMore(hasMore)
+                                    .build();
+                        }));
+    }
+
+    /**
+     * Send a message to a session's room and queue it to be stored.
+     *
+     * @param sessionId the session's ID
+     * @param sender the author, as returned by {@link #authorize}
+     * @param text the message text
+     * @return Mono with the sent message
+     */
+    public Mono<ChatMessageDto> sendMessage(Long sessionId, ChatSenderDto sender, String text) {
+        String trimmed = text != null ? text.strip() : "";
+        if (trimmed.isEmpty()) {
+            return Mono.error(InvalidMessageException.empty());
+        }
+        if (trimmed.length() > maxMessageLength) {
+            return Mono.error(InvalidMessageException.tooLong(maxMessageLength));
+        }
+
+        return idGenerator.flatMap(generator -> {
+            Message message = Message.builder()
+                    .id(generator.nextId())
+                    .sessionId(sessionId)
+                    .senderId(sender.getId())
+                    .text(trimmed)
+                    .isSystem(false)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            if (!chatMessageWriter.enqueue(message)) {
+                return Mono.error(new ServiceBusyException("Chat is busy, please retry", 1));
+            }
+
+            ChatMessageDto dto = ChatMessageDto.builder()
+                    .id(message.getId())
+                    .sessionId(sessionId)
+                    .sender(sender)
+                    .text(message.getText())
+                    .timestamp(message.getCreatedAt())
+                    .isSystem(false)
+                    .build();
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("sessionId", sessionId);
+            payload.put("message", dto);
+            chatRooms.send(sessionId, frame(MESSAGE_EVENT, payload));
+            eventPublisher.publishEvent(new ChatMessageSentEvent(sessionId, sender.getId(), sender.getName(), message.getText()));
+            return Mono.just(dto);
+        });
+    }
+
+    /**
+     * Tell a session's room that a player started or stopped typing. Not stored.
+     *
+     * @param sessionId the session's ID
+     * @param sender the player, as returned by {@link #authorize}
+     * @param isTyping whether the player is typing
+     */
+    public void sendTyping(Long sessionId, ChatSenderDto sender, boolean isTyping) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sessionId", sessionId);
+        payload.put("userId", sender.getId());
+        payload.put("userName", sender.getName());
+        payload.put("isTyping", isTyping);
+        chatRooms.send(sessionId, frame(TYPING_EVENT, payload));
+    }
+
+    /**
+     * Serialize one frame of the chat protocol.
+     *
+     * @param event the event name
+     * @param payload the event payload
+     * @return the frame as JSON
+     */
+    public String frame(String event, Object payload) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("event", event);
+        frame.put("payload", payload);
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event + " frame", e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportio.service;
+
+import com.sportio.repository.MessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keeps the monthly partitions of the messages table in step with the calendar.
+ * Partitions are created {@code chat.partitions.months-ahead} months in advance, since
+ * a message whose month has no partition cannot be written. With
+ * {@code chat.partitions.retention-months} set, partitions of older months are
+ * detached and dropped whole, which costs the same however many messages they hold.
+ * Months are UTC months, matching the timestamps inside message IDs.
+ */
+@Service
+@Slf4j
+public class MessagePartitionMaintainer {
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("'messages_'yyyy_MM");
+
+    private final MessageRepository messageRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Counter droppedCounter;
+
+    public MessagePartitionMaintainer(
+            MessageRepository messageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${chat.partitions.months-ahead:2}") int monthsAhead,
+            @Value("${chat.partitions.retention-months:0}") int retentionMonths) {
+        this.messageRepository = messageRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.droppedCounter = Counter.builder("sportio.chat.partitions.dropped")
+                .description("Monthly message partitions dropped after the retention period")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones. Also runs at startup, so nodes
+     * restarted more often than the interval still keep partitions ahead of the calendar.
+     *
+     * @return Mono completing with the number of dropped partitions
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${chat.partitions.interval:PT6H}", initialDelayString = "${chat.partitions.interval:PT6H}")
+    public Mono<Long> maintainPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        return createPartitions(current)
+                .then(retentionMonths > 0 ? dropPartitionsBefore(current.minusMonths(retentionMonths)) : Mono.just(0L));
+    }
+
+    private Mono<Void> createPartitions(YearMonth current) {
+        return Flux.range(0, monthsAhead + 1)
+                .concatMap(offset -> messageRepository.createPartition(current.plusMonths(offset).atDay(1))
+                        .onErrorResume(error -> {
+                            log.error("Could not create message partition for {}: {}", current.plusMonths(offset), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private Mono<Long> dropPartitionsBefore(YearMonth oldestKept) {
+        return messageRepository.findPartitionNames()
+                .filter(name -> isBefore(name, oldestKept))
+                .concatMap(name -> messageRepository.dropPartition(name)
+                        .then(Mono.fromSupplier(() -> {
+                            log.info("Dropped message partition {}", name);
+                            droppedCounter.increment();
+                            return name;
+                        }))
+                        .onErrorResume(error -> {
+                            // Another node may be dropping it at the same time
+                            log.warn("Could not drop message partition {}: {}", name, error.getMessage());
+                            return Mono.empty();
+                        }))
+                .count();
+    }
+
+    private static boolean isBefore(String partitionName, YearMonth month) {
+        try {
+            return YearMonth.parse(partitionName, PARTITION_MONTH).isBefore(month);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
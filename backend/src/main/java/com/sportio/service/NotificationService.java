@@ -0,0 +1,296 @@
+package com.sportio.service;
+
+import com.sportio.cache.NotificationCounterCache;
+import com.sportio.dto.NotificationListDto;
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.event.ChatMessageSentEvent;
+import com.sportio.event.PlayerJoinedEvent;
+import com.sportio.event.WaitlistPromotedEvent;
+import com.sportio.exception.NotificationNotFoundException;
+import com.sportio.realtime.UserEventStreams;
+import com.sportio.repository.CreatedNotification;
+import com.sportio.repository.NotificationDraft;
+import com.sportio.repository.NotificationRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for in-app notifications.
+ * A notification is created for every recipient of an event in one set-based insert
+ * that also bumps their unread counters, then pushed to the recipients' user event
+ * streams. Chat messages are collected for {@code notifications.chat.window} so a
+ * lively chat costs one insert per session per window instead of one per message.
+ */
+@Service
+@Slf4j
+public class NotificationService {
+
+    public static final String PLAYER_JOINED = "player_joined";
+    public static final String WAITLIST_PROMOTED = "waitlist_promoted";
+    public static final String CHAT_MESSAGE = "chat_message";
+
+    private final NotificationRepository notificationRepository;
+    private final SessionRepository sessionRepository;
+    private final UserRepository userRepository;
+    private final NotificationCounterCache notificationCounterCache;
+    private final UserEventStreams userEventStreams;
+    private final TransactionalOperator transactionalOperator;
+    private final MeterRegistry meterRegistry;
+    private final int maxPendingChat;
+    private final int maxChatPreviewLength;
+    private final Sinks.Many<ChatMessageSentEvent> chatQueue = Sinks.many().unicast().onBackpressureBuffer();
+    private final AtomicInteger pendingChat = new AtomicInteger();
+    private final Disposable chatFanOut;
+    private final DistributionSummary fanOutSizes;
+    private final Counter chatDropped;
+
+    public NotificationService(
+            NotificationRepository notificationRepository,
+            SessionRepository sessionRepository,
+            UserRepository userRepository,
+            NotificationCounterCache notificationCounterCache,
+            UserEventStreams userEventStreams,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry,
+            @Value("${notifications.chat.batch-size:1000}") int chatBatchSize,
+            @Value("${notifications.chat.window:2s}") Duration chatWindow,
+            @Value("${notifications.chat.max-pending:100000}") int maxPendingChat,
+            @Value("${notifications.chat.max-preview-length:140}") int maxChatPreviewLength) {
+        this.notificationRepository = notificationRepository;
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.notificationCounterCache = notificationCounterCache;
+        this.userEventStreams = userEventStreams;
+        this.transactionalOperator = transactionalOperator;
+        this.meterRegistry = meterRegistry;
+        this.maxPendingChat = maxPendingChat;
+        this.maxChatPreviewLength = maxChatPreviewLength;
+        this.fanOutSizes = DistributionSummary.builder("sportio.notifications.fanout.size")
+                .description("Recipients of one notification insert")
+                .register(meterRegistry);
+        this.chatDropped = Counter.builder("sportio.notifications.chat.dropped")
+                .description("Chat messages not notified because the queue was full")
+                .register(meterRegistry);
+
+        this.chatFanOut = chatQueue.asFlux()
+                .bufferTimeout(chatBatchSize, chatWindow, true)
+                .concatMap(this::notifyChat)
+                .subscribe(null, error -> log.error("Chat notifications stopped: {}", error.getMessage()));
+    }
+
+    /**
+     * Get one page of a user's notifications with their unread count.
+     *
+     * @param userId the user's ID
+     * @param limit maximum number of notifications
+     * @param offset number of notifications to skip
+     * @param unreadOnly whether to skip read notifications
+     * @return Mono with the page, newest first
+     */
+    public Mono<NotificationListDto> getNotifications(Long userId, int limit, int offset, boolean unreadOnly) {
+        return Mono.zip(
+                notificationCounterCache.get(userId),
+                notificationRepository.findPage(userId, unreadOnly, limit, offset).collectList(),
+                (unread, notifications) -> NotificationListDto.builder()
+                        .unreadCount(unread)
+                        .notifications(notifications)
+                        .build());
+    }
+
+    /**
+     * Mark one of a user's notifications read. Marking a read notification again is
+     * allowed.
+     *
+     * @param userId the owner's ID
+     * @param notificationId the notification's ID
+     * @return Mono completing once the notification is read
+     */
+    public Mono<Void> markRead(Long userId, Long notificationId) {
+        return notificationRepository.markRead(notificationId, userId, LocalDateTime.now())
+                .doOnNext(unread -> notificationCounterCache.invalidate(List.of(userId)))
+                .map(unread -> true)
+                .switchIfEmpty(Mono.defer(() -> notificationRepository.existsByIdAndUserId(notificationId, userId)))
+                .flatMap(exists -> exists
+                        ? Mono.<Void>empty()
+                        : Mono.error(new NotificationNotFoundException(notificationId)));
+    }
+
+    /**
+     * Mark all of a user's notifications read with one update of their counter.
+     * The counter stays locked between reading and clearing it. Fan-outs take the same
+     * lock before drawing notification IDs, so every notification below the new
+     * read_through mark is committed and counted, and any created meanwhile gets a
+     * higher ID and stays unread.
+     *
+     * @param userId the user's ID
+     * @return Mono with the number of notifications that were unread
+     */
+    public Mono<Integer> markAllRead(Long userId) {
+        return transactionalOperator.transactional(notificationRepository.lockUnreadCount(userId)
+                        .flatMap(unread -> notificationRepository.markAllRead(userId, LocalDateTime.now())
+                                .thenReturn(unread)))
+                .defaultIfEmpty(0)
+                .doOnNext(unread -> notificationCounterCache.invalidate(List.of(userId)));
+    }
+
+    /**
+     * Tell the other players of a session that someone joined.
+     *
+     * @param event the join
+     */
+    @EventListener
+    public void onPlayerJoined(PlayerJoinedEvent event) {
+        Mono.zip(userRepository.findById(event.userId()), sessionRepository.findById(event.sessionId()))
+                .flatMapMany(loaded -> {
+                    User user = loaded.getT1();
+                    Session session = loaded.getT2();
+                    NotificationDraft draft = new NotificationDraft(
+                            PLAYER_JOINED,
+                            "New Player Joined",
+                            user.getFullName() + " joined " + session.getTitle(),
+                            lobbyUrl(session.getId()));
+                    return fanOut(draft, notificationRepository.insertForSessionMembers(
+                            session.getId(), List.of(user.getId()), draft, LocalDateTime.now()));
+                })
+                .subscribe(null, error -> log.warn("Could not notify join of user {} to session {}: {}",
+                        event.userId(), event.sessionId(), error.getMessage()));
+    }
+
+    /**
+     * Tell a promoted user they now hold a seat.
+     *
+     * @param event the promotion
+     */
+    @EventListener
+    public void onWaitlistPromoted(WaitlistPromotedEvent event) {
+        sessionRepository.findById(event.sessionId())
+                .flatMapMany(session -> {
+                    NotificationDraft draft = new NotificationDraft(
+                            WAITLIST_PROMOTED,
+                            "You're In!",
+                            "A spot opened up in " + session.getTitle(),
+                            lobbyUrl(session.getId()));
+                    return fanOut(draft, notificationRepository.insertForUsers(
+                            List.of(event.userId()), draft, LocalDateTime.now()));
+                })
+                .subscribe(null, error -> log.warn("Could not notify promotion of user {} in session {}: {}",
+                        event.userId(), event.sessionId(), error.getMessage()));
+    }
+
+    /**
+     * Queue a chat message to be notified to the session's other players with the
+     * rest of its window.
+     *
+     * @param event the message
+     */
+    @EventListener
+    public void onChatMessageSent(ChatMessageSentEvent event) {
+        if (pendingChat.incrementAndGet() > maxPendingChat) {
+            pendingChat.decrementAndGet();
+            chatDropped.increment();
+            return;
+        }
+        Sinks.EmitResult result;
+        // Sinks reject concurrent emissions instead of queueing them
+        synchronized (chatQueue) {
+            result = chatQueue.tryEmitNext(event);
+        }
+        if (result.isFailure()) {
+            pendingChat.decrementAndGet();
+            chatDropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        chatFanOut.dispose();
+    }
+
+    // One notification per recipient and session for the whole window, previewing the
+    // latest message; players who wrote in the window are reading the chat and are skipped
+    private Mono<Void> notifyChat(List<ChatMessageSentEvent> batch) {
+        Map<Long, List<ChatMessageSentEvent>> bySession = new LinkedHashMap<>();
+        batch.forEach(event -> bySession.computeIfAbsent(event.sessionId(), id -> new ArrayList<>()).add(event));
+        return Flux.fromIterable(bySession.entrySet())
+                .concatMap(entry -> sessionRepository.findById(entry.getKey())
+                        .flatMapMany(session -> {
+                            List<ChatMessageSentEvent> messages = entry.getValue();
+                            ChatMessageSentEvent latest = messages.get(messages.size() - 1);
+                            String title = messages.size() == 1
+                                    ? "New message in " + session.getTitle()
+                                    : messages.size() + " new messages in " + session.getTitle();
+                            NotificationDraft draft = new NotificationDraft(
+                                    CHAT_MESSAGE,
+                                    title,
+                                    latest.senderName() + ": " + preview(latest.text()),
+                                    "sportio://session/" + session.getId() + "/chat");
+                            List<Long> senders = messages.stream().map(ChatMessageSentEvent::senderId).distinct().toList();
+                            return fanOut(draft, notificationRepository.insertForSessionMembers(
+                                    session.getId(), senders, draft, LocalDateTime.now()));
+                        })
+                        .onErrorResume(error -> {
+                            log.warn("Could not notify {} chat messages of session {}: {}",
+                                    entry.getValue().size(), entry.getKey(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .doFinally(signal -> pendingChat.addAndGet(-batch.size()))
+                .then();
+    }
+
+    private Mono<Void> fanOut(NotificationDraft draft, Flux<CreatedNotification> inserts) {
+        return inserts.collectList()
+                .doOnNext(created -> deliver(draft, created))
+                .then();
+    }
+
+    private void deliver(NotificationDraft draft, List<CreatedNotification> created) {
+        fanOutSizes.record(created.size());
+        if (created.isEmpty()) {
+            return;
+        }
+        meterRegistry.counter("sportio.notifications.created", "type", draft.type()).increment(created.size());
+
+        notificationCounterCache.invalidate(created.stream().map(CreatedNotification::userId).distinct().toList());
+
+        for (CreatedNotification notification : created) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", notification.id());
+            data.put("type", draft.type());
+            data.put("title", draft.title());
+            data.put("body", draft.body());
+            data.put("actionUrl", draft.actionUrl());
+            data.put("unreadCount", notification.unread());
+            userEventStreams.publish(notification.userId(), UserEventStreams.NOTIFICATION_NEW, data);
+        }
+    }
+
+    private String preview(String text) {
+        return text.length() <= maxChatPreviewLength ? text : text.substring(0, maxChatPreviewLength - 1) + "…";
+    }
+
+    private static String lobbyUrl(Long sessionId) {
+        return "sportio://session/" + sessionId + "/lobby";
+    }
+}
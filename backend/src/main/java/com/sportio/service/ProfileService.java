@@ -1,20 +1,27 @@
 package com.sportio.service;
 
+import com.sportio.cache.PublicProfileCache;
 import com.sportio.dto.*;
-import com.sportio.entity.Session;
-import com.sportio.entity.SessionPlayer;
 import com.sportio.entity.User;
+import com.sportio.entity.UserStats;
+import com.sportio.exception.ProfileVersionConflictException;
 import com.sportio.exception.UserNotFoundException;
 import com.sportio.repository.SessionPlayerRepository;
-import com.sportio.repository.SessionRepository;
+import com.sportio.repository.ProfileVersions;
 import com.sportio.repository.UserRepository;
+import com.sportio.repository.UserStatsRepository;
+import com.sportio.security.TokenVersionRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Service for user profile operations including stats calculation and session history.
@@ -26,7 +33,10 @@ public class ProfileService {
     
     private final UserRepository userRepository;
     private final SessionPlayerRepository sessionPlayerRepository;
-    private final SessionRepository sessionRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final PublicProfileCache publicProfileCache;
+    private final PublicProfileBatchLoader publicProfileBatchLoader;
     
     /**
      * Get full profile for authenticated user including statistics.
@@ -39,12 +49,34 @@ public class ProfileService {
         
         return userRepository.findById(userId)
                 .switchIfEmpty(Mono.error(new UserNotFoundException(userId)))
-                .flatMap(user -> calculateUserStats(userId)
-                        .map(stats -> mapToUserProfileDto(user, stats)));
+                .flatMap(this::getFullProfile);
+    }
+    
+    /**
+     * Get full profile for an already loaded user including statistics.
+     *
+     * @param user the user entity
+     * @return Mono containing the full user profile with stats
+     */
+    public Mono<UserProfileDto> getFullProfile(User user) {
+        return calculateUserStats(user.getId())
+                .map(stats -> mapToUserProfileDto(user, stats));
+    }
+    
+    /**
+     * Get the change counters used to build ETags for the user's profile and session
+     * history. A single primary key lookup, so unchanged data is never re-read.
+     *
+     * @param userId the user's ID
+     * @return Mono with the versions, or empty if the user does not exist
+     */
+    public Mono<ProfileVersions> getProfileVersions(Long userId) {
+        return userRepository.findProfileVersions(userId);
     }
     
     /**
      * Get public profile for viewing other users.
+     * Served from {@link PublicProfileCache}; the database is read only on a miss in both tiers.
      *
      * @param userId the user's ID
      * @return Mono containing the public profile (excludes email)
@@ -52,56 +84,93 @@ public class ProfileService {
     public Mono<UserPublicProfileDto> getPublicProfile(Long userId) {
         log.info("Fetching public profile for user: {}", userId);
         
-        return userRepository.findById(userId)
-                .switchIfEmpty(Mono.error(new UserNotFoundException(userId)))
-                .map(this::mapToUserPublicProfileDto);
+        return publicProfileCache.get(userId, () -> publicProfileBatchLoader.load(userId))
+                .switchIfEmpty(Mono.error(new UserNotFoundException(userId)));
     }
     
     /**
-     * Calculate aggregated statistics for a user.
+     * Get public profiles for several users at once.
+     * Cache misses are coalesced by {@link PublicProfileBatchLoader} into a single
+     * {@code IN} query. Unknown IDs are skipped.
+     *
+     * @param userIds the users' IDs
+     * @return Flux of public profiles in the order the IDs were given, without duplicates
+     */
+    public Flux<UserPublicProfileDto> getPublicProfiles(List<Long> userIds) {
+        log.info("Fetching public profiles for {} users", userIds.size());
+        
+        return Flux.fromIterable(new LinkedHashSet<>(userIds))
+                .flatMapSequential(userId -> publicProfileCache.get(userId, () -> publicProfileBatchLoader.load(userId)));
+    }
+    
+    /**
+     * Get aggregated statistics for a user from the user_stats read model.
      *
      * @param userId the user's ID
      * @return Mono containing the user statistics
      */
     public Mono<UserStatsDto> calculateUserStats(Long userId) {
-        log.debug("Calculating stats for user: {}", userId);
+        log.debug("Loading stats for user: {}", userId);
         
-        return sessionPlayerRepository.countByUserId(userId)
-                .map(totalBookings -> UserStatsDto.builder()
-                        .totalBookings(totalBookings.intValue())
-                        .avgRating(0.0)  // Placeholder until ratings feature
-                        .friendsCount(0)  // Placeholder until friends feature
-                        .build())
-                .defaultIfEmpty(UserStatsDto.builder()
-                        .totalBookings(0)
-                        .avgRating(0.0)
-                        .friendsCount(0)
-                        .build());
+        return userStatsRepository.findById(userId)
+                .map(this::mapToUserStatsDto)
+                .defaultIfEmpty(emptyStats());
     }
     
     /**
-     * Get user's session participation history.
+     * Get one page of the user's session participation history.
+     * Reads limit + 1 rows in a single joined query to learn whether another page follows.
      *
      * @param userId the user's ID
-     * @return Flux of session history entries ordered by date descending
+     * @param limit maximum number of entries on the page
+     * @param cursor cursor returned with the previous page, or null for the first page
+     * @return Mono containing the page, ordered by date descending
      */
-    public Flux<SessionHistoryDto> getSessionHistory(Long userId) {
-        log.debug("Fetching session history for user: {}", userId);
+    public Mono<SessionHistoryPage> getSessionHistoryPage(Long userId, int limit, String cursor) {
+        log.debug("Fetching session history page for user: {}", userId);
         
-        return sessionPlayerRepository.findByUserId(userId)
-                .flatMap(sessionPlayer -> sessionRepository.findById(sessionPlayer.getSessionId())
-                        .map(session -> mapToSessionHistoryDto(session, sessionPlayer)))
-                .sort((a, b) -> {
-                    // Sort by date descending (most recent first)
-                    if (a.getDate() == null && b.getDate() == null) return 0;
-                    if (a.getDate() == null) return 1;
-                    if (b.getDate() == null) return -1;
-                    return b.getDate().compareTo(a.getDate());
+        return decodeCursor(cursor)
+                .flatMap(position -> findSessionHistory(userId, position.orElse(null), limit + 1).collectList())
+                .map(rows -> {
+                    if (rows.size() <= limit) {
+                        return new SessionHistoryPage(rows, null);
+                    }
+                    List<SessionHistoryDto> items = rows.subList(0, limit);
+                    return new SessionHistoryPage(items, SessionHistoryCursor.after(items.get(limit - 1)).encode());
                 });
     }
     
+    /**
+     * Stream the user's session participation history without buffering it.
+     *
+     * @param userId the user's ID
+     * @param cursor cursor to resume after, or null to start from the most recent session
+     * @return Flux of session history entries ordered by date descending
+     */
+    public Flux<SessionHistoryDto> streamSessionHistory(Long userId, String cursor) {
+        log.debug("Streaming session history for user: {}", userId);
+        
+        return decodeCursor(cursor)
+                .flatMapMany(position -> findSessionHistory(userId, position.orElse(null), null));
+    }
+    
+    private Mono<Optional<SessionHistoryCursor>> decodeCursor(String cursor) {
+        // Decoding throws InvalidCursorException, surfaced as a 400 by GlobalExceptionHandler
+        return Mono.fromCallable(() -> Optional.ofNullable(cursor).map(SessionHistoryCursor::decode));
+    }
+    
+    private Flux<SessionHistoryDto> findSessionHistory(Long userId, SessionHistoryCursor position, Integer limit) {
+        return position != null
+                ? sessionPlayerRepository.findHistory(userId, position.date(), position.sessionId(), limit)
+                : sessionPlayerRepository.findHistory(userId, null, null, limit);
+    }
+    
     /**
      * Update user profile with provided fields.
+     * Only the fields present in the request are written, in a single
+     * {@code UPDATE ... RETURNING} that also reads the user's stats, and the response is
+     * built from the returned row. Changing the full name bumps the user's token version
+     * in the same statement, since the name is embedded in issued tokens.
      *
      * @param userId the user's ID
      * @param request the update request
@@ -110,31 +179,38 @@ public class ProfileService {
     public Mono<UserProfileDto> updateProfile(Long userId, UserUpdateRequest request) {
         log.info("Updating profile for user: {}", userId);
         
-        return userRepository.findById(userId)
-                .switchIfEmpty(Mono.error(new UserNotFoundException(userId)))
-                .flatMap(user -> {
-                    updateUserFields(user, request);
-                    user.setUpdatedAt(LocalDateTime.now());
-                    return userRepository.save(user);
-                })
-                .flatMap(user -> calculateUserStats(userId)
-                        .map(stats -> mapToUserProfileDto(user, stats)));
+        return userRepository.updateProfile(userId, collectChanges(request), request.getVersion())
+                .switchIfEmpty(Mono.defer(() -> userRepository.existsById(userId)
+                        .flatMap(exists -> Mono.error(exists
+                                ? new ProfileVersionConflictException(userId)
+                                : new UserNotFoundException(userId)))))
+                .flatMap(result -> {
+                    User user = result.user();
+                    tokenVersionRegistry.record(user.getId(), user.getTokenVersion());
+                    UserStatsDto stats = result.stats() != null
+                            ? mapToUserStatsDto(result.stats())
+                            : emptyStats();
+                    return publicProfileCache.invalidate(user.getId())
+                            .thenReturn(mapToUserProfileDto(user, stats));
+                });
     }
     
-    private void updateUserFields(User user, UserUpdateRequest request) {
+    private Map<String, Object> collectChanges(UserUpdateRequest request) {
+        Map<String, Object> changes = new LinkedHashMap<>();
         if (request.getFullName() != null) {
-            user.setFullName(request.getFullName().trim());
-            user.setAvatarInitials(generateInitials(request.getFullName()));
+            changes.put("full_name", request.getFullName().trim());
+            changes.put("avatar_initials", generateInitials(request.getFullName()));
         }
         if (request.getAvatarUrl() != null) {
-            user.setAvatarUrl(request.getAvatarUrl());
+            changes.put("avatar_url", request.getAvatarUrl());
         }
         if (request.getSkillLevel() != null) {
-            user.setSkillLevel(request.getSkillLevel());
+            changes.put("skill_level", request.getSkillLevel());
         }
         if (request.getBio() != null) {
-            user.setBio(request.getBio());
+            changes.put("bio", request.getBio());
         }
+        return changes;
     }
     
     private String generateInitials(String fullName) {
@@ -148,6 +224,26 @@ public class ProfileService {
         return (parts[0].charAt(0) + "" + parts[parts.length - 1].charAt(0)).toUpperCase();
     }
     
+    private UserStatsDto mapToUserStatsDto(UserStats stats) {
+        double avgRating = stats.getRatingCount() != null && stats.getRatingCount() > 0
+                ? (double) stats.getRatingSum() / stats.getRatingCount()
+                : 0.0;
+        return UserStatsDto.builder()
+                .totalBookings(stats.getTotalBookings())
+                .avgRating(avgRating)
+                .friendsCount(stats.getFriendsCount())
+                .build();
+    }
+    
+    // Stats of a user without a user_stats row, shared by GET and PUT /me
+    private static UserStatsDto emptyStats() {
+        return UserStatsDto.builder()
+                .totalBookings(0)
+                .avgRating(0.0)
+                .friendsCount(0)
+                .build();
+    }
+    
     private UserProfileDto mapToUserProfileDto(User user, UserStatsDto stats) {
         return UserProfileDto.builder()
                 .id(user.getId())
@@ -160,34 +256,7 @@ public class ProfileService {
                 .bio(user.getBio())
                 .memberSince(user.getMemberSince())
                 .stats(stats)
-                .build();
-    }
-    
-    private UserPublicProfileDto mapToUserPublicProfileDto(User user) {
-        return UserPublicProfileDto.builder()
-                .id(user.getId())
-                .fullName(user.getFullName())
-                .avatarUrl(user.getAvatarUrl())
-                .avatarInitials(user.getAvatarInitials())
-                .skillLevel(user.getSkillLevel())
-                .gamesPlayed(user.getGamesPlayed())
-                .bio(user.getBio())
-                .memberSince(user.getMemberSince())
-                .build();
-    }
-    
-    private SessionHistoryDto mapToSessionHistoryDto(Session session, SessionPlayer sessionPlayer) {
-        return SessionHistoryDto.builder()
-                .sessionId(session.getId())
-                .sportType(session.getSportType())
-                .title(session.getTitle())
-                .date(session.getDate())
-                .timeStart(session.getTimeStart())
-                .timeEnd(session.getTimeEnd())
-                .status(session.getStatus())
-                .isHost(sessionPlayer.getIsHost())
-                .joinedAt(sessionPlayer.getJoinedAt())
+                .version(user.getVersion())
                 .build();
     }
 }
-
@@ -0,0 +1,147 @@
+package com.sportio.service;
+
+import com.sportio.dto.UserPublicProfileDto;
+import com.sportio.entity.User;
+import com.sportio.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DataLoader-style batcher for public profile lookups.
+ * Loads requested within {@code profile.batch.window} of each other are collected and
+ * answered by one {@code WHERE id IN (...)} query; a batch is sent early once it
+ * reaches {@code profile.batch.max-size}. Concurrent loads of the same ID share one
+ * pending result until its batch completes.
+ */
+@Component
+@Slf4j
+public class PublicProfileBatchLoader {
+
+    private final UserRepository userRepository;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+
+    private final Object lock = new Object();
+    // Guarded by lock
+    private final Map<Long, Mono<UserPublicProfileDto>> inFlight = new HashMap<>();
+    private Map<Long, Sinks.One<UserPublicProfileDto>> pending;
+
+    public PublicProfileBatchLoader(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${profile.batch.window:2ms}") Duration window,
+            @Value("${profile.batch.max-size:100}") int maxBatchSize) {
+        this.userRepository = userRepository;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("sportio.profile.batch.size")
+                .description("Number of distinct users fetched per batched profile query")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Load one public profile as part of the next batch.
+     *
+     * @param userId the user's ID
+     * @return Mono with the profile, or empty if the user does not exist
+     */
+    public Mono<UserPublicProfileDto> load(Long userId) {
+        return Mono.defer(() -> enqueue(userId));
+    }
+
+    private Mono<UserPublicProfileDto> enqueue(Long userId) {
+        Map<Long, Sinks.One<UserPublicProfileDto>> full = null;
+        Mono<UserPublicProfileDto> result;
+        synchronized (lock) {
+            Mono<UserPublicProfileDto> existing = inFlight.get(userId);
+            if (existing != null) {
+                return existing;
+            }
+            Sinks.One<UserPublicProfileDto> sink = Sinks.one();
+            result = sink.asMono();
+            inFlight.put(userId, result);
+
+            if (pending == null) {
+                Map<Long, Sinks.One<UserPublicProfileDto>> batch = new LinkedHashMap<>();
+                pending = batch;
+                Mono.delay(window).subscribe(tick -> flush(batch));
+            }
+            pending.put(userId, sink);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    private void flush(Map<Long, Sinks.One<UserPublicProfileDto>> batch) {
+        synchronized (lock) {
+            if (pending != batch) {
+                // Already sent because it filled up
+                return;
+            }
+            pending = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<Long, Sinks.One<UserPublicProfileDto>> batch) {
+        batchSizes.record(batch.size());
+        userRepository.findAllById(batch.keySet())
+                .collectMap(User::getId, PublicProfileBatchLoader::toPublicProfile)
+                .subscribe(
+                        profiles -> complete(batch, profiles, null),
+                        error -> complete(batch, Map.of(), error));
+    }
+
+    private void complete(Map<Long, Sinks.One<UserPublicProfileDto>> batch,
+                          Map<Long, UserPublicProfileDto> profiles, Throwable error) {
+        synchronized (lock) {
+            batch.keySet().forEach(inFlight::remove);
+        }
+        if (error != null) {
+            log.error("Batched profile load of {} users failed: {}", batch.size(), error.getMessage());
+        }
+        batch.forEach((userId, sink) -> {
+            if (error != null) {
+                sink.tryEmitError(error);
+            } else {
+                UserPublicProfileDto profile = profiles.get(userId);
+                if (profile != null) {
+                    sink.tryEmitValue(profile);
+                } else {
+                    sink.tryEmitEmpty();
+                }
+            }
+        });
+    }
+
+    static UserPublicProfileDto toPublicProfile(User user) {
+        return UserPublicProfileDto.builder()
+                .id(user.getId())
+                .fullName(user.getFullName())
+                .avatarUrl(user.getAvatarUrl())
+                .avatarInitials(user.getAvatarInitials())
+                .skillLevel(user.getSkillLevel())
+                .gamesPlayed(user.getGamesPlayed())
+                .bio(user.getBio())
+                .memberSince(user.getMemberSince())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.sportio.service;
+
+import com.sportio.dto.AuthResponse;
+import com.sportio.exception.InvalidRefreshTokenException;
+import com.sportio.repository.RefreshTokenFamilyRepository;
+import com.sportio.repository.RefreshTokenRotation;
+import com.sportio.security.AuthenticatedPrincipal;
+import com.sportio.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Service issuing and rotating refresh tokens.
+ * Each login starts a token family; a refresh atomically advances the family to the
+ * next generation, so every refresh token works exactly once. Presenting an already
+ * used token revokes the whole family, since it means the token was copied.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private final RefreshTokenFamilyRepository familyRepository;
+    private final JwtUtil jwtUtil;
+    private final int purgeBatchSize;
+    private final Counter refreshRejected;
+
+    public RefreshTokenService(
+            RefreshTokenFamilyRepository familyRepository,
+            JwtUtil jwtUtil,
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-token.purge-batch-size:500}") int purgeBatchSize) {
+        this.familyRepository = familyRepository;
+        this.jwtUtil = jwtUtil;
+        this.purgeBatchSize = purgeBatchSize;
+        this.refreshRejected = Counter.builder("sportio.auth.refresh.rejected")
+                .description("Refresh attempts refused; the family is revoked on each one")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start a new token family and return its first refresh token.
+     *
+     * @param principal the authenticated identity
+     * @return Mono with the refresh token
+     */
+    public Mono<String> issue(AuthenticatedPrincipal principal) {
+        UUID familyId = UUID.randomUUID();
+        return familyRepository.insertFamily(familyId, principal.getUserId(), familyExpiry(LocalDateTime.now()))
+                .thenReturn(familyId)
+                .map(id -> jwtUtil.generateRefreshToken(principal, id, 0));
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token of
+     * its family. Costs a single indexed UPDATE and no password verification.
+     *
+     * @param refreshToken the presented refresh token
+     * @return Mono with the new tokens
+     */
+    public Mono<AuthResponse> refresh(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtUtil.validateToken(refreshToken);
+        } catch (JwtException e) {
+            return Mono.error(new InvalidRefreshTokenException());
+        }
+        if (!jwtUtil.isTokenType(claims, JwtUtil.REFRESH_TOKEN_TYPE)
+                || claims.get(JwtUtil.FAMILY_ID_CLAIM, String.class) == null
+                || claims.get(JwtUtil.GENERATION_CLAIM, Integer.class) == null) {
+            return Mono.error(new InvalidRefreshTokenException());
+        }
+
+        UUID familyId;
+        try {
+            familyId = UUID.fromString(claims.get(JwtUtil.FAMILY_ID_CLAIM, String.class));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new InvalidRefreshTokenException());
+        }
+        int generation = claims.get(JwtUtil.GENERATION_CLAIM, Integer.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        return familyRepository.rotate(familyId, generation, now, familyExpiry(now))
+                .map(rotation -> buildResponse(familyId, rotation))
+                .switchIfEmpty(Mono.defer(() -> {
+                    // Reused, revoked or expired: revoke the family so a stolen token chain dies with it
+                    log.warn("Refused refresh for family {} at generation {}, revoking family", familyId, generation);
+                    refreshRejected.increment();
+                    return familyRepository.revoke(familyId)
+                            .then(Mono.error(new InvalidRefreshTokenException()));
+                }));
+    }
+
+    /**
+     * Revoke the family of a refresh token, if the token is valid and belongs to the
+     * given user. Invalid or foreign tokens are ignored so logout always succeeds.
+     *
+     * @param refreshToken the refresh token whose family to revoke
+     * @param userId the ID of the user logging out
+     * @return Mono completing once the family is revoked
+     */
+    public Mono<Void> revokeFamily(String refreshToken, Long userId) {
+        Claims claims;
+        try {
+            claims = jwtUtil.validateToken(refreshToken);
+        } catch (JwtException e) {
+            return Mono.empty();
+        }
+        String familyId = claims.get(JwtUtil.FAMILY_ID_CLAIM, String.class);
+        if (!jwtUtil.isTokenType(claims, JwtUtil.REFRESH_TOKEN_TYPE) || familyId == null
+                || !userId.equals(claims.get("userId", Long.class))) {
+            return Mono.empty();
+        }
+        try {
+            return familyRepository.revoke(UUID.fromString(familyId)).then();
+        } catch (IllegalArgumentException e) {
+            return Mono.empty();
+        }
+    }
+
+    /**
+     * Delete expired families in bounded batches until none are left.
+     *
+     * @return Mono completing when the purge finishes
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-token.purge-interval:PT1H}", initialDelayString = "${auth.refresh-token.purge-interval:PT1H}")
+    public Mono<Void> purgeExpiredFamilies() {
+        LocalDateTime now = LocalDateTime.now();
+        return familyRepository.deleteExpiredBatch(now, purgeBatchSize)
+                .expand(deleted -> deleted < purgeBatchSize
+                        ? Mono.empty()
+                        : familyRepository.deleteExpiredBatch(now, purgeBatchSize))
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Purged {} expired refresh token families", total);
+                    }
+                })
+                .then();
+    }
+
+    private AuthResponse buildResponse(UUID familyId, RefreshTokenRotation rotation) {
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.builder()
+                .userId(rotation.getUserId())
+                .email(rotation.getEmail())
+                .fullName(rotation.getFullName())
+                .tokenVersion(rotation.getTokenVersion() != null ? rotation.getTokenVersion() : 0)
+                .build();
+
+        return AuthResponse.builder()
+                .accessToken(jwtUtil.generateAccessToken(principal))
+                .refreshToken(jwtUtil.generateRefreshToken(principal, familyId, rotation.getGeneration()))
+                .expiresIn(jwtUtil.getAccessTokenExpiration())
+                .build();
+    }
+
+    private LocalDateTime familyExpiry(LocalDateTime now) {
+        return now.plus(jwtUtil.getRefreshTokenExpiration(), ChronoUnit.MILLIS);
+    }
+}
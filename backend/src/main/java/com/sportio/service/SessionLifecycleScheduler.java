@@ -0,0 +1,97 @@
+package com.sportio.service;
+
+import com.sportio.cache.PublicProfileCache;
+import com.sportio.event.SessionChangedEvent;
+import com.sportio.repository.SessionCompletion;
+import com.sportio.repository.SessionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves open and booked sessions to completed once they have ended, so discovery
+ * queries and the in-memory index stop carrying them. Sessions are completed in
+ * batches of {@code sessions.lifecycle.batch-size}, each a single statement that also
+ * credits the participants' games played. Batches skip rows locked elsewhere, so the
+ * job can run on every node at once.
+ */
+@Service
+@Slf4j
+public class SessionLifecycleScheduler {
+
+    private final SessionRepository sessionRepository;
+    private final PublicProfileCache publicProfileCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Timer batchTimer;
+    private final Counter completedCounter;
+
+    public SessionLifecycleScheduler(
+            SessionRepository sessionRepository,
+            PublicProfileCache publicProfileCache,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${sessions.lifecycle.batch-size:500}") int batchSize) {
+        this.sessionRepository = sessionRepository;
+        this.publicProfileCache = publicProfileCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.batchTimer = Timer.builder("sportio.session.lifecycle.batch")
+                .description("Time to complete one batch of ended sessions")
+                .register(meterRegistry);
+        this.completedCounter = Counter.builder("sportio.session.lifecycle.completed")
+                .description("Sessions moved to completed after they ended")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Complete ended sessions one batch per statement until a batch comes back short.
+     *
+     * @return Mono completing with the number of completed sessions
+     */
+    @Scheduled(fixedDelayString = "${sessions.lifecycle.interval:PT1M}", initialDelayString = "${sessions.lifecycle.interval:PT1M}")
+    public Mono<Integer> completeEndedSessions() {
+        LocalDateTime now = LocalDateTime.now();
+        return completeBatch(now)
+                .expand(completed -> completed < batchSize ? Mono.empty() : completeBatch(now))
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        log.info("Completed {} ended sessions", total);
+                    }
+                });
+    }
+
+    private Mono<Integer> completeBatch(LocalDateTime now) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return sessionRepository.completeEnded(now, batchSize)
+                    .collectList()
+                    .doOnNext(batch -> {
+                        sample.stop(batchTimer);
+                        completedCounter.increment(batch.size());
+                    })
+                    .flatMap(batch -> publish(batch).thenReturn(batch.size()));
+        });
+    }
+
+    private Mono<Void> publish(List<SessionCompletion> batch) {
+        batch.forEach(completion -> eventPublisher.publishEvent(SessionChangedEvent.completed(completion.session())));
+        // Games played is part of the public profile
+        return Flux.fromIterable(batch)
+                .flatMapIterable(SessionCompletion::playerIds)
+                .distinct()
+                .flatMap(publicProfileCache::invalidate)
+                .then();
+    }
+}
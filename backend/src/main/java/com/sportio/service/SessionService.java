@@ -0,0 +1,494 @@
+package com.sportio.service;
+
+import com.sportio.cache.SessionAutocomplete;
+import com.sportio.cache.SessionGridIndex;
+import com.sportio.cache.SessionTileCache;
+import com.sportio.cache.SessionWaitlistCache;
+import com.sportio.dto.JoinSessionResponse;
+import com.sportio.dto.NearbySessionCursor;
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.dto.NearbySessionsPage;
+import com.sportio.dto.NearbySessionsRequest;
+import com.sportio.dto.SessionClusterDto;
+import com.sportio.dto.SessionLobbyDto;
+import com.sportio.dto.SessionMapRequest;
+import com.sportio.dto.SessionSearchCursor;
+import com.sportio.dto.SessionSearchPage;
+import com.sportio.dto.SessionSearchRequest;
+import com.sportio.dto.SessionSearchResultDto;
+import com.sportio.dto.WaitlistStatusDto;
+import com.sportio.entity.Session;
+import com.sportio.entity.SessionPlayer;
+import com.sportio.event.PlayerJoinedEvent;
+import com.sportio.event.PlayerLeftEvent;
+import com.sportio.event.WaitlistPromotedEvent;
+import com.sportio.realtime.SessionEventStreams;
+import com.sportio.exception.ServiceBusyException;
+import com.sportio.exception.SessionClosedException;
+import com.sportio.exception.SessionMembershipException;
+import com.sportio.exception.SessionNotFoundException;
+import com.sportio.exception.ViewportTooLargeException;
+import com.sportio.repository.NearbySessionQuery;
+import com.sportio.repository.SeatChange;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.SessionSearchQuery;
+import com.sportio.util.StripedSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service for session discovery and management.
+ */
+@Service
+@Slf4j
+public class SessionService {
+
+    private static final String JOINED = "joined";
+    private static final String WAITLISTED = "waitlisted";
+    private static final String PUBLIC = "public";
+
+    private final SessionRepository sessionRepository;
+    private final SessionPlayerRepository sessionPlayerRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final StripedSerializer membershipSerializer;
+    private final SessionGridIndex sessionGridIndex;
+    private final SessionTileCache sessionTileCache;
+    private final SessionAutocomplete sessionAutocomplete;
+    private final SessionWaitlistCache sessionWaitlistCache;
+    private final SessionEventStreams sessionEventStreams;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double defaultRadiusKm;
+    private final double maxRadiusKm;
+    private final int mapZoomOffset;
+    private final int mapMaxTiles;
+
+    public SessionService(
+            SessionRepository sessionRepository,
+            SessionPlayerRepository sessionPlayerRepository,
+            TransactionalOperator transactionalOperator,
+            SessionGridIndex sessionGridIndex,
+            SessionTileCache sessionTileCache,
+            SessionAutocomplete sessionAutocomplete,
+            SessionWaitlistCache sessionWaitlistCache,
+            SessionEventStreams sessionEventStreams,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${geo.default-radius-km:10}") double defaultRadiusKm,
+            @Value("${geo.max-radius-km:50}") double maxRadiusKm,
+            @Value("${geo.map.zoom-offset:2}") int mapZoomOffset,
+            @Value("${geo.map.max-tiles:256}") int mapMaxTiles,
+            @Value("${sessions.membership.lock-stripes:1024}") int membershipLockStripes) {
+        this.sessionRepository = sessionRepository;
+        this.sessionPlayerRepository = sessionPlayerRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.membershipSerializer = new StripedSerializer(membershipLockStripes);
+        this.sessionGridIndex = sessionGridIndex;
+        this.sessionTileCache = sessionTileCache;
+        this.sessionAutocomplete = sessionAutocomplete;
+        this.sessionWaitlistCache = sessionWaitlistCache;
+        this.sessionEventStreams = sessionEventStreams;
+        this.eventPublisher = eventPublisher;
+        this.defaultRadiusKm = defaultRadiusKm;
+        this.maxRadiusKm = maxRadiusKm;
+        this.mapZoomOffset = mapZoomOffset;
+        this.mapMaxTiles = mapMaxTiles;
+    }
+
+    /**
+     * Find one page of open sessions near a location, nearest first.
+     * Reads limit + 1 rows to learn whether another page follows.
+     *
+     * @param request the search parameters
+     * @param limit maximum number of sessions on the page
+     * @return Mono containing the page
+     */
+    public Mono<NearbySessionsPage> findNearbyPage(NearbySessionsRequest request, int limit) {
+        log.debug("Searching sessions near ({}, {})", request.getLat(), request.getLng());
+
+        return decodeCursor(request.getCursor())
+                .flatMap(position -> findNearby(toQuery(request, position.orElse(null), limit + 1))
+                        .collectList())
+                .map(rows -> {
+                    if (rows.size() <= limit) {
+                        return new NearbySessionsPage(rows, null);
+                    }
+                    List<NearbySessionDto> items = rows.subList(0, limit);
+                    return new NearbySessionsPage(items, NearbySessionCursor.after(items.get(limit - 1)).encode());
+                });
+    }
+
+    /**
+     * Stream every open session near a location, nearest first, without buffering.
+     *
+     * @param request the search parameters
+     * @return Flux of sessions ordered by distance
+     */
+    public Flux<NearbySessionDto> streamNearby(NearbySessionsRequest request) {
+        log.debug("Streaming sessions near ({}, {})", request.getLat(), request.getLng());
+
+        return decodeCursor(request.getCursor())
+                .flatMapMany(position -> findNearby(toQuery(request, position.orElse(null), null)));
+    }
+
+    /**
+     * Cluster the open sessions in a map viewport.
+     * The viewport is cut into tiles {@code geo.map.zoom-offset} levels deeper than the
+     * map zoom, and each non-empty tile comes back as one cluster from the tile cache.
+     *
+     * @param request the viewport and zoom level
+     * @return Mono containing the non-empty tiles' clusters
+     */
+    public Mono<List<SessionClusterDto>> getMapClusters(SessionMapRequest request) {
+        if (!sessionGridIndex.isReady()) {
+            return Mono.error(new ServiceBusyException("Session map is still loading", 1));
+        }
+        int zoom = Math.min(request.getZoom() + mapZoomOffset, sessionTileCache.maxZoom());
+        int tilesPerSide = 1 << zoom;
+        int firstX = SessionTileCache.tileX(request.getWest(), zoom);
+        int lastX = SessionTileCache.tileX(request.getEast(), zoom);
+        int firstY = SessionTileCache.tileY(Math.max(request.getNorth(), request.getSouth()), zoom);
+        int lastY = SessionTileCache.tileY(Math.min(request.getNorth(), request.getSouth()), zoom);
+        // A viewport crossing the antimeridian wraps around to the first column
+        int columns = firstX <= lastX ? lastX - firstX + 1 : tilesPerSide - firstX + lastX + 1;
+        long tileCount = (long) columns * (lastY - firstY + 1);
+        if (tileCount > mapMaxTiles) {
+            return Mono.error(new ViewportTooLargeException(mapMaxTiles));
+        }
+
+        return Mono.fromCallable(() -> {
+            List<SessionClusterDto> clusters = new ArrayList<>();
+            for (int column = 0; column < columns; column++) {
+                int x = (firstX + column) % tilesPerSide;
+                for (int y = firstY; y <= lastY; y++) {
+                    SessionClusterDto cluster = sessionTileCache.get(zoom, x, y);
+                    if (cluster != null) {
+                        clusters.add(cluster);
+                    }
+                }
+            }
+            return clusters;
+        });
+    }
+
+    /**
+     * Find one page of open sessions matching a full-text query, most relevant first.
+     * Reads limit + 1 rows to learn whether another page follows.
+     *
+     * @param request the search text, sport filter and cursor
+     * @param limit maximum number of sessions on the page
+     * @return Mono containing the page
+     */
+    public Mono<SessionSearchPage> searchPage(SessionSearchRequest request, int limit) {
+        log.debug("Searching sessions for '{}'", request.getQ());
+
+        return Mono.fromCallable(() -> Optional.ofNullable(request.getCursor()).map(SessionSearchCursor::decode))
+                .flatMap(position -> sessionRepository.search(new SessionSearchQuery(
+                                request.getQ().trim(),
+                                request.getSport() != null && !request.getSport().isBlank() ? request.getSport() : null,
+                                LocalDate.now(),
+                                position.map(SessionSearchCursor::rank).orElse(null),
+                                position.map(SessionSearchCursor::sessionId).orElse(null),
+                                limit + 1))
+                        .collectList())
+                .map(rows -> {
+                    if (rows.size() <= limit) {
+                        return new SessionSearchPage(rows, null);
+                    }
+                    List<SessionSearchResultDto> items = rows.subList(0, limit);
+                    return new SessionSearchPage(items, SessionSearchCursor.after(items.get(limit - 1)).encode());
+                });
+    }
+
+    /**
+     * Suggest session titles and sports for a typed prefix, from memory only.
+     *
+     * @param prefix text typed so far
+     * @param limit maximum number of suggestions
+     * @return Mono containing the suggestions
+     */
+    public Mono<List<String>> autocomplete(String prefix, int limit) {
+        return Mono.fromCallable(() -> sessionAutocomplete.suggest(prefix, limit));
+    }
+
+    /**
+     * Get a session's lobby: the session and its joined players' public profiles, read
+     * in one query. A private session is only shown to its host and players; to anyone
+     * else it does not exist.
+     *
+     * @param sessionId the session's ID
+     * @param userId the viewing user's ID
+     * @return Mono with the lobby
+     */
+    public Mono<SessionLobbyDto> getLobby(Long sessionId, Long userId) {
+        return sessionRepository.findLobby(sessionId)
+                .filterWhen(lobby -> isVisibleTo(sessionId, lobby.getHostId(), lobby.getVisibility(), userId))
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)));
+    }
+
+    /**
+     * Stream live changes to a session's players, so lobby clients do not have to poll.
+     * Subject to the same visibility rules as {@link #getLobby(Long, Long)}.
+     *
+     * @param sessionId the session's ID
+     * @param userId the viewing user's ID
+     * @return Flux of lobby events interleaved with heartbeats
+     */
+    public Flux<ServerSentEvent<Object>> streamLobbyEvents(Long sessionId, Long userId) {
+        return sessionRepository.findById(sessionId)
+                .filterWhen(session -> isVisibleTo(sessionId, session.getHostId(), session.getVisibility(), userId))
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)))
+                .flatMapMany(session -> sessionEventStreams.stream(sessionId));
+    }
+
+    /**
+     * Join a session as a player.
+     * Joins to the same session are serialized in-process, so a burst on a popular
+     * session holds one database connection instead of queueing on its row lock; the
+     * conditional seat increment keeps capacity exact across nodes. Why a join was
+     * refused is only looked up after the fact, off the fast path.
+     *
+     * @param sessionId the session's ID
+     * @param userId the joining user's ID
+     * @return Mono with the join confirmation
+     */
+    public Mono<JoinSessionResponse> joinSession(Long sessionId, Long userId) {
+        return membershipSerializer.run(sessionId, () -> transactionalOperator.transactional(
+                        sessionRepository.joinSession(sessionId, userId, LocalDateTime.now())
+                                .flatMap(change -> change.applied()
+                                        ? Mono.just(change)
+                                        // Rolls back a session_players row written without a seat
+                                        : Mono.<SeatChange>error(new SeatNotChangedException()))))
+                .onErrorResume(SeatNotChangedException.class, e -> explainRejectedJoin(sessionId, userId))
+                .doOnNext(change -> {
+                    // The user may have been waiting for this session
+                    sessionWaitlistCache.invalidate(sessionId);
+                    eventPublisher.publishEvent(new PlayerJoinedEvent(sessionId, userId));
+                })
+                .map(change -> {
+                    log.info("User {} joined session {} ({}/{})", userId, sessionId, change.playersJoined(), change.playersNeeded());
+                    return JoinSessionResponse.builder()
+                            .message("You've joined this session")
+                            .sessionId(sessionId)
+                            .status("waiting_for_booking")
+                            .info("Host will book when minimum players are met.")
+                            .playersJoined(change.playersJoined())
+                            .spotsLeft(change.playersNeeded() - change.playersJoined())
+                            .build();
+                });
+    }
+
+    /**
+     * Leave a session. In the same statement the seat goes to the head of the waitlist,
+     * who is then notified, or is released if nobody is waiting.
+     *
+     * @param sessionId the session's ID
+     * @param userId the leaving user's ID
+     * @return Mono completing once the user has left
+     */
+    public Mono<Void> leaveSession(Long sessionId, Long userId) {
+        return membershipSerializer.run(sessionId, () -> sessionRepository.leaveSession(sessionId, userId))
+                .flatMap(change -> change.applied()
+                        ? Mono.just(change)
+                        : explainRejectedLeave(sessionId, userId))
+                .doOnNext(change -> {
+                    log.info("User {} left session {} ({}/{})",
+                            userId, sessionId, change.playersJoined(), change.playersNeeded());
+                    eventPublisher.publishEvent(new PlayerLeftEvent(sessionId, userId));
+                    if (change.promotedUserId() != null) {
+                        log.info("User {} promoted from the waitlist of session {}", change.promotedUserId(), sessionId);
+                        sessionWaitlistCache.invalidate(sessionId);
+                        eventPublisher.publishEvent(new WaitlistPromotedEvent(sessionId, change.promotedUserId()));
+                    }
+                })
+                .then();
+    }
+
+    /**
+     * Wait for a seat in a full session. Places are handed out in arrival order and a
+     * seat released by a leaving player goes to the first user in line.
+     *
+     * @param sessionId the session's ID
+     * @param userId the waiting user's ID
+     * @return Mono with the user's place in line
+     */
+    public Mono<WaitlistStatusDto> joinWaitlist(Long sessionId, Long userId) {
+        return membershipSerializer.run(sessionId,
+                        () -> sessionPlayerRepository.joinWaitlist(sessionId, userId, LocalDateTime.now()))
+                .switchIfEmpty(Mono.defer(() -> explainRejectedWaitlist(sessionId, userId)))
+                .doOnNext(position -> {
+                    log.info("User {} joined the waitlist of session {}", userId, sessionId);
+                    sessionWaitlistCache.invalidate(sessionId);
+                })
+                .then(getWaitlistStatus(sessionId, userId));
+    }
+
+    /**
+     * Stop waiting for a seat in a session.
+     *
+     * @param sessionId the session's ID
+     * @param userId the waiting user's ID
+     * @return Mono completing once the user has left the waitlist
+     */
+    public Mono<Void> leaveWaitlist(Long sessionId, Long userId) {
+        return membershipSerializer.run(sessionId, () -> sessionPlayerRepository.leaveWaitlist(sessionId, userId))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return sessionRepository.existsById(sessionId)
+                                .flatMap(exists -> Mono.<Integer>error(exists
+                                        ? SessionMembershipException.notWaitlisted()
+                                        : new SessionNotFoundException(sessionId)));
+                    }
+                    log.info("User {} left the waitlist of session {}", userId, sessionId);
+                    sessionWaitlistCache.invalidate(sessionId);
+                    return Mono.just(updated);
+                })
+                .then();
+    }
+
+    /**
+     * Get a user's place in a session's waitlist. Users near the front are answered
+     * from the cached head of the queue.
+     *
+     * @param sessionId the session's ID
+     * @param userId the user's ID
+     * @return Mono with the user's place, absent if not waiting, and the queue length
+     */
+    public Mono<WaitlistStatusDto> getWaitlistStatus(Long sessionId, Long userId) {
+        return sessionWaitlistCache.get(sessionId)
+                .flatMap(head -> {
+                    int place = head.placeOf(userId);
+                    Mono<Integer> resolved = place > 0 || head.complete()
+                            ? Mono.just(place)
+                            : sessionPlayerRepository.findWaitlistPlace(sessionId, userId).map(Long::intValue);
+                    return resolved.map(position -> WaitlistStatusDto.builder()
+                            .sessionId(sessionId)
+                            .position(position > 0 ? position : null)
+                            .waiting(head.size())
+                            .build());
+                });
+    }
+
+    private Mono<SeatChange> explainRejectedJoin(Long sessionId, Long userId) {
+        return sessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)))
+                .flatMap(session -> {
+                    if ("cancelled".equals(session.getStatus())) {
+                        return Mono.error(SessionClosedException.cancelled());
+                    }
+                    if ("completed".equals(session.getStatus()) || hasStarted(session)) {
+                        return Mono.error(SessionClosedException.expired());
+                    }
+                    return sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                            .filter(player -> JOINED.equals(player.getStatus()))
+                            .flatMap(player -> Mono.<SeatChange>error(SessionMembershipException.alreadyJoined()))
+                            .switchIfEmpty(Mono.error(SessionMembershipException.full()));
+                });
+    }
+
+    private Mono<Long> explainRejectedWaitlist(Long sessionId, Long userId) {
+        return sessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)))
+                .flatMap(session -> {
+                    if ("cancelled".equals(session.getStatus())) {
+                        return Mono.error(SessionClosedException.cancelled());
+                    }
+                    if ("completed".equals(session.getStatus()) || hasStarted(session)) {
+                        return Mono.error(SessionClosedException.expired());
+                    }
+                    return sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                            .map(SessionPlayer::getStatus)
+                            .defaultIfEmpty("")
+                            .flatMap(status -> Mono.<Long>error(switch (status) {
+                                case JOINED -> SessionMembershipException.alreadyJoined();
+                                case WAITLISTED -> SessionMembershipException.alreadyWaitlisted();
+                                default -> SessionMembershipException.spotsAvailable();
+                            }));
+                });
+    }
+
+    private Mono<SeatChange> explainRejectedLeave(Long sessionId, Long userId) {
+        return sessionRepository.findById(sessionId)
+                .switchIfEmpty(Mono.error(new SessionNotFoundException(sessionId)))
+                .flatMap(session -> sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                        .filter(player -> JOINED.equals(player.getStatus()))
+                        .switchIfEmpty(Mono.error(SessionMembershipException.notJoined()))
+                        .flatMap(player -> {
+                            if (Boolean.TRUE.equals(player.getIsHost())) {
+                                return Mono.error(SessionMembershipException.isHost());
+                            }
+                            if ("cancelled".equals(session.getStatus())) {
+                                return Mono.error(SessionClosedException.cancelled());
+                            }
+                            if ("completed".equals(session.getStatus())) {
+                                return Mono.error(SessionClosedException.expired());
+                            }
+                            return Mono.error(SessionMembershipException.bookingConfirmed());
+                        }));
+    }
+
+    // Private sessions are visible to their host and to users who joined or are waiting
+    private Mono<Boolean> isVisibleTo(Long sessionId, Long hostId, String visibility, Long userId) {
+        if (PUBLIC.equals(visibility) || userId.equals(hostId)) {
+            return Mono.just(true);
+        }
+        return sessionPlayerRepository.findBySessionIdAndUserId(sessionId, userId)
+                .map(player -> JOINED.equals(player.getStatus()) || WAITLISTED.equals(player.getStatus()))
+                .defaultIfEmpty(false);
+    }
+
+    private static boolean hasStarted(Session session) {
+        return !LocalDateTime.of(session.getDate(), session.getTimeStart()).isAfter(LocalDateTime.now());
+    }
+
+    private Flux<NearbySessionDto> findNearby(NearbySessionQuery query) {
+        // The in-memory index answers once loaded; the GiST-backed query covers startup
+        if (sessionGridIndex.isReady()) {
+            return Flux.defer(() -> Flux.fromIterable(sessionGridIndex.findNearby(query)));
+        }
+        return sessionRepository.findNearby(query);
+    }
+
+    private Mono<Optional<NearbySessionCursor>> decodeCursor(String cursor) {
+        // Decoding throws InvalidCursorException, surfaced as a 400 by GlobalExceptionHandler
+        return Mono.fromCallable(() -> Optional.ofNullable(cursor).map(NearbySessionCursor::decode));
+    }
+
+    private NearbySessionQuery toQuery(NearbySessionsRequest request, NearbySessionCursor position, Integer limit) {
+        double radiusKm = request.getRadiusKm() != null
+                ? Math.min(request.getRadiusKm(), maxRadiusKm)
+                : defaultRadiusKm;
+        String sport = request.getSport() != null && !request.getSport().isBlank() ? request.getSport() : null;
+        return new NearbySessionQuery(
+                request.getLat(),
+                request.getLng(),
+                radiusKm * 1000,
+                sport,
+                request.getFrom() != null ? request.getFrom() : LocalDate.now(),
+                request.getTo(),
+                position != null ? position.distanceMeters() : null,
+                position != null ? position.sessionId() : null,
+                limit);
+    }
+
+    /**
+     * Signals a join that did not take a seat; carries no stack trace.
+     */
+    private static final class SeatNotChangedException extends RuntimeException {
+
+        private SeatNotChangedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sportio.service;
+
+import com.sportio.repository.UserStatsReconciliation;
+import com.sportio.repository.UserStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Periodically recomputes user statistics from the source tables and repairs drifted
+ * counters. The triggers keep user_stats current; this job only catches rows changed
+ * outside them, such as manual data fixes or trigger-less bulk loads.
+ */
+@Service
+@Slf4j
+public class UserStatsReconciler {
+
+    private final UserStatsRepository userStatsRepository;
+    private final int batchSize;
+    private final Counter repairedCounter;
+
+    public UserStatsReconciler(
+            UserStatsRepository userStatsRepository,
+            MeterRegistry meterRegistry,
+            @Value("${profile.stats.reconcile-batch-size:500}") int batchSize) {
+        this.userStatsRepository = userStatsRepository;
+        this.batchSize = batchSize;
+        this.repairedCounter = Counter.builder("sportio.user-stats.repaired")
+                .description("User stats rows corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Walk all users in ID order, one batch per query, and repair drifted rows.
+     *
+     * @return Mono completing with the number of repaired rows
+     */
+    @Scheduled(fixedDelayString = "${profile.stats.reconcile-interval:PT6H}", initialDelayString = "${profile.stats.reconcile-interval:PT6H}")
+    public Mono<Integer> reconcile() {
+        return userStatsRepository.reconcileBatch(0L, batchSize)
+                .expand(result -> result.getLastUserId() == null
+                        ? Mono.empty()
+                        : userStatsRepository.reconcileBatch(result.getLastUserId(), batchSize))
+                .map(UserStatsReconciliation::getRepaired)
+                .reduce(0, Integer::sum)
+                .doOnNext(total -> {
+                    if (total > 0) {
+                        repairedCounter.increment(total);
+                        log.warn("Reconciled {} drifted user stats rows", total);
+                    }
+                });
+    }
+}
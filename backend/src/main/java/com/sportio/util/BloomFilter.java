@@ -0,0 +1,121 @@
+package com.sportio.util;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, thread-safe Bloom filter over UUIDs.
+ * A negative answer is definite; a positive answer may be a false positive at
+ * roughly the rate the filter was sized for, as long as it holds no more than the
+ * expected number of entries.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int words = (int) Math.max(1, (bitCount + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates a filter sized for an expected number of entries and false positive rate.
+     *
+     * @param expectedEntries number of entries the filter should hold
+     * @param falsePositiveRate target false positive probability, e.g. 0.001
+     * @return an empty filter
+     */
+    public static BloomFilter create(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    /**
+     * Adds an entry to the filter.
+     *
+     * @param value the entry to add
+     */
+    public void put(UUID value) {
+        long h1 = mix(value.getMostSignificantBits());
+        long h2 = mix(value.getLeastSignificantBits() ^ h1);
+        for (int i = 0; i < hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    /**
+     * Checks whether an entry may have been added.
+     *
+     * @param value the entry to check
+     * @return false if the entry was definitely never added
+     */
+    public boolean mightContain(UUID value) {
+        long h1 = mix(value.getMostSignificantBits());
+        long h2 = mix(value.getLeastSignificantBits() ^ h1);
+        for (int i = 0; i < hashCount; i++) {
+            if (!isSet(index(h1 + i * h2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the share of bits currently set, a proxy for how close the filter is
+     * to its designed false positive rate.
+     *
+     * @return fill ratio between 0 and 1
+     */
+    public double fillRatio() {
+        long set = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            set += Long.bitCount(bits.get(i));
+        }
+        return (double) set / bitCount;
+    }
+
+    /**
+     * Estimates the current false positive probability from the fill ratio.
+     *
+     * @return estimated false positive probability
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(fillRatio(), hashCount);
+    }
+
+    private long index(long hash) {
+        return (hash & Long.MAX_VALUE) % bitCount;
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << (index & 63);
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean isSet(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << (index & 63))) != 0;
+    }
+
+    // 64-bit finalizer from MurmurHash3
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sportio.util;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Builds strong ETags from the change counters a response is derived from.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Build a strong ETag from a resource kind and the values that determine one
+     * version of the response. Equal inputs always give byte-identical responses, so
+     * the tag is strong.
+     *
+     * @param kind short prefix naming the resource, so tags of different endpoints never collide
+     * @param parts IDs, versions and request parameters that determine the response
+     * @return the quoted ETag
+     */
+    public static String of(String kind, Object... parts) {
+        String value = Arrays.stream(parts)
+                .map(String::valueOf)
+                // Request parameters are client-supplied; keep the tag within header-safe characters
+                .map(part -> part.replaceAll("[^A-Za-z0-9_-]", "_"))
+                .collect(Collectors.joining("."));
+        return "\"" + kind + "." + value + "\"";
+    }
+}
@@ -1,8 +1,10 @@
 package com.sportio.util;
 
 import com.sportio.entity.User;
+import com.sportio.security.AuthenticatedPrincipal;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,6 +17,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Utility class for JWT token generation and validation.
@@ -24,6 +27,7 @@ import java.util.Map;
 public class JwtUtil {
 
     private final Key secretKey;
+    private final JwtParser jwtParser;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
 
@@ -32,10 +36,19 @@ public class JwtUtil {
             @Value("${spring.security.jwt.access-token-expiration}") long accessTokenExpiration,
             @Value("${spring.security.jwt.refresh-token-expiration}") long refreshTokenExpiration) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Parsers are immutable and thread-safe, so one instance serves every request
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
     }
 
+    public static final String ACCESS_TOKEN_TYPE = "access";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+    public static final String FAMILY_ID_CLAIM = "familyId";
+    public static final String GENERATION_CLAIM = "generation";
+
     /**
      * Generates an access token for the given user.
      *
@@ -43,17 +56,33 @@ public class JwtUtil {
      * @return the generated JWT access token
      */
     public String generateAccessToken(User user) {
-        return generateToken(user, accessTokenExpiration, "access");
+        return generateAccessToken(AuthenticatedPrincipal.fromUser(user));
     }
 
     /**
-     * Generates a refresh token for the given user.
+     * Generates an access token for the given principal.
      *
-     * @param user the user to generate the token for
+     * @param principal the identity to generate the token for
+     * @return the generated JWT access token
+     */
+    public String generateAccessToken(AuthenticatedPrincipal principal) {
+        return generateToken(principal, accessTokenExpiration, ACCESS_TOKEN_TYPE, new HashMap<>());
+    }
+
+    /**
+     * Generates a refresh token for the given principal.
+     * The token identifies its family and generation so it can be used exactly once.
+     *
+     * @param principal the identity to generate the token for
+     * @param familyId the refresh token family
+     * @param generation the family generation this token is valid for
      * @return the generated JWT refresh token
      */
-    public String generateRefreshToken(User user) {
-        return generateToken(user, refreshTokenExpiration, "refresh");
+    public String generateRefreshToken(AuthenticatedPrincipal principal, UUID familyId, int generation) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(FAMILY_ID_CLAIM, familyId.toString());
+        claims.put(GENERATION_CLAIM, generation);
+        return generateToken(principal, refreshTokenExpiration, REFRESH_TOKEN_TYPE, claims);
     }
 
     /**
@@ -65,11 +94,21 @@ public class JwtUtil {
         return accessTokenExpiration;
     }
 
-    private String generateToken(User user, long expiration, String tokenType) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId());
-        claims.put("email", user.getEmail());
-        claims.put("fullName", user.getFullName());
+    /**
+     * Returns the refresh token expiration time in milliseconds.
+     *
+     * @return refresh token expiration in milliseconds
+     */
+    public long getRefreshTokenExpiration() {
+        return refreshTokenExpiration;
+    }
+
+    private String generateToken(AuthenticatedPrincipal principal, long expiration, String tokenType,
+                                 Map<String, Object> claims) {
+        claims.put("userId", principal.getUserId());
+        claims.put("email", principal.getEmail());
+        claims.put("fullName", principal.getFullName());
+        claims.put("tokenVersion", principal.getTokenVersion());
         claims.put("tokenType", tokenType);
 
         Date now = new Date();
@@ -77,7 +116,8 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
-                .setSubject(user.getEmail())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getEmail())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(secretKey, SignatureAlgorithm.HS256)
@@ -93,17 +133,42 @@ public class JwtUtil {
      */
     public Claims validateToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (JwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Builds the request principal from the claims of a validated token.
+     *
+     * @param claims the claims returned by {@link #validateToken(String)}
+     * @return the principal described by the claims
+     */
+    public AuthenticatedPrincipal toPrincipal(Claims claims) {
+        Integer tokenVersion = claims.get("tokenVersion", Integer.class);
+        return AuthenticatedPrincipal.builder()
+                .userId(claims.get("userId", Long.class))
+                .email(claims.getSubject())
+                .fullName(claims.get("fullName", String.class))
+                .tokenVersion(tokenVersion != null ? tokenVersion : 0)
+                .tokenId(claims.getId())
+                .expiresAtMillis(claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L)
+                .build();
+    }
+
+    /**
+     * Checks whether validated claims belong to a token of the given type.
+     *
+     * @param claims the claims returned by {@link #validateToken(String)}
+     * @param tokenType the expected token type
+     * @return true if the token type matches
+     */
+    public boolean isTokenType(Claims claims, String tokenType) {
+        return tokenType.equals(claims.get("tokenType", String.class));
+    }
+
     /**
      * Extracts the email from the given token.
      *
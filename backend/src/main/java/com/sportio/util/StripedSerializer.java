@@ -0,0 +1,59 @@
+package com.sportio.util;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Runs asynchronous tasks one at a time per key without blocking threads.
+ * Keys are hashed onto a fixed number of stripes. Tasks on a stripe start in
+ * subscription order, each once the previous one has completed, failed or been
+ * cancelled. A task cancelled while still waiting gives up its turn but holds the
+ * stripe until its predecessor has finished, so tasks never overlap. Unrelated keys
+ * that share a stripe also wait for each other, so more stripes mean less false
+ * contention at the cost of a few bytes each.
+ */
+public class StripedSerializer {
+
+    private final AtomicReferenceArray<Mono<Void>> tails;
+
+    public StripedSerializer(int stripes) {
+        this.tails = new AtomicReferenceArray<>(Math.max(1, stripes));
+        for (int i = 0; i < tails.length(); i++) {
+            tails.set(i, Mono.empty());
+        }
+    }
+
+    /**
+     * Run a task after every task already queued for the same stripe.
+     *
+     * @param key the key to serialize on
+     * @param task creates the work; called once its turn comes
+     * @param <T> the result type
+     * @return Mono with the task's result
+     */
+    public <T> Mono<T> run(long key, Supplier<Mono<T>> task) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Mono<Void> previous = tails.getAndSet(stripe(key), done.asMono());
+            return previous
+                    .then(Mono.defer(task))
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            // The predecessor may still be running; pass the turn on once it is not
+                            previous.subscribe(null, null, () -> done.tryEmitEmpty());
+                        } else {
+                            done.tryEmitEmpty();
+                        }
+                    });
+        });
+    }
+
+    private int stripe(long key) {
+        long hash = key * 0x9e3779b97f4a7c15L;
+        return (int) ((hash >>> 32) % tails.length());
+    }
+}
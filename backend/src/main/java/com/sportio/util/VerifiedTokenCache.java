@@ -0,0 +1,126 @@
+package com.sportio.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sportio.entity.User;
+import com.sportio.security.AuthenticatedPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded cache of already verified JWT access tokens.
+ * Entries are keyed by a SHA-256 digest of the token and expire at the token's own
+ * expiry (or the configured max TTL, whichever comes first), so a token presented
+ * repeatedly skips both signature verification and, in lookup mode, the user lookup.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final Cache<String, Entry> cache;
+    private final long maxTtlNanos;
+
+    public VerifiedTokenCache(
+            @Value("${auth.token-cache.max-size:10000}") long maxSize,
+            @Value("${auth.token-cache.max-ttl:60s}") Duration maxTtl,
+            MeterRegistry meterRegistry) {
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Looks up a previously verified token.
+     *
+     * @param digest the token digest from {@link #digest(String)}
+     * @return the cached entry, or null if the token has not been verified recently
+     */
+    public Entry get(String digest) {
+        return cache.getIfPresent(digest);
+    }
+
+    /**
+     * Records a verified token and the identity it resolved to.
+     *
+     * @param digest the token digest from {@link #digest(String)}
+     * @param principal the principal built from the token claims
+     * @param user the loaded user entity, or null when running in claims mode
+     * @param expiresAtMillis the token expiry as epoch milliseconds
+     */
+    public void put(String digest, AuthenticatedPrincipal principal, User user, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        cache.put(digest, new Entry(principal, user, expiresAtMillis));
+    }
+
+    /**
+     * Removes a token from the cache.
+     *
+     * @param digest the token digest from {@link #digest(String)}
+     */
+    public void invalidate(String digest) {
+        cache.invalidate(digest);
+    }
+
+    /**
+     * Computes the cache key for a raw token. Keys are fixed-size digests so memory
+     * use does not depend on how many claims a token carries.
+     *
+     * @param token the raw JWT
+     * @return Base64 encoded SHA-256 digest of the token
+     */
+    public String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A verified token and the identity it belongs to. The user entity is only
+     * present in lookup mode.
+     */
+    public record Entry(AuthenticatedPrincipal principal, User user, long expiresAtMillis) {
+
+        public boolean isExpired() {
+            return expiresAtMillis <= System.currentTimeMillis();
+        }
+    }
+
+    private class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long untilTokenExpiry = Duration.ofMillis(entry.expiresAtMillis() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(untilTokenExpiry, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
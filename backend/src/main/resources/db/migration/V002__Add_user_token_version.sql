@@ -0,0 +1,3 @@
+-- Per-user token version used to reject access tokens issued before a
+-- profile or credential change without a per-request user lookup
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- Refresh token families
+-- One row per login; every refresh rotates the family to the next generation,
+-- so only the newest refresh token of a family is accepted
+CREATE TABLE refresh_token_families (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    generation INTEGER NOT NULL DEFAULT 0,
+    revoked BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_used_at TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_refresh_token_families_user ON refresh_token_families(user_id);
+CREATE INDEX idx_refresh_token_families_expires ON refresh_token_families(expires_at);
@@ -0,0 +1,10 @@
+-- Revoked access tokens, keyed by the jti claim
+-- Rows are only needed until the token would have expired anyway
+CREATE TABLE revoked_tokens (
+    jti UUID PRIMARY KEY,
+    user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens(expires_at);
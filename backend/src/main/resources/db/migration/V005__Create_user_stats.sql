@@ -0,0 +1,59 @@
+-- User statistics read model
+-- One row per user, kept current by triggers on users and session_players, so a
+-- profile read is a primary key lookup instead of aggregate queries.
+-- rating_sum / rating_count and friends_count are reserved for the ratings and
+-- friends features and stay 0 until those land.
+CREATE TABLE user_stats (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    total_bookings INTEGER NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count INTEGER NOT NULL DEFAULT 0,
+    friends_count INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Every user gets a stats row when created
+CREATE FUNCTION user_stats_on_user_insert() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO user_stats (user_id) VALUES (NEW.id) ON CONFLICT (user_id) DO NOTHING;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_stats_user_insert
+    AFTER INSERT ON users
+    FOR EACH ROW EXECUTE FUNCTION user_stats_on_user_insert();
+
+-- Participation changes move total_bookings by one.
+-- Decrements are plain UPDATEs so cascaded deletes of a user never recreate its row.
+CREATE FUNCTION user_stats_on_participation_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE user_stats
+        SET total_bookings = total_bookings - 1, updated_at = CURRENT_TIMESTAMP
+        WHERE user_id = OLD.user_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO user_stats (user_id, total_bookings) VALUES (NEW.user_id, 1)
+        ON CONFLICT (user_id) DO UPDATE
+            SET total_bookings = user_stats.total_bookings + 1, updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_stats_participation_insert_delete
+    AFTER INSERT OR DELETE ON session_players
+    FOR EACH ROW EXECUTE FUNCTION user_stats_on_participation_change();
+
+CREATE TRIGGER trg_user_stats_participation_update
+    AFTER UPDATE OF user_id ON session_players
+    FOR EACH ROW WHEN (OLD.user_id IS DISTINCT FROM NEW.user_id)
+    EXECUTE FUNCTION user_stats_on_participation_change();
+
+-- Backfill existing users
+INSERT INTO user_stats (user_id, total_bookings)
+SELECT u.id, COUNT(sp.id)
+FROM users u
+LEFT JOIN session_players sp ON sp.user_id = u.id
+GROUP BY u.id;
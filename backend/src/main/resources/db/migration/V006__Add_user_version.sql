@@ -0,0 +1,3 @@
+-- Optimistic locking for profile edits
+-- Incremented by every update; writers that read an older version get a conflict
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,54 @@
+-- Participation version for conditional GETs
+-- Incremented whenever anything shown in a user's session history or stats changes,
+-- so an ETag check is one primary key read instead of re-running the history query.
+ALTER TABLE user_stats ADD COLUMN participation_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION user_stats_on_participation_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE user_stats
+        SET total_bookings = total_bookings - 1,
+            participation_version = participation_version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE user_id = OLD.user_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO user_stats (user_id, total_bookings, participation_version) VALUES (NEW.user_id, 1, 1)
+        ON CONFLICT (user_id) DO UPDATE
+            SET total_bookings = user_stats.total_bookings + 1,
+                participation_version = user_stats.participation_version + 1,
+                updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Status, host or payment changes of a participation
+CREATE FUNCTION user_stats_on_participation_update() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE user_stats
+    SET participation_version = participation_version + 1
+    WHERE user_id = NEW.user_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_stats_participation_modify
+    AFTER UPDATE ON session_players
+    FOR EACH ROW WHEN (OLD.user_id = NEW.user_id AND OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION user_stats_on_participation_update();
+
+-- Session edits change the history of everyone taking part
+CREATE FUNCTION user_stats_on_session_update() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE user_stats
+    SET participation_version = participation_version + 1
+    WHERE user_id IN (SELECT user_id FROM session_players WHERE session_id = NEW.id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_stats_session_update
+    AFTER UPDATE ON sessions
+    FOR EACH ROW WHEN (OLD.* IS DISTINCT FROM NEW.*)
+    EXECUTE FUNCTION user_stats_on_session_update();
@@ -0,0 +1,10 @@
+-- Full-text search over sessions
+-- A stored generated column keeps the document in step with title, sport and description
+-- without triggers; titles rank above sports, which rank above descriptions.
+ALTER TABLE sessions ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(sport_type, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_sessions_search ON sessions USING GIN (search_vector);
@@ -0,0 +1,29 @@
+-- Denormalized count of joined players per session
+-- Joins and leaves adjust it in the same statement that changes session_players, and a
+-- join only succeeds while players_joined < players_needed, so capacity is enforced by
+-- one conditional UPDATE on the session row instead of a count-then-insert.
+ALTER TABLE sessions ADD COLUMN players_joined INTEGER NOT NULL DEFAULT 0;
+
+UPDATE sessions s
+SET players_joined = counts.joined
+FROM (
+    SELECT session_id, COUNT(*) AS joined
+    FROM session_players
+    WHERE status = 'joined'
+    GROUP BY session_id
+) counts
+WHERE counts.session_id = s.id;
+
+-- NOT VALID: rows overbooked before this migration are left as they are
+ALTER TABLE sessions ADD CONSTRAINT chk_sessions_players_joined
+    CHECK (players_joined >= 0 AND players_joined <= players_needed) NOT VALID;
+
+-- Joins and leaves rewrite the session row; only columns shown in session history
+-- should invalidate the participants' history ETags
+DROP TRIGGER trg_user_stats_session_update ON sessions;
+
+CREATE TRIGGER trg_user_stats_session_update
+    AFTER UPDATE ON sessions
+    FOR EACH ROW WHEN ((OLD.sport_type, OLD.title, OLD.date, OLD.time_start, OLD.time_end, OLD.status)
+        IS DISTINCT FROM (NEW.sport_type, NEW.title, NEW.date, NEW.time_start, NEW.time_end, NEW.status))
+    EXECUTE FUNCTION user_stats_on_session_update();
@@ -0,0 +1,14 @@
+-- Waitlist for full sessions
+-- Waitlisted players hold a position from a global sequence, so positions only grow and
+-- the queue order is first come, first served. Leaving a session promotes the head of
+-- its queue in the same statement.
+ALTER TABLE session_players DROP CONSTRAINT session_players_status_check;
+ALTER TABLE session_players ADD CONSTRAINT session_players_status_check
+    CHECK (status IN ('joined', 'maybe', 'left', 'waitlisted'));
+
+CREATE SEQUENCE session_waitlist_seq;
+
+ALTER TABLE session_players ADD COLUMN waitlist_position BIGINT;
+
+CREATE INDEX idx_session_players_waitlist ON session_players(session_id, waitlist_position)
+    WHERE status = 'waitlisted';
@@ -0,0 +1,30 @@
+-- Live lobby updates
+-- Every change to who is in a session is sent on the session_players_changed channel.
+-- NOTIFY is delivered on commit only, so rolled-back joins are never announced. The
+-- payload stays far below the 8000 byte limit.
+CREATE FUNCTION notify_session_player_change() RETURNS TRIGGER AS $$
+DECLARE
+    player session_players;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        player := OLD;
+    ELSE
+        player := NEW;
+    END IF;
+    PERFORM pg_notify('session_players_changed', json_build_object(
+        'sessionId', player.session_id,
+        'userId', player.user_id,
+        'status', CASE WHEN TG_OP = 'DELETE' THEN 'removed' ELSE player.status END
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_session_players_notify_insert_delete
+    AFTER INSERT OR DELETE ON session_players
+    FOR EACH ROW EXECUTE FUNCTION notify_session_player_change();
+
+CREATE TRIGGER trg_session_players_notify_update
+    AFTER UPDATE OF status ON session_players
+    FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION notify_session_player_change();
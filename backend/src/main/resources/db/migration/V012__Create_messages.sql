@@ -0,0 +1,18 @@
+-- Session chat messages
+-- IDs are assigned by the application before the row is written (see
+-- MessageIdGenerator): the upper bits are a millisecond timestamp, so ordering by ID
+-- is ordering by send time and history pages can seek on (session_id, id).
+CREATE TABLE messages (
+    id BIGINT PRIMARY KEY,
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    -- Null for system messages such as "Sarah J joined the session"
+    sender_id BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    text TEXT NOT NULL,
+    is_system BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_messages_session_id ON messages (session_id, id);
+
+-- Each node takes a worker number from here at startup, so nodes generate disjoint IDs
+CREATE SEQUENCE message_worker_seq;
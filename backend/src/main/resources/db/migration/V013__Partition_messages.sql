@@ -0,0 +1,54 @@
+-- Range-partition messages by month so history seeks touch one or two small
+-- partitions and old months can be detached instead of deleted row by row.
+-- The partition key is the message ID rather than created_at: its upper bits are the
+-- send time (see MessageIdGenerator), so each month maps to one ID range, the primary
+-- key stays (id), and "id < :before" seeks prune partitions on their own.
+
+-- Lowest message ID that can be generated at a UTC time
+CREATE OR REPLACE FUNCTION message_id_at(ts TIMESTAMP) RETURNS BIGINT AS $$
+    SELECT GREATEST(0, (EXTRACT(EPOCH FROM ts) * 1000)::BIGINT - 1735689600000) << 22
+$$ LANGUAGE SQL IMMUTABLE;
+
+ALTER TABLE messages RENAME TO messages_unpartitioned;
+ALTER INDEX idx_messages_session_id RENAME TO idx_messages_unpartitioned_session_id;
+
+CREATE TABLE messages (
+    id BIGINT PRIMARY KEY,
+    session_id BIGINT NOT NULL REFERENCES sessions(id) ON DELETE CASCADE,
+    -- Null for system messages such as "Sarah J joined the session"
+    sender_id BIGINT REFERENCES users(id) ON DELETE SET NULL,
+    text TEXT NOT NULL,
+    is_system BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) PARTITION BY RANGE (id);
+
+-- Create the partition holding one month of messages; a no-op if it exists.
+-- There is deliberately no default partition: it would make DETACH CONCURRENTLY
+-- impossible, so MessagePartitionMaintainer keeps partitions created ahead of time.
+CREATE OR REPLACE FUNCTION create_message_partition(month DATE) RETURNS TEXT AS $$
+DECLARE
+    start_month TIMESTAMP := date_trunc('month', month::TIMESTAMP);
+    partition_name TEXT := 'messages_' || to_char(start_month, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF messages FOR VALUES FROM (%s) TO (%s)',
+        partition_name, message_id_at(start_month), message_id_at(start_month + INTERVAL '1 month'));
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Every month that already has messages, plus the current month and the next two
+SELECT create_message_partition(month::DATE)
+FROM (
+    -- The month is read from the ID, which may differ from created_at's zone
+    SELECT date_trunc('month', to_timestamp(((id >> 22) + 1735689600000) / 1000.0) AT TIME ZONE 'UTC') AS month
+    FROM messages_unpartitioned
+    UNION
+    SELECT date_trunc('month', CURRENT_TIMESTAMP AT TIME ZONE 'UTC') + make_interval(months => m)
+    FROM generate_series(0, 2) AS m
+) AS months;
+
+INSERT INTO messages SELECT id, session_id, sender_id, text, is_system, created_at FROM messages_unpartitioned;
+DROP TABLE messages_unpartitioned;
+
+-- Created on each partition, including ones added later
+CREATE INDEX idx_messages_session_id ON messages (session_id, id);
@@ -0,0 +1,26 @@
+-- In-app notifications
+CREATE TABLE notifications (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    type VARCHAR(50) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    -- Deeplink opened when the notification is tapped, e.g. sportio://session/42/lobby
+    action_url VARCHAR(500),
+    is_read BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_notifications_user_id ON notifications (user_id, id);
+
+-- Unread counter per user, so the badge is a primary key lookup instead of a count.
+-- Inserts add to it and reads subtract from it in the same statement as the rows.
+-- "Mark all read" moves read_through to the user's newest notification instead of
+-- updating every row: a notification is read if is_read is set or its id is at most
+-- read_through.
+CREATE TABLE notification_counters (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    unread INTEGER NOT NULL DEFAULT 0,
+    read_through BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
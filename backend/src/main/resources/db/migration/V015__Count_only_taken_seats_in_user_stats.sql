@@ -0,0 +1,44 @@
+-- Only participations that hold or may hold a seat ('joined', 'maybe') are bookings.
+-- Waitlisted and left rows used to count too, since the triggers only looked at
+-- inserts, deletes and user changes; status changes now move total_bookings whenever
+-- a row starts or stops counting.
+CREATE OR REPLACE FUNCTION user_stats_on_participation_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('DELETE', 'UPDATE') AND OLD.status IN ('joined', 'maybe') THEN
+        UPDATE user_stats
+        SET total_bookings = total_bookings - 1,
+            participation_version = participation_version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE user_id = OLD.user_id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status IN ('joined', 'maybe') THEN
+        INSERT INTO user_stats (user_id, total_bookings, participation_version) VALUES (NEW.user_id, 1, 1)
+        ON CONFLICT (user_id) DO UPDATE
+            SET total_bookings = user_stats.total_bookings + 1,
+                participation_version = user_stats.participation_version + 1,
+                updated_at = CURRENT_TIMESTAMP;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER trg_user_stats_participation_update ON session_players;
+
+CREATE TRIGGER trg_user_stats_participation_update
+    AFTER UPDATE OF user_id, status ON session_players
+    FOR EACH ROW WHEN ((OLD.user_id, OLD.status IN ('joined', 'maybe'))
+        IS DISTINCT FROM (NEW.user_id, NEW.status IN ('joined', 'maybe')))
+    EXECUTE FUNCTION user_stats_on_participation_change();
+
+-- Correct the counts inflated by waitlisted and left rows
+UPDATE user_stats us
+SET total_bookings = actual.total_bookings,
+    participation_version = us.participation_version + 1,
+    updated_at = CURRENT_TIMESTAMP
+FROM (
+    SELECT u.id AS user_id, COUNT(sp.id)::int AS total_bookings
+    FROM users u
+    LEFT JOIN session_players sp ON sp.user_id = u.id AND sp.status IN ('joined', 'maybe')
+    GROUP BY u.id
+) actual
+WHERE actual.user_id = us.user_id AND us.total_bookings <> actual.total_bookings;
@@ -1,6 +1,9 @@
 package com.sportio.integration;
 
+import com.sportio.dto.AuthResponse;
 import com.sportio.dto.LoginRequest;
+import com.sportio.dto.LogoutRequest;
+import com.sportio.dto.RefreshTokenRequest;
 import com.sportio.dto.RegisterRequest;
 import com.sportio.entity.User;
 import com.sportio.repository.UserRepository;
@@ -241,5 +244,163 @@ class AuthControllerIntegrationTest {
                 .expectBody()
                 .jsonPath("$.error").isEqualTo("invalid_credentials");
     }
-}
 
+    // TC001: Too many login attempts are throttled before credentials are checked
+    @Test
+    void testLogin_RepeatedAttempts_Returns429() {
+        LoginRequest request = LoginRequest.builder()
+                .email("throttled@sportio.com")
+                .password("wrongpassword")
+                .build();
+
+        for (int i = 0; i < 5; i++) {
+            webTestClient.post()
+                    .uri("/api/v1/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Mono.just(request), LoginRequest.class)
+                    .exchange()
+                    .expectStatus().isUnauthorized();
+        }
+
+        // Email normalization means case variants share the same bucket
+        request.setEmail("Throttled@Sportio.com");
+        webTestClient.post()
+                .uri("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), LoginRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists("Retry-After")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("too_many_attempts");
+    }
+
+    // TC001: Refresh token exchange issues new tokens without a password
+    @Test
+    void testRefresh_ValidToken_ReturnsRotatedTokens() {
+        AuthResponse login = loginAs("refresh@sportio.com", "RefreshPass123");
+
+        AuthResponse refreshed = webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(login.getRefreshToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertThat(refreshed).isNotNull();
+        assertThat(refreshed.getAccessToken()).isNotBlank();
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(login.getRefreshToken());
+    }
+
+    // TC001: Reusing a rotated refresh token revokes the whole family
+    @Test
+    void testRefresh_ReusedToken_Returns401AndRevokesFamily() {
+        AuthResponse login = loginAs("reuse@sportio.com", "ReusePass123");
+
+        AuthResponse refreshed = webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(login.getRefreshToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(login.getRefreshToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("invalid_refresh_token");
+
+        // The newest token of the family is revoked as well
+        webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(refreshed.getRefreshToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testRefresh_AccessTokenInsteadOfRefresh_Returns401() {
+        AuthResponse login = loginAs("wrongtype@sportio.com", "WrongType123");
+
+        webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(login.getAccessToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("invalid_refresh_token");
+    }
+
+    @Test
+    void testLogout_RevokesAccessAndRefreshTokens() {
+        AuthResponse login = loginAs("logout@sportio.com", "LogoutPass123");
+
+        webTestClient.post()
+                .uri("/api/v1/auth/logout")
+                .header("Authorization", "Bearer " + login.getAccessToken())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new LogoutRequest(login.getRefreshToken())), LogoutRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Logged out successfully");
+
+        // The access token is rejected on the very next request
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + login.getAccessToken())
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webTestClient.post()
+                .uri("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(new RefreshTokenRequest(login.getRefreshToken())), RefreshTokenRequest.class)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testLogout_WithoutToken_Returns401() {
+        webTestClient.post()
+                .uri("/api/v1/auth/logout")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private AuthResponse loginAs(String email, String password) {
+        User user = User.builder()
+                .email(email)
+                .passwordHash(passwordEncoder.encode(password))
+                .fullName("Refresh User")
+                .createdAt(LocalDateTime.now())
+                .build();
+        userRepository.save(user).block();
+
+        LoginRequest request = LoginRequest.builder()
+                .email(email)
+                .password(password)
+                .build();
+
+        return webTestClient.post()
+                .uri("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), LoginRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(AuthResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
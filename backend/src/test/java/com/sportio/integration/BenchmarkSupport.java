@@ -0,0 +1,51 @@
+package com.sportio.integration;
+
+import java.util.Arrays;
+
+/**
+ * Timing and reporting shared by the benchmark tests.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Time an operation after running it a number of times to warm up.
+     *
+     * @param warmup untimed runs first
+     * @param iterations timed runs
+     * @param operation the blocking operation to time
+     * @return the timings in nanoseconds, sorted ascending
+     */
+    static long[] measure(int warmup, int iterations, Runnable operation) {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /**
+     * Print the median, 99th percentile and maximum of a set of timings.
+     *
+     * @param name label of the measured operation
+     * @param sortedSamples timings in nanoseconds, sorted ascending
+     */
+    static void report(String name, long[] sortedSamples) {
+        System.out.printf("%-28s p50=%8.1fus p99=%8.1fus max=%8.1fus%n", name,
+                percentile(sortedSamples, 0.50) / 1000.0,
+                percentile(sortedSamples, 0.99) / 1000.0,
+                sortedSamples[sortedSamples.length - 1] / 1000.0);
+    }
+
+    private static long percentile(long[] sortedSamples, double p) {
+        return sortedSamples[(int) Math.min(sortedSamples.length - 1, Math.ceil(p * sortedSamples.length) - 1)];
+    }
+}
@@ -0,0 +1,183 @@
+package com.sportio.integration;
+
+import com.sportio.entity.Message;
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.repository.MessageRepository;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.service.MessagePartitionMaintainer;
+import com.sportio.service.SessionService;
+import com.sportio.util.JwtUtil;
+import com.sportio.util.MessageIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for ChatController.
+ * Tests complete request-response flow through real endpoints with real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ChatControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private MessagePartitionMaintainer messagePartitionMaintainer;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User player;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+
+        messageRepository.deleteAll().block();
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        User host = insertUser("host@sportio.com", "Host User");
+        player = insertUser("player@sportio.com", "Jamie Tan");
+        session = sessionRepository.save(Session.builder()
+                .hostId(host.getId())
+                .sportType("Badminton")
+                .title("Chatty doubles")
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(4)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(1.3521))
+                .longitude(BigDecimal.valueOf(103.8198))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    @Test
+    void testHistory_PagesBackwardsByKeyset() {
+        sessionService.joinSession(session.getId(), player.getId()).block();
+        List<Long> ids = insertMessages(5);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/messages?limit=3", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Chatty doubles")
+                .jsonPath("$.hasMore").isEqualTo(true)
+                .jsonPath("$.messages.length()").isEqualTo(3)
+                .jsonPath("$.messages[0].text").isEqualTo("Message 2")
+                .jsonPath("$.messages[2].text").isEqualTo("Message 4")
+                .jsonPath("$.messages[0].id").isEqualTo(String.valueOf(ids.get(2)))
+                .jsonPath("$.messages[2].sender.name").isEqualTo("Jamie Tan");
+
+        // The oldest message of a page is the cursor for the page before it
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/messages?limit=3&before={before}", session.getId(), ids.get(2))
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.hasMore").isEqualTo(false)
+                .jsonPath("$.messages.length()").isEqualTo(2)
+                .jsonPath("$.messages[0].text").isEqualTo("Message 0")
+                .jsonPath("$.messages[1].text").isEqualTo("Message 1");
+    }
+
+    @Test
+    void testHistory_NonMember_Returns403() {
+        insertMessages(1);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/messages", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("not_member");
+    }
+
+    @Test
+    void testPartitions_MissingMonthRecreated() {
+        YearMonth ahead = YearMonth.now(ZoneOffset.UTC).plusMonths(1);
+        String name = String.format("messages_%d_%02d", ahead.getYear(), ahead.getMonthValue());
+        messageRepository.dropPartition(name).block();
+        assertThat(messageRepository.findPartitionNames().collectList().block()).doesNotContain(name);
+
+        messagePartitionMaintainer.maintainPartitions().block();
+
+        assertThat(messageRepository.findPartitionNames().collectList().block()).contains(name);
+    }
+
+    private List<Long> insertMessages(int count) {
+        MessageIdGenerator generator = new MessageIdGenerator(0);
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            messages.add(Message.builder()
+                    .id(generator.nextId())
+                    .sessionId(session.getId())
+                    .senderId(player.getId())
+                    .text("Message " + i)
+                    .isSystem(false)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+        messageRepository.insertAll(messages).block();
+        return messages.stream().map(Message::getId).toList();
+    }
+
+    private User insertUser(String email, String fullName) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("not-used")
+                .fullName(fullName)
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
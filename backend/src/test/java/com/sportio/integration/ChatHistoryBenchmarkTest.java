@@ -0,0 +1,161 @@
+package com.sportio.integration;
+
+import com.sportio.dto.ChatMessageDto;
+import com.sportio.entity.Message;
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.repository.MessageRepository;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.util.MessageIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sportio.integration.BenchmarkSupport.measure;
+import static com.sportio.integration.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page latency of chat history from the first page to page 1000, with keyset seeks on
+ * (session_id, id) against OFFSET pagination over the same rows. Other sessions'
+ * messages are interleaved so the session's rows are spread through the table.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatHistoryBenchmarkTest {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int PAGES = 1000;
+    private static final int OTHER_SESSIONS = 3;
+    private static final int INSERT_BATCH = 1000;
+    private static final int[] REPORTED_PAGES = {1, 10, 100, 500, 1000};
+    private static final int SAMPLES_PER_PAGE = 20;
+
+    private static final String OFFSET_SQL = """
+            SELECT m.id, m.text, u.full_name
+            FROM messages m
+            LEFT JOIN users u ON u.id = m.sender_id
+            WHERE m.session_id = :sessionId
+            ORDER BY m.id DESC
+            OFFSET :offset LIMIT :limit
+            """;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private User sender;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll().block();
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        sender = userRepository.save(User.builder()
+                .email("sender@sportio.com")
+                .passwordHash("not-used")
+                .fullName("Sender")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    @Test
+    void benchmarkHistoryPages() {
+        List<Long> sessionIds = new ArrayList<>();
+        for (int i = 0; i <= OTHER_SESSIONS; i++) {
+            sessionIds.add(insertSession("Chat " + i).getId());
+        }
+        Long sessionId = sessionIds.get(0);
+        insertMessages(sessionIds, PAGE_SIZE * PAGES);
+        databaseClient.sql("ANALYZE messages").then().block();
+
+        // Cursor (oldest ID on the previous page) for the start of every page
+        long[] cursors = new long[PAGES + 1];
+        cursors[0] = Long.MAX_VALUE;
+        for (int page = 1; page <= PAGES; page++) {
+            List<ChatMessageDto> messages = messageRepository.findHistory(sessionId, cursors[page - 1], PAGE_SIZE)
+                    .collectList()
+                    .block();
+            assertThat(messages).hasSize(PAGE_SIZE);
+            cursors[page] = messages.get(messages.size() - 1).getId();
+        }
+        assertThat(messageRepository.findHistory(sessionId, cursors[PAGES], PAGE_SIZE).collectList().block()).isEmpty();
+
+        for (int page : REPORTED_PAGES) {
+            long cursor = cursors[page - 1];
+            long[] keyset = measure(SAMPLES_PER_PAGE, SAMPLES_PER_PAGE, () -> messageRepository.findHistory(sessionId, cursor, PAGE_SIZE + 1).count().block());
+            long[] offset = measure(SAMPLES_PER_PAGE, SAMPLES_PER_PAGE, () -> databaseClient.sql(OFFSET_SQL)
+                    .bind("sessionId", sessionId)
+                    .bind("offset", (page - 1) * PAGE_SIZE)
+                    .bind("limit", PAGE_SIZE + 1)
+                    .fetch()
+                    .all()
+                    .count()
+                    .block());
+            report("page " + page + ", keyset", keyset);
+            report("page " + page + ", offset", offset);
+        }
+    }
+
+    private void insertMessages(List<Long> sessionIds, int perSession) {
+        MessageIdGenerator generator = new MessageIdGenerator(0);
+        Flux.range(0, perSession * sessionIds.size())
+                .map(i -> Message.builder()
+                        .id(generator.nextId())
+                        .sessionId(sessionIds.get(i % sessionIds.size()))
+                        .senderId(sender.getId())
+                        .text("Message " + i)
+                        .isSystem(false)
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .buffer(INSERT_BATCH)
+                .concatMap(messageRepository::insertAll)
+                .blockLast();
+    }
+
+    private Session insertSession(String title) {
+        return sessionRepository.save(Session.builder()
+                .hostId(sender.getId())
+                .sportType("Badminton")
+                .title(title)
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(4)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(1.3521))
+                .longitude(BigDecimal.valueOf(103.8198))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
@@ -0,0 +1,226 @@
+package com.sportio.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportio.entity.Message;
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.realtime.ChatWebSocketHandler;
+import com.sportio.repository.MessageRepository;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.service.ChatService;
+import com.sportio.service.SessionService;
+import com.sportio.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for ChatWebSocketHandler.
+ * Connects real WebSocket clients to the running server with a real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ChatWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReactorNettyWebSocketClient client = new ReactorNettyWebSocketClient();
+
+    private User host;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository.deleteAll().block();
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        host = insertUser("host@sportio.com", "Host User");
+        session = sessionRepository.save(Session.builder()
+                .hostId(host.getId())
+                .sportType("Badminton")
+                .title("Chatty doubles")
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(4)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(1.3521))
+                .longitude(BigDecimal.valueOf(103.8198))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    @Test
+    void testChat_MemberReceivesOwnMessageAndItIsStored() {
+        User player = insertUser("player@sportio.com", "Jamie Tan");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+
+        String send = """
+                {"event": "chat:send", "payload": {"text": "  See you at court 3  "}}""";
+        AtomicReference<String> received = new AtomicReference<>();
+        client.execute(chatUri(player), socket -> socket.send(Mono.just(socket.textMessage(send)))
+                        .thenMany(socket.receive().map(WebSocketMessage::getPayloadAsText))
+                        .next()
+                        .doOnNext(received::set)
+                        .then())
+                .block(Duration.ofSeconds(10));
+
+        JsonNode frame = readTree(received.get());
+        assertThat(frame.path("event").asText()).isEqualTo(ChatService.MESSAGE_EVENT);
+        JsonNode message = frame.path("payload").path("message");
+        assertThat(message.path("text").asText()).isEqualTo("See you at court 3");
+        assertThat(message.path("sender").path("name").asText()).isEqualTo("Jamie Tan");
+
+        // Written behind, within a flush interval
+        List<Message> stored = Mono.defer(() -> messageRepository.findAll().collectList())
+                .filter(messages -> !messages.isEmpty())
+                .repeatWhenEmpty(20, repeats -> repeats.delayElements(Duration.ofMillis(100)))
+                .block();
+        assertThat(stored).hasSize(1);
+        // IDs exceed what a JavaScript number holds exactly
+        assertThat(message.path("id").isTextual()).isTrue();
+        assertThat(message.path("id").asText()).isEqualTo(String.valueOf(stored.get(0).getId()));
+        assertThat(stored.get(0).getSenderId()).isEqualTo(player.getId());
+        assertThat(stored.get(0).getSessionId()).isEqualTo(session.getId());
+    }
+
+    @Test
+    void testChat_SocketsInOneRoomShareOneBusSubscription() {
+        User sender = insertUser("sender@sportio.com", "Sender");
+        User reader = insertUser("reader@sportio.com", "Reader");
+        sessionService.joinSession(session.getId(), sender.getId()).block();
+        sessionService.joinSession(session.getId(), reader.getId()).block();
+
+        // Other features keep their own channels open
+        double channelsBefore = meterRegistry.get("sportio.bus.channels").gauge().value();
+        Sinks.Empty<Void> readerConnected = Sinks.empty();
+        AtomicReference<String> received = new AtomicReference<>();
+        AtomicReference<Double> channels = new AtomicReference<>();
+        Mono<Void> readerSocket = client.execute(chatUri(reader), socket -> socket.receive()
+                .doOnSubscribe(subscription -> readerConnected.tryEmitEmpty())
+                .map(WebSocketMessage::getPayloadAsText)
+                .next()
+                .doOnNext(frame -> {
+                    received.set(frame);
+                    channels.set(meterRegistry.get("sportio.bus.channels").gauge().value());
+                })
+                .then());
+
+        String send = """
+                {"event": "chat:send", "payload": {"text": "Anyone bringing shuttles?"}}""";
+        Mono<Void> senderSocket = readerConnected.asMono()
+                // Let the reader's socket join the room before sending
+                .then(Mono.delay(Duration.ofMillis(200)))
+                .then(client.execute(chatUri(sender), socket -> socket.send(Mono.just(socket.textMessage(send)))
+                        .thenMany(socket.receive())
+                        .next()
+                        .then()));
+
+        Mono.when(readerSocket, senderSocket).block(Duration.ofSeconds(10));
+
+        assertThat(readTree(received.get()).path("payload").path("message").path("text").asText())
+                .isEqualTo("Anyone bringing shuttles?");
+        assertThat(channels.get()).isEqualTo(channelsBefore + 1);
+    }
+
+    @Test
+    void testChat_NonMemberIsClosedWithNotMember() {
+        User outsider = insertUser("outsider@sportio.com", "Outsider");
+
+        AtomicReference<CloseStatus> status = new AtomicReference<>();
+        client.execute(chatUri(outsider), socket -> socket.closeStatus().doOnNext(status::set).then())
+                .block(Duration.ofSeconds(10));
+
+        assertThat(status.get().getCode()).isEqualTo(ChatWebSocketHandler.NOT_MEMBER.getCode());
+    }
+
+    @Test
+    void testChat_PlayerWhoLeavesIsClosedWithNotMember() {
+        User player = insertUser("leaver@sportio.com", "Leaver");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+
+        AtomicReference<CloseStatus> status = new AtomicReference<>();
+        client.execute(chatUri(player), socket -> Mono.when(
+                        socket.receive().then(),
+                        // Let the socket join the room before leaving
+                        Mono.delay(Duration.ofMillis(200))
+                                .then(sessionService.leaveSession(session.getId(), player.getId())),
+                        socket.closeStatus().doOnNext(status::set)))
+                .block(Duration.ofSeconds(10));
+
+        assertThat(status.get().getCode()).isEqualTo(ChatWebSocketHandler.NOT_MEMBER.getCode());
+    }
+
+    private URI chatUri(User user) {
+        return URI.create("ws://localhost:" + port + "/ws/session/" + session.getId()
+                + "?access_token=" + jwtUtil.generateAccessToken(user));
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private User insertUser(String email, String fullName) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("not-used")
+                .fullName(fullName)
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
@@ -0,0 +1,58 @@
+package com.sportio.integration;
+
+import com.sportio.dto.LoginRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Integration tests for the per-IP login rate limit, with a budget small enough to
+ * exhaust and no trusted proxies.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "auth.login-rate-limit.ip.capacity=3",
+                "auth.login-rate-limit.ip.refill-per-minute=1"
+        })
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class LoginRateLimitIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    // TC001: A client cannot get a fresh IP budget by rotating X-Forwarded-For
+    @Test
+    void testLogin_RotatingForwardedFor_StillThrottled() {
+        for (int i = 0; i < 3; i++) {
+            login("rotate" + i + "@sportio.com", "203.0.113." + i)
+                    .expectStatus().isUnauthorized();
+        }
+
+        login("rotate3@sportio.com", "198.51.100.7")
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists("Retry-After")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("too_many_attempts");
+    }
+
+    private WebTestClient.ResponseSpec login(String email, String forwardedFor) {
+        // A different email each time keeps the per-email limit out of the way
+        LoginRequest request = LoginRequest.builder()
+                .email(email)
+                .password("wrongpassword")
+                .build();
+        return webTestClient.post()
+                .uri("/api/v1/auth/login")
+                .header("X-Forwarded-For", forwardedFor)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), LoginRequest.class)
+                .exchange();
+    }
+}
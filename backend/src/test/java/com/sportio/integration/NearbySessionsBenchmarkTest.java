@@ -0,0 +1,107 @@
+package com.sportio.integration;
+
+import com.sportio.cache.SessionGridIndex;
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.repository.NearbySessionQuery;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Random;
+
+import static com.sportio.integration.BenchmarkSupport.measure;
+import static com.sportio.integration.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency comparison of a first-page nearby search answered by the PostGIS query
+ * against the same search answered by the in-memory grid index.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NearbySessionsBenchmarkTest {
+
+    private static final int SESSIONS = 5000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+    private static final double LAT = 1.3521;
+    private static final double LNG = 103.8198;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private SessionGridIndex sessionGridIndex;
+
+    @BeforeEach
+    void setUp() {
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        User host = userRepository.save(User.builder()
+                .email("host@sportio.com")
+                .passwordHash("not-used")
+                .fullName("Host User")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+
+        // Open sessions spread over roughly a 40 x 40 km city
+        Random random = new Random(42);
+        Flux.range(0, SESSIONS)
+                .map(i -> Session.builder()
+                        .hostId(host.getId())
+                        .sportType(i % 3 == 0 ? "Football" : "Badminton")
+                        .title("Session " + i)
+                        .date(LocalDate.now().plusDays(i % 14))
+                        .timeStart(LocalTime.of(19, 0))
+                        .timeEnd(LocalTime.of(21, 0))
+                        .playersNeeded(4)
+                        .visibility("public")
+                        .status("open")
+                        .latitude(BigDecimal.valueOf(LAT + (random.nextDouble() - 0.5) * 0.36))
+                        .longitude(BigDecimal.valueOf(LNG + (random.nextDouble() - 0.5) * 0.36))
+                        .createdAt(LocalDateTime.now())
+                        .build())
+                .concatMap(sessionRepository::save, 256)
+                .blockLast();
+        sessionGridIndex.rebuild().block();
+    }
+
+    @Test
+    void benchmarkNearbySearch() {
+        NearbySessionQuery query = new NearbySessionQuery(
+                LAT, LNG, 10_000, null, LocalDate.now(), null, null, null, 21);
+
+        long[] sql = measure(WARMUP, ITERATIONS, () -> sessionRepository.findNearby(query).collectList().block());
+        long[] index = measure(WARMUP, ITERATIONS, () -> sessionGridIndex.findNearby(query));
+
+        report("PostGIS KNN query", sql);
+        report("in-memory grid index", index);
+
+        List<Long> fromSql = sessionRepository.findNearby(query).map(s -> s.getId()).collectList().block();
+        List<Long> fromIndex = sessionGridIndex.findNearby(query).stream().map(s -> s.getId()).toList();
+        assertThat(fromIndex).isEqualTo(fromSql);
+    }
+}
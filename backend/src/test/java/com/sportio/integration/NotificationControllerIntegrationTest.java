@@ -0,0 +1,237 @@
+package com.sportio.integration;
+
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.repository.CreatedNotification;
+import com.sportio.repository.NotificationDraft;
+import com.sportio.repository.NotificationRepository;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.service.SessionService;
+import com.sportio.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration tests for NotificationController.
+ * Tests complete request-response flow through real endpoints with real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NotificationControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User host;
+    private User player;
+    private Session session;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        // Notifications and counters go with their users
+        userRepository.deleteAll().block();
+
+        host = insertUser("host@sportio.com", "Host User");
+        player = insertUser("player@sportio.com", "Jamie Tan");
+        session = sessionRepository.save(Session.builder()
+                .hostId(host.getId())
+                .sportType("Badminton")
+                .title("Evening doubles")
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(4)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(1.3521))
+                .longitude(BigDecimal.valueOf(103.8198))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    @Test
+    void testBulkInsert_CountsPerRecipient() {
+        List<CreatedNotification> created = notificationRepository.insertForUsers(
+                        List.of(host.getId(), player.getId()), draft("First"), LocalDateTime.now())
+                .collectList().block();
+        assertEquals(2, created.size());
+        notificationRepository.insertForUsers(List.of(player.getId()), draft("Second"), LocalDateTime.now())
+                .blockLast();
+
+        assertEquals(1, notificationRepository.findUnreadCount(host.getId()).block());
+        assertEquals(2, notificationRepository.findUnreadCount(player.getId()).block());
+    }
+
+    @Test
+    void testGetNotifications_NewestFirstWithUnreadCount() {
+        insert(player, "First");
+        insert(player, "Second");
+
+        webTestClient.get()
+                .uri("/api/v1/notifications")
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.unreadCount").isEqualTo(2)
+                .jsonPath("$.notifications.length()").isEqualTo(2)
+                .jsonPath("$.notifications[0].title").isEqualTo("Second")
+                .jsonPath("$.notifications[0].read").isEqualTo(false);
+    }
+
+    @Test
+    void testMarkRead_DecrementsUnreadCount() {
+        insert(player, "First");
+        Long id = insert(player, "Second");
+
+        webTestClient.put()
+                .uri("/api/v1/notifications/{id}/read", id)
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk();
+        // Marking it again changes nothing
+        webTestClient.put()
+                .uri("/api/v1/notifications/{id}/read", id)
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri("/api/v1/notifications?unreadOnly=true")
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.unreadCount").isEqualTo(1)
+                .jsonPath("$.notifications.length()").isEqualTo(1)
+                .jsonPath("$.notifications[0].title").isEqualTo("First");
+    }
+
+    @Test
+    void testMarkRead_OtherUsersNotification_Returns404() {
+        Long id = insert(host, "Not yours");
+
+        webTestClient.put()
+                .uri("/api/v1/notifications/{id}/read", id)
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("notification_not_found");
+    }
+
+    @Test
+    void testMarkAllRead_ClearsUnreadCount() {
+        insert(player, "First");
+        insert(player, "Second");
+        insert(player, "Third");
+
+        webTestClient.put()
+                .uri("/api/v1/notifications/read-all")
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.count").isEqualTo(3);
+
+        webTestClient.get()
+                .uri("/api/v1/notifications")
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.unreadCount").isEqualTo(0)
+                .jsonPath("$.notifications.length()").isEqualTo(3)
+                .jsonPath("$.notifications[0].read").isEqualTo(true);
+
+        // Notifications after the read mark count again
+        insert(player, "Fourth");
+        assertEquals(1, notificationRepository.findUnreadCount(player.getId()).block());
+    }
+
+    @Test
+    void testJoin_NotifiesOtherPlayers() {
+        User other = insertUser("other@sportio.com", "Alex Lim");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+        sessionService.joinSession(session.getId(), other.getId()).block();
+
+        // Notifications are created after the join has been answered
+        Integer unread = Mono.defer(() -> notificationRepository.findUnreadCount(player.getId()))
+                .filter(count -> count > 0)
+                .repeatWhenEmpty(20, ticks -> ticks.delayElements(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(10));
+        assertEquals(1, unread);
+
+        webTestClient.get()
+                .uri("/api/v1/notifications")
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.notifications[0].type").isEqualTo("player_joined")
+                .jsonPath("$.notifications[0].body").isEqualTo("Alex Lim joined Evening doubles");
+    }
+
+    private Long insert(User user, String title) {
+        return notificationRepository.insertForUsers(List.of(user.getId()), draft(title), LocalDateTime.now())
+                .blockLast()
+                .id();
+    }
+
+    private static NotificationDraft draft(String title) {
+        return new NotificationDraft("test", title, "Body of " + title, null);
+    }
+
+    private User insertUser(String email, String fullName) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("not-used")
+                .fullName(fullName)
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
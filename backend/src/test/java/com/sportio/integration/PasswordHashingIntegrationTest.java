@@ -0,0 +1,83 @@
+package com.sportio.integration;
+
+import com.sportio.dto.RegisterRequest;
+import com.sportio.repository.UserRepository;
+import com.sportio.security.PasswordHasher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Integration tests for the password hashing pool, with one worker and one queue slot
+ * so that two slow verifications saturate it.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "auth.password-hashing.pool-size=1",
+                "auth.password-hashing.queue-capacity=1",
+                "auth.password-hashing.retry-after-seconds=7"
+        })
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class PasswordHashingIntegrationTest {
+
+    // Well-formed BCrypt hash at cost 16; verifying against it takes seconds
+    private static final String SLOW_HASH = "$2a$16$abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll().block();
+    }
+
+    // TC001: With the worker busy and the queue full, registration is refused with 503
+    @Test
+    void testRegister_HashingPoolSaturated_Returns503WithRetryAfter() {
+        // One verification occupies the worker, the next one the queue slot
+        passwordHasher.matches("busy", SLOW_HASH).subscribe();
+        passwordHasher.matches("queued", SLOW_HASH).subscribe();
+        Mono.fromSupplier(() -> meterRegistry.get("sportio.auth.password.active").gauge().value() == 1
+                        && meterRegistry.get("sportio.auth.password.queue.depth").gauge().value() == 1)
+                .filter(saturated -> saturated)
+                .repeatWhenEmpty(50, repeats -> repeats.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+
+        RegisterRequest request = RegisterRequest.builder()
+                .fullName("Late Comer")
+                .email("late@sportio.com")
+                .password("SecurePass123")
+                .confirmPassword("SecurePass123")
+                .build();
+
+        webTestClient.post()
+                .uri("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), RegisterRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().valueEquals("Retry-After", "7")
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("service_busy");
+    }
+}
@@ -1,5 +1,11 @@
 package com.sportio.integration;
 
+import com.sportio.cache.ProfileCacheBackend;
+import com.sportio.cache.PublicProfileCache;
+import com.sportio.controller.ProfileController;
+import com.sportio.dto.SessionHistoryDto;
+import com.sportio.dto.UserProfileDto;
+import com.sportio.dto.UserPublicProfileDto;
 import com.sportio.util.JwtUtil;
 import com.sportio.dto.UserUpdateRequest;
 import com.sportio.entity.Session;
@@ -8,15 +14,22 @@ import com.sportio.entity.User;
 import com.sportio.repository.SessionPlayerRepository;
 import com.sportio.repository.SessionRepository;
 import com.sportio.repository.UserRepository;
+import com.sportio.repository.UserStatsRepository;
+import com.sportio.service.PublicProfileBatchLoader;
+import com.sportio.service.UserStatsReconciler;
+import com.sportio.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
@@ -24,6 +37,8 @@ import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,12 +67,30 @@ class ProfileControllerIntegrationTest {
     @Autowired
     private SessionPlayerRepository sessionPlayerRepository;
 
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private ProfileCacheBackend profileCacheBackend;
+
+    @Autowired
+    private PublicProfileCache publicProfileCache;
+
+    @Autowired
+    private PublicProfileBatchLoader publicProfileBatchLoader;
+
+    @Autowired
+    private UserStatsReconciler userStatsReconciler;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private User testUser;
     private String validToken;
 
@@ -118,6 +151,24 @@ class ProfileControllerIntegrationTest {
                 .jsonPath("$.error").isEqualTo("unauthorized");
     }
 
+    @Test
+    void testGetMyProfile_RepeatedToken_ServedFromTokenCache() {
+        double hitsBefore = tokenCacheHits();
+
+        for (int i = 0; i < 3; i++) {
+            webTestClient.get()
+                    .uri("/api/v1/users/me")
+                    .header("Authorization", "Bearer " + validToken)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(testUser.getId());
+        }
+
+        // First request verifies the token, the following two are cache hits
+        assertThat(tokenCacheHits() - hitsBefore).isGreaterThanOrEqualTo(2);
+    }
+
     // TC012-04: Display Statistics Grid - Verify stats calculation
     @Test
     void testGetMyProfile_WithSessions_ReturnsCorrectStats() {
@@ -134,6 +185,91 @@ class ProfileControllerIntegrationTest {
                 .jsonPath("$.stats.totalBookings").isEqualTo(1);
     }
 
+    @Test
+    void testGetMyProfile_WaitlistedAndLeftSessions_NotCounted() {
+        Session played = insertTestSession(testUser);
+        joinSession(testUser, played);
+        SessionPlayer waiting = joinSession(testUser, insertTestSession(testUser));
+        waiting.setStatus("waitlisted");
+        sessionPlayerRepository.save(waiting).block();
+        SessionPlayer left = joinSession(testUser, insertTestSession(testUser));
+        left.setStatus("left");
+        sessionPlayerRepository.save(left).block();
+
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stats.totalBookings").isEqualTo(1);
+
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].sessionId").isEqualTo(played.getId());
+
+        // Promotion from the waitlist turns the row into a booking
+        waiting.setStatus("joined");
+        sessionPlayerRepository.save(waiting).block();
+        assertThat(userStatsRepository.findById(testUser.getId()).block().getTotalBookings()).isEqualTo(2);
+    }
+
+    @Test
+    void testGetMyProfile_DriftedStats_RepairedByReconciliation() {
+        joinSession(testUser, insertTestSession(testUser));
+        userStatsRepository.findById(testUser.getId())
+                .doOnNext(stats -> stats.setTotalBookings(42))
+                .flatMap(userStatsRepository::save)
+                .block();
+
+        assertThat(userStatsReconciler.reconcile().block()).isEqualTo(1);
+
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stats.totalBookings").isEqualTo(1);
+    }
+
+    @Test
+    void testGetMyProfile_IfNoneMatch_Returns304UntilProfileChanges() {
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .returnResult(UserProfileDto.class)
+                .getResponseHeaders()
+                .getETag();
+
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // Joining a session changes the stats, so the ETag must change
+        joinSession(testUser, insertTestSession(testUser));
+
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.stats.totalBookings").isEqualTo(1);
+    }
+
     // TC012-06: Save Profile Changes
     @Test
     void testUpdateMyProfile_ValidRequest_Returns200() {
@@ -162,6 +298,69 @@ class ProfileControllerIntegrationTest {
         assertThat(updatedUser.getBio()).isEqualTo("I love sports!");
     }
 
+    @Test
+    void testUpdateMyProfile_StaleVersion_Returns409() {
+        Long readVersion = userRepository.findById(testUser.getId()).block().getVersion();
+
+        UserUpdateRequest first = new UserUpdateRequest();
+        first.setBio("First writer");
+        first.setVersion(readVersion);
+        webTestClient.put()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(first), UserUpdateRequest.class)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.version").isEqualTo(readVersion.intValue() + 1);
+
+        UserUpdateRequest second = new UserUpdateRequest();
+        second.setBio("Second writer");
+        second.setVersion(readVersion);
+        webTestClient.put()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(second), UserUpdateRequest.class)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("version_conflict");
+
+        assertThat(userRepository.findById(testUser.getId()).block().getBio()).isEqualTo("First writer");
+    }
+
+    @Test
+    void testUpdateMyProfile_NameChange_InvalidatesIssuedTokens() {
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setFullName("Renamed User");
+
+        webTestClient.put()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), UserUpdateRequest.class)
+                .exchange()
+                .expectStatus().isOk();
+
+        // The old token still carries the old name and token version
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        User renamedUser = userRepository.findById(testUser.getId()).block();
+        webTestClient.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + generateTestToken(renamedUser))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.fullName").isEqualTo("Renamed User");
+    }
+
     @Test
     void testUpdateMyProfile_InvalidSkillLevel_Returns400() {
         UserUpdateRequest request = new UserUpdateRequest();
@@ -229,6 +428,117 @@ class ProfileControllerIntegrationTest {
                 .jsonPath("$.error").isEqualTo("user_not_found");
     }
 
+    @Test
+    void testGetPublicProfile_AfterUpdate_ReturnsFreshProfile() {
+        webTestClient.get()
+                .uri("/api/v1/users/" + testUser.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.fullName").isEqualTo("Test User");
+
+        UserUpdateRequest request = new UserUpdateRequest();
+        request.setFullName("Renamed User");
+        webTestClient.put()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + validToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Mono.just(request), UserUpdateRequest.class)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri("/api/v1/users/" + testUser.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.fullName").isEqualTo("Renamed User");
+    }
+
+    @Test
+    void testGetPublicProfile_InvalidatedByOtherNode_ReloadsProfile() {
+        webTestClient.get()
+                .uri("/api/v1/users/" + testUser.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // Another node changes the row and broadcasts the invalidation
+        userRepository.findById(testUser.getId())
+                .doOnNext(user -> user.setBio("Changed elsewhere"))
+                .flatMap(userRepository::save)
+                .then(profileCacheBackend.evict("public:" + testUser.getId()))
+                .then(profileCacheBackend.publish("other-node|" + testUser.getId() + "|" + System.currentTimeMillis()))
+                .block();
+
+        webTestClient.get()
+                .uri("/api/v1/users/" + testUser.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.bio").isEqualTo("Changed elsewhere");
+    }
+
+    @Test
+    void testGetPublicProfile_LoadOverlappingInvalidation_NotStoredInSharedTier() {
+        String key = "public:" + testUser.getId();
+        profileCacheBackend.evict(key).block();
+
+        // The profile is read, then changed and invalidated before the load finishes
+        UserPublicProfileDto loaded = publicProfileCache.get(testUser.getId(), () -> Mono.just(
+                        UserPublicProfileDto.builder().id(testUser.getId()).fullName("Before").build())
+                .delayUntil(profile -> publicProfileCache.invalidate(testUser.getId())))
+                .block();
+
+        assertThat(loaded.getFullName()).isEqualTo("Before");
+        assertThat(profileCacheBackend.get(key).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void testGetPublicProfiles_Batch_ReturnsKnownUsersInRequestOrder() {
+        User otherUser = userRepository.save(User.builder()
+                .email("batch@sportio.com")
+                .passwordHash(passwordEncoder.encode("password123"))
+                .fullName("Batch User")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+
+        webTestClient.get()
+                .uri("/api/v1/users?ids=" + otherUser.getId() + ",999999," + testUser.getId() + "," + otherUser.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].fullName").isEqualTo("Batch User")
+                .jsonPath("$[1].fullName").isEqualTo("Test User")
+                .jsonPath("$[0].email").doesNotExist();
+    }
+
+    @Test
+    void testGetPublicProfiles_ConcurrentSingleLookups_CoalescedIntoOneQuery() {
+        double batchesBefore = batchCount();
+
+        Flux.range(0, 10)
+                .flatMap(i -> publicProfileBatchLoader.load(testUser.getId()))
+                .collectList()
+                .block();
+
+        assertThat(batchCount() - batchesBefore).isEqualTo(1);
+    }
+
+    @Test
+    void testGetPublicProfiles_TooManyIds_Returns400() {
+        String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        webTestClient.get()
+                .uri("/api/v1/users?ids=" + ids)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("batch_too_large");
+    }
+
     // Session history tests
     @Test
     void testGetMySessions_Authenticated_ReturnsList() {
@@ -267,6 +577,101 @@ class ProfileControllerIntegrationTest {
                 .expectStatus().isUnauthorized();
     }
 
+    @Test
+    void testGetMySessions_Paginated_FollowsCursor() {
+        for (int i = 1; i <= 3; i++) {
+            joinSession(testUser, insertTestSession(testUser, LocalDate.now().plusDays(i)));
+        }
+
+        String nextCursor = webTestClient.get()
+                .uri("/api/v1/users/me/sessions?limit=2")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(ProfileController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].date").isEqualTo(LocalDate.now().plusDays(3).toString())
+                .jsonPath("$[1].date").isEqualTo(LocalDate.now().plusDays(2).toString())
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(ProfileController.NEXT_CURSOR_HEADER);
+
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions?limit=2&cursor=" + nextCursor)
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ProfileController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].date").isEqualTo(LocalDate.now().plusDays(1).toString());
+    }
+
+    @Test
+    void testGetMySessions_IfNoneMatch_Returns304UntilHistoryChanges() {
+        Session session = insertTestSession(testUser);
+        joinSession(testUser, session);
+
+        String etag = webTestClient.get()
+                .uri("/api/v1/users/me/sessions")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(SessionHistoryDto.class)
+                .getResponseHeaders()
+                .getETag();
+        assertThat(etag).isNotNull();
+
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions")
+                .header("Authorization", "Bearer " + validToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        // Editing the session changes every participant's history
+        session.setTitle("Renamed Session");
+        sessionRepository.save(session).block();
+
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions")
+                .header("Authorization", "Bearer " + validToken)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("Renamed Session");
+    }
+
+    @Test
+    void testGetMySessions_InvalidCursor_Returns400() {
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions?cursor=not-a-cursor")
+                .header("Authorization", "Bearer " + validToken)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("invalid_cursor");
+    }
+
+    @Test
+    void testGetMySessions_Ndjson_StreamsAllEntries() {
+        for (int i = 1; i <= 3; i++) {
+            joinSession(testUser, insertTestSession(testUser, LocalDate.now().plusDays(i)));
+        }
+
+        webTestClient.get()
+                .uri("/api/v1/users/me/sessions")
+                .header("Authorization", "Bearer " + validToken)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(SessionHistoryDto.class)
+                .hasSize(3);
+    }
+
     // Helper methods
 
     private User insertTestUser() {
@@ -284,17 +689,33 @@ class ProfileControllerIntegrationTest {
         return userRepository.save(user).block();
     }
 
+    private double batchCount() {
+        return meterRegistry.get("sportio.profile.batch.size").summary().count();
+    }
+
+    private double tokenCacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
     private String generateTestToken(User user) {
         return jwtUtil.generateAccessToken(user);
     }
 
     private Session insertTestSession(User host) {
+        return insertTestSession(host, LocalDate.now().plusDays(1));
+    }
+
+    private Session insertTestSession(User host, LocalDate date) {
         Session session = Session.builder()
                 .hostId(host.getId())
                 .sportType("Badminton")
                 .title("Test Session")
                 .description("A test session")
-                .date(LocalDate.now().plusDays(1))
+                .date(date)
                 .timeStart(LocalTime.of(19, 0))
                 .timeEnd(LocalTime.of(21, 0))
                 .playersNeeded(4)
@@ -0,0 +1,128 @@
+package com.sportio.integration;
+
+import com.sportio.entity.Session;
+import com.sportio.entity.SessionPlayer;
+import com.sportio.entity.User;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.repository.UserStatsRepository;
+import com.sportio.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static com.sportio.integration.BenchmarkSupport.measure;
+import static com.sportio.integration.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency comparison of profile statistics reads: the former COUNT over
+ * session_players against the user_stats primary key lookup, plus the end-to-end
+ * GET /api/v1/users/me that uses the latter.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ProfileStatsBenchmarkTest {
+
+    private static final int PARTICIPATIONS = 500;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User heavyUser;
+
+    @BeforeEach
+    void setUp() {
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        heavyUser = userRepository.save(User.builder()
+                .email("heavy@sportio.com")
+                .passwordHash("not-used")
+                .fullName("Heavy Player")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+
+        Flux.range(0, PARTICIPATIONS)
+                .concatMap(i -> sessionRepository.save(Session.builder()
+                                .hostId(heavyUser.getId())
+                                .sportType("Badminton")
+                                .title("Session " + i)
+                                .date(LocalDate.now().minusDays(i))
+                                .timeStart(LocalTime.of(19, 0))
+                                .timeEnd(LocalTime.of(21, 0))
+                                .playersNeeded(4)
+                                .visibility("public")
+                                .status("completed")
+                                .latitude(BigDecimal.valueOf(1.3521))
+                                .longitude(BigDecimal.valueOf(103.8198))
+                                .createdAt(LocalDateTime.now())
+                                .build())
+                        .flatMap(session -> sessionPlayerRepository.save(SessionPlayer.builder()
+                                .sessionId(session.getId())
+                                .userId(heavyUser.getId())
+                                .isHost(true)
+                                .status("joined")
+                                .joinedAt(LocalDateTime.now())
+                                .build())))
+                .blockLast();
+    }
+
+    @Test
+    void benchmarkProfileStatsRead() {
+        Long userId = heavyUser.getId();
+
+        long[] countQuery = measure(WARMUP, ITERATIONS, () -> sessionPlayerRepository.countByUserId(userId).block());
+        long[] statsLookup = measure(WARMUP, ITERATIONS, () -> userStatsRepository.findById(userId).block());
+
+        WebTestClient client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+        String token = jwtUtil.generateAccessToken(heavyUser);
+        long[] profileEndpoint = measure(WARMUP, ITERATIONS, () -> client.get()
+                .uri("/api/v1/users/me")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk());
+
+        report("COUNT(session_players)", countQuery);
+        report("user_stats by primary key", statsLookup);
+        report("GET /api/v1/users/me", profileEndpoint);
+
+        assertThat(userStatsRepository.findById(userId).block().getTotalBookings()).isEqualTo(PARTICIPATIONS);
+    }
+}
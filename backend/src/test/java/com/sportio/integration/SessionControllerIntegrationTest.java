@@ -0,0 +1,700 @@
+package com.sportio.integration;
+
+import com.sportio.cache.SessionGridIndex;
+import com.sportio.controller.SessionController;
+import com.sportio.entity.Session;
+import com.sportio.entity.SessionPlayer;
+import com.sportio.entity.User;
+import com.sportio.event.SessionChangedEvent;
+import com.sportio.dto.LobbyPlayerChangeDto;
+import com.sportio.dto.NearbySessionDto;
+import com.sportio.realtime.SessionEventStreams;
+import com.sportio.realtime.UserEventStreams;
+import com.sportio.exception.SessionMembershipException;
+import com.sportio.repository.NearbySessionQuery;
+import com.sportio.repository.NearbySessionSql;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.service.SessionLifecycleScheduler;
+import com.sportio.service.SessionService;
+import com.sportio.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for SessionController.
+ * Tests complete request-response flow through real endpoints with real database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SessionControllerIntegrationTest {
+
+    // Singapore city centre and points roughly 1, 3 and 30 km away
+    private static final double LAT = 1.3521;
+    private static final double LNG = 103.8198;
+
+    @LocalServerPort
+    private int port;
+
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private ReactiveTransactionManager transactionManager;
+
+    @Autowired
+    private SessionGridIndex sessionGridIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SessionService sessionService;
+
+    @Autowired
+    private UserEventStreams userEventStreams;
+
+    @Autowired
+    private SessionLifecycleScheduler sessionLifecycleScheduler;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private User host;
+
+    @BeforeEach
+    void setUp() {
+        webTestClient = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + port)
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        host = userRepository.save(User.builder()
+                .email("host@sportio.com")
+                .passwordHash("not-used")
+                .fullName("Host User")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    @Test
+    void testNearby_ReturnsSessionsWithinRadiusNearestFirst() {
+        insertSession("Three km", "Badminton", LAT + 0.027, LNG);
+        insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        insertSession("Thirty km", "Badminton", LAT + 0.27, LNG);
+        sessionGridIndex.rebuild().block();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat={lat}&lng={lng}&radiusKm=10", LAT, LNG)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("One km")
+                .jsonPath("$[1].title").isEqualTo("Three km");
+    }
+
+    @Test
+    void testNearby_SportFilterAndPagination_FollowsCursor() {
+        insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        insertSession("Two km", "Badminton", LAT + 0.018, LNG);
+        insertSession("Two km football", "Football", LAT + 0.018, LNG + 0.001);
+        insertSession("Three km", "Badminton", LAT + 0.027, LNG);
+        sessionGridIndex.rebuild().block();
+
+        String nextCursor = webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat={lat}&lng={lng}&sport=Badminton&limit=2", LAT, LNG)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(SessionController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("Two km")
+                .returnResult()
+                .getResponseHeaders()
+                .getFirst(SessionController.NEXT_CURSOR_HEADER);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat={lat}&lng={lng}&sport=Badminton&limit=2&cursor={cursor}", LAT, LNG, nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(SessionController.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Three km");
+    }
+
+    @Test
+    void testNearby_Ndjson_StreamsMatches() {
+        insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        insertSession("Two km", "Badminton", LAT + 0.018, LNG);
+        sessionGridIndex.rebuild().block();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat={lat}&lng={lng}", LAT, LNG)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Object.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void testNearby_FollowsSessionChangeEvents() {
+        Session kept = insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        sessionGridIndex.rebuild().block();
+
+        // Written without going through a rebuild; only the events reach the index
+        Session created = insertSession("Two km", "Badminton", LAT + 0.018, LNG);
+        eventPublisher.publishEvent(SessionChangedEvent.created(created));
+        Session cancelled = sessionRepository.findById(kept.getId()).block();
+        cancelled.setStatus("cancelled");
+        sessionRepository.save(cancelled).block();
+        eventPublisher.publishEvent(SessionChangedEvent.cancelled(kept, cancelled));
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat={lat}&lng={lng}", LAT, LNG)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("Two km");
+    }
+
+    @Test
+    void testNearby_MissingLocation_Returns400() {
+        webTestClient.get()
+                .uri("/api/v1/sessions/nearby?lat=1.35")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("validation_error");
+    }
+
+    @Test
+    void testMap_ClustersSessionsPerTile() {
+        insertSession("Badminton near", "Badminton", LAT + 0.001, LNG);
+        insertSession("Football near", "Football", LAT + 0.002, LNG);
+        insertSession("Far away", "Badminton", LAT + 0.3, LNG + 0.3);
+        sessionGridIndex.rebuild().block();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/map?south=1.30&north=1.40&west=103.75&east=103.90&zoom=12")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].count").isEqualTo(2)
+                .jsonPath("$[0].sports.Badminton").isEqualTo(1)
+                .jsonPath("$[0].sports.Football").isEqualTo(1);
+    }
+
+    @Test
+    void testMap_SessionChange_EvictsCachedTile() {
+        insertSession("Badminton near", "Badminton", LAT + 0.001, LNG);
+        sessionGridIndex.rebuild().block();
+        String uri = "/api/v1/sessions/map?south=1.30&north=1.40&west=103.75&east=103.90&zoom=12";
+
+        webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].count").isEqualTo(1);
+
+        Session created = insertSession("Football near", "Football", LAT + 0.002, LNG);
+        eventPublisher.publishEvent(SessionChangedEvent.created(created));
+
+        webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].count").isEqualTo(2);
+    }
+
+    @Test
+    void testMap_ViewportTooLarge_Returns400() {
+        webTestClient.get()
+                .uri("/api/v1/sessions/map?south=-60&north=60&west=-170&east=170&zoom=10")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("viewport_too_large");
+    }
+
+    @Test
+    void testSearch_RanksTitleMatchesAboveDescriptionMatches() {
+        Session inDescription = insertSession("Evening games", "Football", LAT, LNG);
+        inDescription.setDescription("Casual doubles, badminton racquets provided");
+        sessionRepository.save(inDescription).block();
+        insertSession("Badminton doubles night", "Badminton", LAT, LNG);
+        insertSession("Morning run", "Running", LAT, LNG);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/search?q=badminton")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Badminton doubles night")
+                .jsonPath("$[1].title").isEqualTo("Evening games");
+    }
+
+    @Test
+    void testSearch_MissingText_Returns400() {
+        webTestClient.get()
+                .uri("/api/v1/sessions/search?q=")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("validation_error");
+    }
+
+    @Test
+    void testAutocomplete_SuggestsTitlesAndSportsByPrefix() {
+        insertSession("Sunday Badminton", "Badminton", LAT, LNG);
+        insertSession("Basketball pickup", "Basketball", LAT, LNG);
+        insertSession("Morning run", "Running", LAT, LNG);
+        sessionGridIndex.rebuild().block();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/autocomplete?prefix=bad")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0]").isEqualTo("Badminton")
+                .jsonPath("$[1]").isEqualTo("Sunday Badminton");
+    }
+
+    @Test
+    void testJoin_TakesSeatAndRejectsSecondJoin() {
+        Session session = insertSession("Badminton", "Badminton", LAT, LNG);
+        User player = insertUser("player@sportio.com");
+        String token = jwtUtil.generateAccessToken(player);
+
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/join", session.getId())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("waiting_for_booking")
+                .jsonPath("$.playersJoined").isEqualTo(1)
+                .jsonPath("$.spotsLeft").isEqualTo(3);
+
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/join", session.getId())
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("already_joined");
+
+        assertThat(sessionRepository.findById(session.getId()).block().getPlayersJoined()).isEqualTo(1);
+    }
+
+    @Test
+    void testLeave_ReleasesSeat_HostCannotLeave() {
+        Session session = insertSession("Badminton", "Badminton", LAT, LNG);
+        sessionPlayerRepository.save(SessionPlayer.builder()
+                .sessionId(session.getId())
+                .userId(host.getId())
+                .isHost(true)
+                .status("joined")
+                .build()).block();
+        User player = insertUser("player@sportio.com");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+
+        webTestClient.delete()
+                .uri("/api/v1/sessions/{id}/leave", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("You have left the session");
+
+        webTestClient.delete()
+                .uri("/api/v1/sessions/{id}/leave", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(host))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("is_host");
+
+        assertThat(sessionRepository.findById(session.getId()).block().getPlayersJoined()).isZero();
+        assertThat(sessionPlayerRepository.findBySessionIdAndUserId(session.getId(), player.getId()).block().getStatus())
+                .isEqualTo("left");
+    }
+
+    @Test
+    void testLobby_ReturnsSessionWithHostFirst() {
+        Session session = insertSession("Badminton", "Badminton", LAT, LNG);
+        sessionPlayerRepository.save(SessionPlayer.builder()
+                .sessionId(session.getId())
+                .userId(host.getId())
+                .isHost(true)
+                .status("joined")
+                .joinedAt(LocalDateTime.now())
+                .build()).block();
+        User player = insertUser("player@sportio.com");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+        Session empty = insertSession("Empty", "Badminton", LAT, LNG);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Badminton")
+                .jsonPath("$.playersJoined").isEqualTo(1)
+                .jsonPath("$.players.length()").isEqualTo(2)
+                .jsonPath("$.players[0].userId").isEqualTo(host.getId())
+                .jsonPath("$.players[0].isHost").isEqualTo(true)
+                .jsonPath("$.players[1].userId").isEqualTo(player.getId())
+                .jsonPath("$.players[1].fullName").isEqualTo("Player");
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", empty.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.players.length()").isEqualTo(0);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", 999_999)
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testLobby_WithoutToken_Returns401() {
+        Session session = insertSession("Badminton", "Badminton", LAT, LNG);
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", session.getId())
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testLobby_PrivateSession_HiddenFromOutsiders() {
+        Session session = insertSession("Invite only", "Badminton", LAT, LNG);
+        session.setVisibility("private");
+        sessionRepository.save(session).block();
+        User player = insertUser("player@sportio.com");
+        User outsider = insertUser("outsider@sportio.com");
+        sessionService.joinSession(session.getId(), player.getId()).block();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(outsider))
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(player))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Invite only");
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/lobby", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(host))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void testLobbyEvents_StreamsJoinsFromDatabaseNotifications() {
+        Session session = insertSession("Badminton", "Badminton", LAT, LNG);
+        User player = insertUser("player@sportio.com");
+
+        Mono<LobbyPlayerChangeDto> change = sessionService.streamLobbyEvents(session.getId(), host.getId())
+                .filter(event -> SessionEventStreams.PLAYER_CHANGED.equals(event.event()))
+                .map(event -> (LobbyPlayerChangeDto) event.data())
+                .next()
+                .cache();
+        change.subscribe();
+
+        sessionService.joinSession(session.getId(), player.getId()).block();
+
+        LobbyPlayerChangeDto joined = change.block(Duration.ofSeconds(5));
+        assertThat(joined.getSessionId()).isEqualTo(session.getId());
+        assertThat(joined.getUserId()).isEqualTo(player.getId());
+        assertThat(joined.getStatus()).isEqualTo("joined");
+    }
+
+    @Test
+    void testLobbyEvents_PrivateSession_RefusesOutsiders() {
+        Session session = insertSession("Invite only", "Badminton", LAT, LNG);
+        session.setVisibility("private");
+        sessionRepository.save(session).block();
+        User outsider = insertUser("outsider@sportio.com");
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/events", session.getId())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/events", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(outsider))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testJoin_UnknownSession_Returns404() {
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/join", 999_999)
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(host))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("session_not_found");
+    }
+
+    @Test
+    void testJoin_ConcurrentJoiners_NeverExceedCapacity() {
+        Session session = insertSession("Popular", "Badminton", LAT, LNG);
+        List<User> joiners = Flux.range(0, 200)
+                .concatMap(i -> userRepository.save(User.builder()
+                        .email("joiner" + i + "@sportio.com")
+                        .passwordHash("not-used")
+                        .fullName("Joiner " + i)
+                        .createdAt(LocalDateTime.now())
+                        .build()))
+                .collectList()
+                .block();
+
+        Map<String, Long> outcomes = Flux.fromIterable(joiners)
+                .flatMap(user -> sessionService.joinSession(session.getId(), user.getId())
+                        .map(response -> "joined")
+                        .onErrorResume(SessionMembershipException.class, e -> Mono.just(e.getError())), 200)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()))
+                .block();
+
+        assertThat(outcomes).containsEntry("joined", 4L).containsEntry("session_full", 196L);
+        assertThat(sessionRepository.findById(session.getId()).block().getPlayersJoined()).isEqualTo(4);
+        assertThat(sessionPlayerRepository.findBySessionId(session.getId())
+                .filter(player -> "joined".equals(player.getStatus()))
+                .count()
+                .block()).isEqualTo(4);
+    }
+
+    @Test
+    void testWaitlist_LeavePromotesHeadOfQueue() {
+        Session session = insertSession("Popular", "Badminton", LAT, LNG);
+        User early = insertUser("early@sportio.com");
+
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/waitlist", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(early))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("spots_available");
+
+        List<User> players = Flux.range(0, 4)
+                .map(i -> insertUser("player" + i + "@sportio.com"))
+                .collectList()
+                .block();
+        players.forEach(player -> sessionService.joinSession(session.getId(), player.getId()).block());
+        User late = insertUser("late@sportio.com");
+
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/waitlist", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(early))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.position").isEqualTo(1)
+                .jsonPath("$.waiting").isEqualTo(1);
+        webTestClient.post()
+                .uri("/api/v1/sessions/{id}/waitlist", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(late))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.position").isEqualTo(2)
+                .jsonPath("$.waiting").isEqualTo(2);
+
+        Mono<String> promotion = userEventStreams.stream(early.getId())
+                .filter(event -> UserEventStreams.WAITLIST_PROMOTED.equals(event.event()))
+                .map(event -> event.event())
+                .next()
+                .cache();
+        promotion.subscribe();
+
+        sessionService.leaveSession(session.getId(), players.get(0).getId()).block();
+
+        assertThat(promotion.block(Duration.ofSeconds(5))).isEqualTo(UserEventStreams.WAITLIST_PROMOTED);
+        assertThat(sessionRepository.findById(session.getId()).block().getPlayersJoined()).isEqualTo(4);
+        assertThat(sessionPlayerRepository.findBySessionIdAndUserId(session.getId(), early.getId()).block().getStatus())
+                .isEqualTo("joined");
+        webTestClient.get()
+                .uri("/api/v1/sessions/{id}/waitlist", session.getId())
+                .header("Authorization", "Bearer " + jwtUtil.generateAccessToken(late))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.position").isEqualTo(1)
+                .jsonPath("$.waiting").isEqualTo(1);
+    }
+
+    @Test
+    void testLifecycle_CompletesEndedSessionsAndCreditsPlayers() {
+        Session ended = insertSession("Yesterday", "Badminton", LAT, LNG);
+        ended.setDate(LocalDate.now().minusDays(1));
+        sessionRepository.save(ended).block();
+        Session upcoming = insertSession("Tomorrow", "Badminton", LAT, LNG);
+        User player = insertUser("player@sportio.com");
+        Flux.just(ended, upcoming)
+                .concatMap(session -> sessionPlayerRepository.save(SessionPlayer.builder()
+                        .sessionId(session.getId())
+                        .userId(player.getId())
+                        .isHost(false)
+                        .status("joined")
+                        .build()))
+                .blockLast();
+
+        assertThat(sessionLifecycleScheduler.completeEndedSessions().block()).isEqualTo(1);
+        assertThat(sessionLifecycleScheduler.completeEndedSessions().block()).isZero();
+
+        assertThat(sessionRepository.findById(ended.getId()).block().getStatus()).isEqualTo("completed");
+        assertThat(sessionRepository.findById(upcoming.getId()).block().getStatus()).isEqualTo("open");
+        assertThat(userRepository.findById(player.getId()).block().getGamesPlayed()).isEqualTo(1);
+        assertThat(userRepository.findById(host.getId()).block().getGamesPlayed()).isIn(null, 0);
+    }
+
+    @Test
+    void testNearby_QueryPlan_UsesLocationIndex() {
+        insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        NearbySessionQuery query = new NearbySessionQuery(
+                LAT, LNG, 10_000, "Badminton", LocalDate.now(), null, 500.0, 1L, 21);
+
+        // With a handful of rows the planner would rightly prefer a sequential scan;
+        // disabling it shows whether the index can serve this query at all
+        List<String> plan = TransactionalOperator.create(transactionManager)
+                .execute(status -> databaseClient.sql("SET LOCAL enable_seqscan = off").then()
+                        .thenMany(NearbySessionSql.prepare(databaseClient, "EXPLAIN ", query)
+                                .map(row -> row.get(0, String.class))
+                                .all()))
+                .collectList()
+                .block();
+
+        assertThat(String.join("\n", plan)).contains("idx_sessions_location");
+    }
+
+    @Test
+    void testNearby_RadiusBoundary_IndexAndDatabaseAgree() {
+        // About 9,995 m east on the sphere but 10,006 m on the spheroid
+        insertSession("Just inside", "Badminton", LAT, LNG + 0.08991);
+        // About 10,005 m east on the sphere
+        insertSession("Just outside", "Badminton", LAT, LNG + 0.09);
+        sessionGridIndex.rebuild().block();
+        NearbySessionQuery query = new NearbySessionQuery(
+                LAT, LNG, 10_000, null, LocalDate.now(), null, null, null, null);
+
+        List<String> fromIndex = sessionGridIndex.findNearby(query).stream()
+                .map(NearbySessionDto::getTitle)
+                .toList();
+        List<String> fromDatabase = sessionRepository.findNearby(query)
+                .map(NearbySessionDto::getTitle)
+                .collectList()
+                .block();
+
+        assertThat(fromIndex).containsExactly("Just inside");
+        assertThat(fromDatabase).containsExactly("Just inside");
+    }
+
+    @Test
+    void testNearby_IndexAndDatabase_ReturnSameCoordinates() {
+        sessionGridIndex.rebuild().block();
+        // Indexed from the event, with the scale the coordinates were written with
+        Session created = insertSession("One km", "Badminton", LAT + 0.009, LNG);
+        eventPublisher.publishEvent(SessionChangedEvent.created(created));
+        NearbySessionQuery query = new NearbySessionQuery(
+                LAT, LNG, 10_000, null, LocalDate.now(), null, null, null, null);
+
+        NearbySessionDto fromIndex = sessionGridIndex.findNearby(query).get(0);
+        NearbySessionDto fromDatabase = sessionRepository.findNearby(query).blockFirst();
+
+        assertThat(fromIndex.getLatitude()).isEqualTo(fromDatabase.getLatitude());
+        assertThat(fromIndex.getLongitude()).isEqualTo(fromDatabase.getLongitude());
+    }
+
+    private User insertUser(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("not-used")
+                .fullName("Player")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+
+    private Session insertSession(String title, String sportType, double latitude, double longitude) {
+        return sessionRepository.save(Session.builder()
+                .hostId(host.getId())
+                .sportType(sportType)
+                .title(title)
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(4)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(latitude))
+                .longitude(BigDecimal.valueOf(longitude))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
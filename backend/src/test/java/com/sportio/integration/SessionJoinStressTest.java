@@ -0,0 +1,124 @@
+package com.sportio.integration;
+
+import com.sportio.entity.Session;
+import com.sportio.entity.User;
+import com.sportio.exception.SessionMembershipException;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import com.sportio.service.SessionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention test of joins: several rounds of hundreds of concurrent joiners on one
+ * session, reporting throughput and latency per round and checking that capacity holds.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class SessionJoinStressTest {
+
+    private static final int JOINERS = 500;
+    private static final int CAPACITY = 100;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @Autowired
+    private SessionService sessionService;
+
+    private User host;
+    private List<User> joiners;
+
+    @BeforeEach
+    void setUp() {
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+
+        host = userRepository.save(User.builder()
+                .email("host@sportio.com")
+                .passwordHash("not-used")
+                .fullName("Host User")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+        joiners = Flux.range(0, JOINERS)
+                .concatMap(i -> userRepository.save(User.builder()
+                        .email("joiner" + i + "@sportio.com")
+                        .passwordHash("not-used")
+                        .fullName("Joiner " + i)
+                        .createdAt(LocalDateTime.now())
+                        .build()))
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void stressConcurrentJoins() {
+        for (int round = 1; round <= ROUNDS; round++) {
+            Session session = sessionRepository.save(Session.builder()
+                    .hostId(host.getId())
+                    .sportType("Badminton")
+                    .title("Popular " + round)
+                    .date(LocalDate.now().plusDays(1))
+                    .timeStart(LocalTime.of(19, 0))
+                    .timeEnd(LocalTime.of(21, 0))
+                    .playersNeeded(CAPACITY)
+                    .visibility("public")
+                    .status("open")
+                    .latitude(BigDecimal.valueOf(1.3521))
+                    .longitude(BigDecimal.valueOf(103.8198))
+                    .createdAt(LocalDateTime.now())
+                    .build()).block();
+
+            long start = System.nanoTime();
+            List<long[]> results = Flux.fromIterable(joiners)
+                    .flatMap(user -> {
+                        long begin = System.nanoTime();
+                        return sessionService.joinSession(session.getId(), user.getId())
+                                .map(response -> 1L)
+                                .onErrorResume(SessionMembershipException.class, e -> Mono.just(0L))
+                                .map(joined -> new long[]{joined, System.nanoTime() - begin});
+                    }, JOINERS)
+                    .collectList()
+                    .block();
+            long elapsed = System.nanoTime() - start;
+
+            long joined = results.stream().mapToLong(r -> r[0]).sum();
+            long[] latencies = results.stream().mapToLong(r -> r[1]).sorted().toArray();
+            System.out.printf("round %d: %d attempts in %6.1fms (%7.0f/s) p50=%6.1fms p99=%6.1fms joined=%d%n",
+                    round, JOINERS, elapsed / 1e6, JOINERS / (elapsed / 1e9),
+                    percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6, joined);
+
+            assertThat(joined).isEqualTo(CAPACITY);
+            assertThat(sessionRepository.findById(session.getId()).block().getPlayersJoined()).isEqualTo(CAPACITY);
+        }
+    }
+
+    private long percentile(long[] sortedSamples, double p) {
+        return sortedSamples[(int) Math.min(sortedSamples.length - 1, Math.ceil(p * sortedSamples.length) - 1)];
+    }
+}
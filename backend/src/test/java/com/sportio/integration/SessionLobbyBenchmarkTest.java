@@ -0,0 +1,116 @@
+package com.sportio.integration;
+
+import com.sportio.entity.Session;
+import com.sportio.entity.SessionPlayer;
+import com.sportio.entity.User;
+import com.sportio.repository.SessionPlayerRepository;
+import com.sportio.repository.SessionRepository;
+import com.sportio.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static com.sportio.integration.BenchmarkSupport.measure;
+import static com.sportio.integration.BenchmarkSupport.report;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency comparison of lobby reads for 2 to 30 players: the session, its players and
+ * one profile lookup per player, against the single joined lobby query.
+ * Excluded from the default build; run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionLobbyBenchmarkTest {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionRepository sessionRepository;
+
+    @Autowired
+    private SessionPlayerRepository sessionPlayerRepository;
+
+    @BeforeEach
+    void setUp() {
+        sessionPlayerRepository.deleteAll().block();
+        sessionRepository.deleteAll().block();
+        userRepository.deleteAll().block();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {2, 10, 30})
+    void benchmarkLobbyRead(int players) {
+        Session session = insertLobby(players);
+        Long sessionId = session.getId();
+
+        long[] perPlayer = measure(WARMUP, ITERATIONS, () -> sessionRepository.findById(sessionId)
+                .then(sessionPlayerRepository.findBySessionId(sessionId)
+                        .concatMap(player -> userRepository.findById(player.getUserId()))
+                        .count())
+                .block());
+        long[] joined = measure(WARMUP, ITERATIONS, () -> sessionRepository.findLobby(sessionId).block());
+
+        report(players + " players, 2 + N queries", perPlayer);
+        report(players + " players, one query", joined);
+
+        assertThat(sessionRepository.findLobby(sessionId).block().getPlayers()).hasSize(players);
+    }
+
+    private Session insertLobby(int players) {
+        User host = insertUser("host@sportio.com");
+        Session session = sessionRepository.save(Session.builder()
+                .hostId(host.getId())
+                .sportType("Badminton")
+                .title("Lobby")
+                .date(LocalDate.now().plusDays(1))
+                .timeStart(LocalTime.of(19, 0))
+                .timeEnd(LocalTime.of(21, 0))
+                .playersNeeded(players)
+                .visibility("public")
+                .status("open")
+                .latitude(BigDecimal.valueOf(1.3521))
+                .longitude(BigDecimal.valueOf(103.8198))
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+
+        Flux.range(0, players)
+                .concatMap(i -> i == 0
+                        ? Mono.just(host)
+                        : Mono.fromCallable(() -> insertUser("player" + i + "@sportio.com")))
+                .concatMap(user -> sessionPlayerRepository.save(SessionPlayer.builder()
+                        .sessionId(session.getId())
+                        .userId(user.getId())
+                        .isHost(user == host)
+                        .status("joined")
+                        .joinedAt(LocalDateTime.now())
+                        .build()))
+                .blockLast();
+        return session;
+    }
+
+    private User insertUser(String email) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("not-used")
+                .fullName("Player")
+                .createdAt(LocalDateTime.now())
+                .build()).block();
+    }
+}
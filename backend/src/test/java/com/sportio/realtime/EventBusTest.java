@@ -0,0 +1,99 @@
+package com.sportio.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for EventBus channel subscriptions over the in-memory backend.
+ */
+class EventBusTest {
+
+    private final FailingBackend backend = new FailingBackend();
+    private final EventBus eventBus = new EventBus(backend, new ObjectMapper(), new SimpleMeterRegistry(),
+            16, Duration.ofMillis(1), 1000, Duration.ofMillis(10), Duration.ofMillis(50));
+
+    @AfterEach
+    void tearDown() {
+        eventBus.stop();
+    }
+
+    @Test
+    void testSubscribe_BackendListenerFails_DeliveryResumes() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        Disposable subscriber = eventBus.subscribe("room").subscribe(event -> received.add(event.message()));
+
+        publishUntilReceived("before", received);
+        backend.failListener(new IllegalStateException("Connection reset"));
+        publishUntilReceived("after", received);
+
+        assertThat(received).contains("before", "after");
+        assertThat(backend.listens.get()).isEqualTo(2);
+        subscriber.dispose();
+    }
+
+    @Test
+    void testSubscribe_PublishedOnceListening_IsReceived() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        Disposable subscriber = eventBus.subscribe("room", () -> eventBus.publish("room", "first"))
+                .subscribe(event -> received.add(event.message()));
+
+        Mono.fromSupplier(() -> received.contains("first"))
+                .filter(found -> found)
+                .repeatWhenEmpty(100, repeats -> repeats.delayElements(Duration.ofMillis(20)))
+                .block(Duration.ofSeconds(5));
+
+        assertThat(received).containsExactly("first");
+        subscriber.dispose();
+    }
+
+    private void publishUntilReceived(String message, List<String> received) {
+        Flux.interval(Duration.ofMillis(20))
+                .doOnNext(tick -> eventBus.publish("room", message))
+                .takeUntil(tick -> received.contains(message))
+                .blockLast(Duration.ofSeconds(5));
+    }
+
+    /**
+     * In-memory backend whose current listener can be made to fail, as a Redis
+     * subscription does when its connection drops.
+     */
+    private static final class FailingBackend implements EventBusBackend {
+
+        private final InMemoryEventBusBackend delegate = new InMemoryEventBusBackend();
+        private final AtomicReference<Sinks.Empty<Void>> failure = new AtomicReference<>();
+        private final AtomicInteger listens = new AtomicInteger();
+
+        @Override
+        public Mono<Void> publish(String channel, String payload) {
+            return delegate.publish(channel, payload);
+        }
+
+        @Override
+        public Mono<Flux<String>> listen(String channel) {
+            return delegate.listen(channel).map(payloads -> {
+                listens.incrementAndGet();
+                Sinks.Empty<Void> current = Sinks.empty();
+                failure.set(current);
+                return payloads.mergeWith(current.asMono().then(Mono.empty()));
+            });
+        }
+
+        private void failListener(Throwable error) {
+            failure.get().tryEmitError(error);
+        }
+    }
+}
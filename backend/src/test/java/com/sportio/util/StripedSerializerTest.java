@@ -0,0 +1,55 @@
+package com.sportio.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for StripedSerializer ordering on a single stripe.
+ */
+class StripedSerializerTest {
+
+    @Test
+    void testRun_CancelledWaitingTask_DoesNotReleaseStripeEarly() {
+        StripedSerializer serializer = new StripedSerializer(1);
+        Sinks.Empty<Void> firstRelease = Sinks.empty();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicBoolean secondStarted = new AtomicBoolean();
+
+        Disposable first = serializer.run(1L, () -> track(running, maxRunning, firstRelease.asMono()))
+                .subscribe();
+        Disposable second = serializer.run(1L, () -> {
+            secondStarted.set(true);
+            return Mono.empty();
+        }).subscribe();
+        AtomicBoolean thirdDone = new AtomicBoolean();
+        serializer.run(1L, () -> track(running, maxRunning, Mono.empty()))
+                .doOnSuccess(value -> thirdDone.set(true))
+                .subscribe();
+
+        // Cancel the second task while it still waits for the first
+        second.dispose();
+        assertThat(thirdDone).isFalse();
+        assertThat(running.get()).isEqualTo(1);
+
+        firstRelease.tryEmitEmpty();
+
+        assertThat(thirdDone).isTrue();
+        assertThat(first.isDisposed()).isTrue();
+        assertThat(secondStarted).isFalse();
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    private static Mono<Void> track(AtomicInteger running, AtomicInteger maxRunning, Mono<Void> work) {
+        return Mono.fromRunnable(() -> maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max))
+                .then(work)
+                .doOnTerminate(running::decrementAndGet);
+    }
+}